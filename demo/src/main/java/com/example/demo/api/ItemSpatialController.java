@@ -0,0 +1,96 @@
+package com.example.demo.api;
+
+import com.example.demo.api.dto.TripItineraryItemDtos;
+import com.example.demo.service.ItemSpatialIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 저장된 일정 위치 조회 REST 컨트롤러 (메모리 위치 색인 ItemSpatialIndex 사용)
+ * - Google 주변 검색 전에 우리 사용자들의 일정에서 먼저 주변/인기 장소를 보여주기 위한 용도
+ * - GET  /api/itinerary-items/nearby?lat=&lng=&radiusKm=&limit=              : 반경 내 일정 (가까운 순)
+ * - GET  /api/itinerary-items/popular-places?south=&west=&north=&east=&limit= : 영역 내 많이 방문한 장소
+ * - POST /api/itinerary-items/spatial/rebuild                                 : 전체 색인 재생성 (백그라운드)
+ */
+@RestController
+@RequestMapping("/api/itinerary-items")
+public class ItemSpatialController {
+
+    /** 반경 조회 최대 반경 (km) */
+    private static final double MAX_RADIUS_KM = 50.0;
+    /** 한 번에 반환하는 최대 결과 수 */
+    private static final int MAX_LIMIT = 500;
+
+    private final ItemSpatialIndex itemSpatialIndex;
+
+    public ItemSpatialController(ItemSpatialIndex itemSpatialIndex) {
+        this.itemSpatialIndex = itemSpatialIndex;
+    }
+
+    /**
+     * @param radiusKm 반경 (km, 기본 2, 최대 50)
+     * @param limit 최대 결과 수 (1~500)
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<TripItineraryItemDtos.NearbyResp> nearby(@RequestParam double lat,
+                                                                   @RequestParam double lng,
+                                                                   @RequestParam(defaultValue = "2") double radiusKm,
+                                                                   @RequestParam(defaultValue = "50") int limit) {
+        validateLat(lat);
+        validateLng(lng);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("radiusKm은 0보다 크고 " + MAX_RADIUS_KM + " 이하여야 합니다: " + radiusKm);
+        }
+        validateLimit(limit);
+        return ResponseEntity.ok(itemSpatialIndex.nearby(lat, lng, radiusKm, limit));
+    }
+
+    /**
+     * @param west 서쪽 경도 (east보다 크면 날짜 변경선을 걸친 영역)
+     * @param limit 최대 결과 수 (1~500)
+     */
+    @GetMapping("/popular-places")
+    public ResponseEntity<TripItineraryItemDtos.PopularPlacesResp> popularPlaces(@RequestParam double south,
+                                                                                 @RequestParam double west,
+                                                                                 @RequestParam double north,
+                                                                                 @RequestParam double east,
+                                                                                 @RequestParam(defaultValue = "20") int limit) {
+        validateLat(south);
+        validateLat(north);
+        validateLng(west);
+        validateLng(east);
+        if (south > north) {
+            throw new IllegalArgumentException("south는 north보다 클 수 없습니다: " + south + " > " + north);
+        }
+        validateLimit(limit);
+        return ResponseEntity.ok(itemSpatialIndex.popularPlaces(south, west, north, east, limit));
+    }
+
+    /** 전체 색인 재생성 (202: 시작됨, 409: 이미 진행 중) */
+    @PostMapping("/spatial/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        if (!itemSpatialIndex.rebuildAsync()) {
+            return ResponseEntity.status(409).build();
+        }
+        System.out.println("📍 일정 위치 색인 재생성 시작");
+        return ResponseEntity.accepted().build();
+    }
+
+    private static void validateLat(double lat) {
+        if (!(lat >= -90 && lat <= 90)) {
+            throw new IllegalArgumentException("위도는 -90~90 사이여야 합니다: " + lat);
+        }
+    }
+
+    private static void validateLng(double lng) {
+        if (!(lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("경도는 -180~180 사이여야 합니다: " + lng);
+        }
+    }
+
+    private static void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1~" + MAX_LIMIT + " 사이여야 합니다: " + limit);
+        }
+    }
+}
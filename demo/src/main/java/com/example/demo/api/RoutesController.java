@@ -10,9 +10,17 @@ import org.springframework.http.HttpMethod;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.example.demo.common.util.GeoUtils;
+import com.example.demo.common.util.PolylineCodec;
+import com.example.demo.service.RoutesResponseParser;
+import com.example.demo.service.TravelTimeModel;
+import com.example.demo.service.routing.LocalRoutingEngine;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Google Routes API를 사용하여 실제 경로, 거리, 이동 시간을 계산하는 컨트롤러
@@ -27,9 +35,40 @@ public class RoutesController {
     @Value("${google.maps.api.key:}")
     private String googleMapsApiKey;
 
+    /** Routes API 기본 URL (로컬 스텁으로 교체 가능) */
+    @Value("${google.routes.base-url:https://routes.googleapis.com}")
+    private String routesBaseUrl;
+
+    /** computeRoutes 요청 FieldMask (디버깅 시 '*'로 전체 응답 확인 가능) */
+    @Value("${google.routes.field-mask:routes.legs.distanceMeters,routes.legs.duration}")
+    private String routesFieldMask;
+
+    /** 보정 모델로 Google 호출 없이 응답할 최대 직선 거리 (km) */
+    @Value("${routes.model.local-max-km:3.0}")
+    private double modelLocalMaxKm;
+
+    /** 보정 모델로 응답하기 위한 최대 허용 오차 (RMSE, 분) - Google 호출 생략, Fallback 모두 적용 */
+    @Value("${routes.model.local-max-error-minutes:5.0}")
+    private double modelLocalMaxErrorMinutes;
+
+    /** 보정 모델로 응답할 수 있는 구간 중 Google을 그대로 호출해 모델 오차를 계속 측정하는 비율 (0~1) */
+    @Value("${routes.model.sample-rate:0.1}")
+    private double modelSampleRate;
+
     private final RestTemplate restTemplate = new RestTemplate();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /** Routes API 응답으로 학습하는 지역별 이동 시간 모델 */
+    private final TravelTimeModel travelTimeModel;
+
+    /** 로컬 도로 그래프 경로 엔진 (그래프가 설정된 경우에만 동작) */
+    private final LocalRoutingEngine localRoutingEngine;
+
+    public RoutesController(TravelTimeModel travelTimeModel, LocalRoutingEngine localRoutingEngine) {
+        this.travelTimeModel = travelTimeModel;
+        this.localRoutingEngine = localRoutingEngine;
+    }
+
     /**
      * 두 지점 간의 경로, 거리, 이동 시간을 계산
      * Routes API의 Compute Routes 엔드포인트 사용
@@ -39,6 +78,7 @@ public class RoutesController {
      * @param destLat 도착지 위도
      * @param destLng 도착지 경도
      * @param travelMode 이동 수단 (DRIVE, TRANSIT, WALK, BICYCLE)
+     * @param includePolyline true면 구간 경로(Encoded Polyline, 단순화됨)를 함께 요청/반환 - 일정 저장용
      * @return 거리(km), 시간(분), 경로 폴리라인, 상태
      */
     @GetMapping("/compute")
@@ -47,32 +87,53 @@ public class RoutesController {
             @RequestParam double originLng,
             @RequestParam double destLat,
             @RequestParam double destLng,
-            @RequestParam(defaultValue = "TRANSIT") String travelMode) {
-        
-        System.out.println("🚀 Routes API 컨트롤러 호출됨: " + travelMode + " " + originLat + "," + originLng + " → " + destLat + "," + destLng);
+            @RequestParam(defaultValue = "TRANSIT") String travelMode,
+            @RequestParam(defaultValue = "false") boolean includePolyline) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
+            // 로컬 그래프가 처리할 수 있는 구간(도시 내 도보/자동차)은 Google 호출 없이 응답
+            // (로컬 그래프는 경로 폴리라인을 만들지 않으므로 includePolyline 요청은 Routes API로 보냄)
+            if (!includePolyline && localRoutingEngine.supports(travelMode)) {
+                Optional<LocalRoutingEngine.LocalRoute> local = localRoutingEngine.route(originLat, originLng, destLat, destLng, travelMode);
+                if (local.isPresent()) {
+                    response.put("distance", Math.round(local.get().distanceMeters / 100.0) / 10.0);
+                    response.put("duration", (double) Math.round(local.get().durationSeconds / 60.0));
+                    response.put("travelMode", travelMode);
+                    response.put("fallback", false);
+                    response.put("trafficAware", false);
+                    response.put("source", "local");
+                    return ResponseEntity.ok(response);
+                }
+            }
+            
             // API 키가 없으면 Haversine 공식으로 Fallback
             if (googleMapsApiKey == null || googleMapsApiKey.isEmpty()) {
                 System.out.println("⚠️ API 키가 없음 → Fallback 사용");
                 return getFallbackResponse(originLat, originLng, destLat, destLng, travelMode);
             }
             
-            System.out.println("✅ API 키 확인됨: " + googleMapsApiKey.substring(0, Math.min(10, googleMapsApiKey.length())) + "...");
-            
-            // Routes API 요청 URL
-            String url = "https://routes.googleapis.com/directions/v2:computeRoutes";
-            System.out.println("🌐 API URL: " + url);
+            // 짧은 구간이고 학습된 지역 모델의 오차가 충분히 작으면 Google 호출 생략
+            // (일부는 표본으로 그대로 호출하여 모델 오차가 계속 갱신되도록 함)
+            double straightKm = GeoUtils.haversineKm(originLat, originLng, destLat, destLng);
+            if (straightKm <= modelLocalMaxKm && !includePolyline) {
+                Optional<TravelTimeModel.Estimate> local = travelTimeModel.estimate(originLat, originLng, destLat, destLng, travelMode);
+                if (local.isPresent() && local.get().regional && local.get().errorMinutes <= modelLocalMaxErrorMinutes
+                        && ThreadLocalRandom.current().nextDouble() >= modelSampleRate) {
+                    System.out.println("📐 보정 모델로 응답 (오차 ±" + Math.round(local.get().errorMinutes) + "분)");
+                    return modelResponse(straightKm, local.get(), travelMode, false);
+                }
+            }
             
             // 요청 헤더 설정
+            // FieldMask는 실제로 사용하는 필드만 요청 (기본: 첫 구간의 거리/시간)
             HttpHeaders headers = new HttpHeaders();
             headers.set("Content-Type", "application/json");
             headers.set("X-Goog-Api-Key", googleMapsApiKey);
-            // FieldMask를 '*'로 설정하여 모든 필드 요청 (테스트 및 개발용)
-            // 프로덕션에서는 필요한 필드만 명시: routes.legs.duration, routes.legs.distanceMeters
-            headers.set("X-Goog-FieldMask", "*");
+            headers.set("X-Goog-FieldMask", includePolyline
+                    ? routesFieldMask + ",routes.legs.polyline.encodedPolyline"
+                    : routesFieldMask);
             
             // 요청 본문 생성
             ObjectNode requestBody = objectMapper.createObjectNode();
@@ -108,70 +169,42 @@ public class RoutesController {
             // 참고: routingPreference는 제거 (TRANSIT 모드에서 에러 발생)
             // 실시간 교통 정보가 필요하면 나중에 DRIVE 모드에만 추가
             
-            // API 호출
-            HttpEntity<String> entity = new HttpEntity<>(requestBody.toString(), headers);
-            System.out.println("📤 Routes API 요청 본문: " + requestBody.toString());
-            System.out.println("📤 요청 헤더: " + headers.toString());
-            
-            System.out.println("⏳ Google Routes API 호출 중...");
-            ResponseEntity<String> responseEntity = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-            
-            System.out.println("📊 응답 상태 코드: " + responseEntity.getStatusCode());
-            System.out.println("📊 응답 헤더: " + responseEntity.getHeaders());
-            
-            String jsonResponse = responseEntity.getBody();
-            
-            // 응답 본문 전체 출력
-            System.out.println("📥 Routes API 응답 본문 (전체): " + jsonResponse);
+            // API 호출 - 응답 본문을 문자열로 버퍼링하지 않고 스트림에서 필요한 필드만 파싱
+            byte[] body = objectMapper.writeValueAsBytes(requestBody);
+            long started = System.nanoTime();
+            RoutesResponseParser.Leg leg = restTemplate.execute(
+                    routesBaseUrl + "/directions/v2:computeRoutes",
+                    HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().putAll(headers);
+                        request.getBody().write(body);
+                    },
+                    res -> RoutesResponseParser.parseFirstLeg(res.getBody()));
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
             
-            // 응답 파싱
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            
-            // 응답 구조 확인
-            System.out.println("🔍 응답 루트 필드들: " + root.fieldNames());
-            
-            JsonNode routes = root.path("routes");
-            JsonNode error = root.path("error");
-            JsonNode geocodingResults = root.path("geocodingResults");
-            
-            System.out.println("🔍 routes 필드 존재 여부: " + !routes.isMissingNode());
-            System.out.println("🔍 routes 배열 크기: " + (routes.isArray() ? routes.size() : "배열이 아님"));
-            System.out.println("🔍 error 필드 존재 여부: " + !error.isMissingNode());
-            if (!error.isMissingNode()) {
-                System.out.println("❌ 에러 내용: " + error.toString());
-            }
-            System.out.println("🔍 geocodingResults 필드 존재 여부: " + !geocodingResults.isMissingNode());
-            
-            if (routes.isArray() && routes.size() > 0) {
-                JsonNode route = routes.get(0);
-                JsonNode legs = route.path("legs");
+            if (leg != null) {
+                // 거리 (미터 → 킬로미터), 소수점 1자리
+                double distanceKm = Math.round(leg.distanceMeters / 100.0) / 10.0;
+                // 시간 (초 → 분)
+                double durationMinutes = Math.round(leg.durationSeconds / 60.0);
                 
-                System.out.println("🔍 legs 필드 존재 여부: " + !legs.isMissingNode());
-                System.out.println("🔍 legs 배열 크기: " + (legs.isArray() ? legs.size() : "배열이 아님"));
+                // 보정 모델 학습 샘플로 기록
+                travelTimeModel.record(originLat, originLng, destLat, destLng, travelMode, leg.durationSeconds / 60.0);
                 
-                if (legs.isArray() && legs.size() > 0) {
-                    JsonNode leg = legs.get(0);
-                    
-                    // 거리 (미터 → 킬로미터)
-                    double distanceMeters = leg.path("distanceMeters").asDouble();
-                    double distanceKm = Math.round(distanceMeters / 100.0) / 10.0; // 소수점 1자리
-                    
-                    // 시간 (초 → 분)
-                    String durationStr = leg.path("duration").asText(); // "123s" 형식
-                    double durationSeconds = Double.parseDouble(durationStr.replace("s", ""));
-                    double durationMinutes = Math.round(durationSeconds / 60.0);
-                    
-                    System.out.println("✅ Routes API 성공 - 거리: " + distanceKm + "km, 시간: " + durationMinutes + "분");
-                    
-                    // 거리와 시간만 반환
-                    response.put("distance", distanceKm);
-                    response.put("duration", durationMinutes);
-                    response.put("travelMode", travelMode);
-                    response.put("fallback", false);
-                    response.put("trafficAware", false); // 실시간 교통 미사용
-                    
-                    return ResponseEntity.ok(response);
+                System.out.println("✅ Routes API " + travelMode + " - " + distanceKm + "km, " + durationMinutes + "분 (" + elapsedMs + "ms)");
+                
+                // 거리와 시간 반환 (includePolyline이면 경로 포함)
+                response.put("distance", distanceKm);
+                response.put("duration", durationMinutes);
+                response.put("travelMode", travelMode);
+                response.put("fallback", false);
+                response.put("trafficAware", false); // 실시간 교통 미사용
+                response.put("source", "google");
+                if (includePolyline && leg.encodedPolyline != null) {
+                    response.put("polyline", PolylineCodec.compress(leg.encodedPolyline, PolylineCodec.DEFAULT_TOLERANCE_METERS));
                 }
+                
+                return ResponseEntity.ok(response);
             }
             
             // API 성공했지만 경로 없음 → Fallback
@@ -180,21 +213,38 @@ public class RoutesController {
             
         } catch (Exception e) {
             System.err.println("❌ Routes API 오류: " + e.getClass().getName() + " - " + e.getMessage());
-            e.printStackTrace();
             // 에러 발생 시 Fallback
             return getFallbackResponse(originLat, originLng, destLat, destLng, travelMode);
         }
     }
 
+    /**
+     * 보정 모델 학습 현황 조회
+     * - 지역/이동 수단별 샘플 수, 계수, 측정된 오차(RMSE/MAE)를 반환
+     */
+    @GetMapping("/model")
+    public List<TravelTimeModel.ModelSummary> modelSummaries() {
+        return travelTimeModel.summaries();
+    }
+
     /**
      * Fallback: Haversine 공식으로 직선 거리 계산 및 시간 추정
+     * - 보정 모델(지역 모델, 없으면 이동 수단별 전체 모델)의 오차가 허용 범위 이내일 때만 모델 추정치를 사용
+     * - 그 외에는 평균 속도 기반 추정 (source: "haversine", 모델 추정 불가 사유 포함)
      */
     private ResponseEntity<Map<String, Object>> getFallbackResponse(
             double lat1, double lon1, double lat2, double lon2, String travelMode) {
         
-        Map<String, Object> response = new HashMap<>();
-        
         double distance = calculateHaversineDistance(lat1, lon1, lat2, lon2);
+        
+        Optional<TravelTimeModel.Estimate> calibrated = travelTimeModel.estimate(lat1, lon1, lat2, lon2, travelMode);
+        if (calibrated.isPresent() && calibrated.get().errorMinutes <= modelLocalMaxErrorMinutes) {
+            return modelResponse(distance, calibrated.get(), travelMode, true);
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("source", "haversine");
+        response.put("modelUnavailableReason", calibrated.isPresent() ? "error-too-large" : "not-trained");
         double estimatedTime = estimateTimeByDistance(distance, travelMode);
         
         response.put("distance", distance);
@@ -207,21 +257,33 @@ public class RoutesController {
     }
 
     /**
-     * Haversine 공식으로 두 지점 간 직선 거리 계산
+     * 보정 모델 추정치 응답 생성 (source: "model")
+     * - errorMinutes: 모델의 측정된 예측 오차(RMSE, 분)
+     * - regionalModel: false면 지역 모델 대신 이동 수단별 전체 모델로 추정한 값
      */
-    private double calculateHaversineDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371; // 지구 반지름 (km)
-        
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+    private ResponseEntity<Map<String, Object>> modelResponse(
+            double distanceKm, TravelTimeModel.Estimate estimate, String travelMode, boolean fallback) {
         
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        Map<String, Object> response = new HashMap<>();
+        response.put("distance", Math.round(distanceKm * 10) / 10.0);
+        response.put("duration", (double) Math.round(estimate.durationMinutes));
+        response.put("travelMode", travelMode);
+        response.put("fallback", fallback);
+        response.put("trafficAware", false);
+        response.put("source", "model");
+        response.put("estimated", true);
+        response.put("errorMinutes", Math.round(estimate.errorMinutes * 10) / 10.0);
+        response.put("modelSamples", estimate.samples);
+        response.put("regionalModel", estimate.regional);
         
-        return Math.round(R * c * 10) / 10.0; // 소수점 1자리
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Haversine 공식으로 두 지점 간 직선 거리 계산
+     */
+    private double calculateHaversineDistance(double lat1, double lon1, double lat2, double lon2) {
+        return Math.round(GeoUtils.haversineKm(lat1, lon1, lat2, lon2) * 10) / 10.0; // 소수점 1자리
     }
 
     /**
@@ -260,7 +322,7 @@ public class RoutesController {
             }
             
             // Routes API Matrix 엔드포인트
-            String url = "https://routes.googleapis.com/distanceMatrix/v2:computeRouteMatrix";
+            String url = routesBaseUrl + "/distanceMatrix/v2:computeRouteMatrix";
             
             // 요청 헤더 설정
             HttpHeaders headers = new HttpHeaders();
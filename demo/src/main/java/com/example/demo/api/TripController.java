@@ -3,26 +3,52 @@ package com.example.demo.api;
 /**
  * Trip REST 컨트롤러
  * - 여행 계획 생성/조회 API 제공
- *   - GET /api/trips : 여행 목록 조회
+ *   - GET /api/trips/simple, GET /api/trips/user/{userId} : 여행 목록 조회 (커서 페이지네이션)
+ *   - GET /api/trips/{id} : 여행 상세 (fields= / days= 로 부분 조회)
+ *   - GET /api/trips?ids=1,2,3, POST /api/trips/batch : 여러 여행 상세 일괄 조회
  *   - POST /api/trips/user/{userId} : 특정 사용자에 대한 여행 생성
+ *   - POST /api/trips/{id}/clone : 여행 복제 (DB 안에서 일차/일정까지 복사, 날짜 이동 선택)
+ *   - DELETE /api/trips/{id} : 여행 삭제 (일차/일정 포함)
  */
 
 import com.example.demo.domain.Trip;
 import com.example.demo.domain.TripDay;
 import com.example.demo.domain.TripItineraryItem;
 import com.example.demo.domain.User;
+import com.example.demo.repository.TripDayRepository;
+import com.example.demo.repository.TripItineraryItemRepository;
 import com.example.demo.repository.TripRepository;
+import com.example.demo.repository.TripRepositoryCustom;
+import com.example.demo.repository.TripSpecifications;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.api.dto.TripDtos;
 import com.example.demo.api.dto.TripDayDtos;
 import com.example.demo.api.dto.TripItineraryItemDtos;
+import com.example.demo.common.util.ETags;
+import com.example.demo.common.util.LexoRank;
+import com.example.demo.common.util.PageCursor;
+import com.example.demo.common.util.PolylineCodec;
+import com.example.demo.service.LegEnrichmentService;
+import com.example.demo.service.PopularPlaceTracker;
+import com.example.demo.service.TripCloneService;
+import com.example.demo.service.TripDetailCache;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import jakarta.validation.Valid;
 
@@ -43,65 +69,197 @@ public class TripController {
     /** User 엔티티를 위한 Repository (의존성 주입) */
     private final UserRepository userRepository;
 
+    /** TripItineraryItem 엔티티를 위한 Repository (상세 조회 시 일정 항목 일괄 조회) */
+    private final TripItineraryItemRepository itemRepository;
+
+    /** TripDay 엔티티를 위한 Repository (여행 삭제 시 일차 일괄 삭제) */
+    private final TripDayRepository tripDayRepository;
+
+    /** 목록 페이지 기본/최대 크기 */
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /** 일괄 상세 조회 최대 여행 수 (GET 쿼리스트링 / POST 본문) */
+    private static final int MAX_BATCH_GET = 100;
+    private static final int MAX_BATCH_POST = 500;
+
+    /** 다음 페이지 커서 응답 헤더 */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** 저장 후 구간 이동 정보를 비동기로 보강 */
+    private final LegEnrichmentService legEnrichmentService;
+
+    /** 상세 조회 응답 캐시 (Redis + 로컬) */
+    private final TripDetailCache tripDetailCache;
+
+    /** 여행 복제 (INSERT … SELECT) */
+    private final TripCloneService tripCloneService;
+
+    /** 인기 여행지/장소 집계 */
+    private final PopularPlaceTracker popularPlaceTracker;
+
     /**
      * 생성자 기반 의존성 주입
      * - Spring이 자동으로 Repository 빈들을 주입
      * - final 필드로 불변성 보장
      */
-    public TripController(TripRepository tripRepository, UserRepository userRepository) {
+    public TripController(TripRepository tripRepository, UserRepository userRepository,
+                          TripItineraryItemRepository itemRepository, TripDayRepository tripDayRepository,
+                          LegEnrichmentService legEnrichmentService, TripDetailCache tripDetailCache,
+                          TripCloneService tripCloneService, PopularPlaceTracker popularPlaceTracker) {
         this.tripRepository = tripRepository;
         this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.tripDayRepository = tripDayRepository;
+        this.legEnrichmentService = legEnrichmentService;
+        this.tripDetailCache = tripDetailCache;
+        this.tripCloneService = tripCloneService;
+        this.popularPlaceTracker = popularPlaceTracker;
     }
 
     /**
      * @GetMapping: HTTP GET 요청 매핑
-     * - URL: GET /api/trips/user/{userId}
-     * - 특정 사용자의 여행 목록을 조회하여 DTO로 변환하여 반환
+     * - URL: GET /api/trips/user/{userId}?after=&size=&status=&from=&to=
+     * - 특정 사용자의 여행 목록을 키셋(커서) 방식으로 페이지 단위 조회하여 DTO로 변환하여 반환
+     * - 일차/일정 수는 trips 카운터 컬럼 사용 (자식 엔티티 로딩 없음)
+     * - 다음 페이지가 있으면 응답 헤더 X-Next-Cursor에 커서를 담아 반환
      * 
      * @param userId 조회할 사용자 ID
+     * @param after 이전 응답의 X-Next-Cursor 값 (첫 페이지는 생략)
+     * @param size 페이지 크기 (1 ~ 200, 기본 50)
+     * @param status 상태 필터 (planning, ongoing, completed)
+     * @param from 기간 필터 시작일 (이 날짜 이후에 끝나는 여행)
+     * @param to 기간 필터 종료일 (이 날짜 이전에 시작하는 여행)
      * @return 해당 사용자의 여행 목록 (TripDtos.Resp 리스트)
      */
     @GetMapping("/user/{userId}")
-    public List<TripDtos.Resp> listByUser(@PathVariable Long userId) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<TripDtos.Resp>> listByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         System.out.println("📋 사용자별 여행 목록 조회 요청 - 사용자 ID: " + userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> {
+        if (!userRepository.existsById(userId)) {
             System.err.println("❌ 사용자를 찾을 수 없음: " + userId);
-            return new RuntimeException("사용자를 찾을 수 없습니다: " + userId);
-        });
-        System.out.println("✅ 사용자 확인: " + user.getName() + " (ID: " + user.getId() + ")");
-        List<Trip> trips = tripRepository.findByUser(user);
-        System.out.println("📊 조회된 여행 수: " + trips.size());
-        List<TripDtos.Resp> result = trips.stream().map(this::toResp).collect(Collectors.toList());
-        System.out.println("✅ 여행 목록 반환 완료 - " + result.size() + "개");
-        return result;
+            throw new RuntimeException("사용자를 찾을 수 없습니다: " + userId);
+        }
+        TripPage page = findPage(TripSpecifications.ofUser(userId), after, size, status, from, to);
+        List<TripDtos.Resp> result = page.trips.stream().map(this::toResp).collect(Collectors.toList());
+        System.out.println("✅ 여행 목록 반환 완료 - " + result.size() + "개" + (page.nextCursor != null ? " (다음 페이지 있음)" : ""));
+        return withNextCursor(result, page.nextCursor);
     }
 
     /**
      * 단일 여행 상세 조회
      * - URL: GET /api/trips/{id}
      * - Trip + TripDay + TripItineraryItem 전체 구조를 간단한 패널용 DTO로 반환
+     * - 현재 버전(PK 조회 1회)으로 ETag를 만들고, If-None-Match가 같으면 트리 로딩 없이 304 반환
+     * - 캐시(TripDetailCache)에 현재 버전 응답이 있으면 그대로 반환
+     * - 캐시가 없으면 일차/일정 수와 무관하게 쿼리 2회로 조회 후 캐시에 저장
+     *   1) Trip + TripDays (fetch join)
+     *   2) 해당 여행의 모든 일정 항목 → 메모리에서 일차별로 묶음 (day.getItineraryItems() LAZY 로딩 사용 안 함)
      */
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
-    public TripDtos.Resp getById(@PathVariable Long id) {
+    public TripDtos.Resp getById(@PathVariable Long id, ServletWebRequest webRequest) {
         System.out.println("📋 여행 상세 조회 요청 - Trip ID: " + id);
 
-        Trip trip = tripRepository.findById(id).orElseThrow(() -> {
+        Long version = tripRepository.findContentVersionById(id).orElseThrow(() -> {
             System.err.println("❌ 여행을 찾을 수 없음: " + id);
             return new RuntimeException("여행을 찾을 수 없습니다: " + id);
         });
+        // 304 Not Modified (응답 본문 없음)
+        if (ETags.notModified(webRequest, "trip", id, version)) {
+            System.out.println("✅ 여행 상세 변경 없음 (304) - Trip ID: " + id);
+            return null;
+        }
 
-        // LAZY 컬렉션 미리 초기화 (일차와 각 일차의 일정 항목들)
-        List<TripDay> tripDays = trip.getTripDays();
-        if (tripDays != null) {
-            tripDays.size(); // TripDays 초기화
-            for (TripDay day : tripDays) {
-                if (day != null && day.getItineraryItems() != null) {
-                    day.getItineraryItems().size(); // ItineraryItems 초기화
-                }
+        TripDtos.Resp cached = tripDetailCache.get(id, version);
+        if (cached != null) {
+            System.out.println("✅ 여행 상세 조회 완료 (캐시) - Trip ID: " + id);
+            return cached;
+        }
+
+        Trip trip = tripRepository.findWithDaysById(id).orElseThrow(() -> {
+            System.err.println("❌ 여행을 찾을 수 없음: " + id);
+            return new RuntimeException("여행을 찾을 수 없습니다: " + id);
+        });
+
+        // 일정 항목 한 번에 조회 후 일차 ID 기준으로 그룹핑 (일차 내 순서 유지)
+        Map<Long, List<TripItineraryItem>> itemsByDay = new HashMap<>();
+        for (TripItineraryItem item : itemRepository.findAllByTripIdOrdered(id)) {
+            itemsByDay.computeIfAbsent(item.getTripDay().getId(), k -> new ArrayList<>()).add(item);
+        }
+        TripDtos.Resp resp = toDetailResp(trip, itemsByDay);
+
+        // 버전은 일정 항목보다 먼저 읽은 값 → 그 사이 변경이 있었다면 이미 더 높은 버전이 조회됨
+        tripDetailCache.put(id, trip.getContentVersion(), resp);
+        System.out.println("✅ 여행 상세 조회 완료 - Trip ID: " + id);
+        return resp;
+    }
+
+    /**
+     * 여러 여행 상세 일괄 조회 (대시보드/보관함 화면)
+     * - URL: GET /api/trips?ids=1,2,3 (최대 100개)
+     * - 여행 수와 무관하게 쿼리 2회: 1) 여행 + 일차 (fetch join)  2) 모든 일정 항목
+     * - 요청 순서대로 반환, 없는 ID는 제외
+     */
+    @GetMapping(params = "ids")
+    @Transactional(readOnly = true)
+    public List<TripDtos.Resp> getBatch(@RequestParam List<Long> ids) {
+        return batchDetail(ids, MAX_BATCH_GET);
+    }
+
+    /**
+     * 여러 여행 상세 일괄 조회 (ID가 많아 URL이 길어지는 경우)
+     * - URL: POST /api/trips/batch, 본문: { "ids": [1, 2, 3] } (최대 500개)
+     */
+    @PostMapping("/batch")
+    @Transactional(readOnly = true)
+    public List<TripDtos.Resp> postBatch(@Valid @RequestBody TripDtos.BatchReq req) {
+        return batchDetail(req.ids, MAX_BATCH_POST);
+    }
+
+    private List<TripDtos.Resp> batchDetail(List<Long> ids, int max) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinct.size() > max) {
+            throw new IllegalArgumentException("한 번에 조회할 수 있는 여행은 최대 " + max + "개입니다.");
+        }
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Trip> tripsById = new HashMap<>();
+        for (Trip trip : tripRepository.findWithDaysByIdIn(distinct)) {
+            tripsById.put(trip.getId(), trip);
+        }
+        Map<Long, List<TripItineraryItem>> itemsByDay = new HashMap<>();
+        for (TripItineraryItem item : itemRepository.findAllByTripIdsOrdered(tripsById.keySet())) {
+            itemsByDay.computeIfAbsent(item.getTripDay().getId(), k -> new ArrayList<>()).add(item);
+        }
+
+        List<TripDtos.Resp> result = new ArrayList<>(tripsById.size());
+        for (Long id : distinct) {
+            Trip trip = tripsById.get(id);
+            if (trip != null) {
+                result.add(toDetailResp(trip, itemsByDay));
             }
         }
+        System.out.println("✅ 여행 일괄 상세 조회 완료 - 요청 " + distinct.size() + "개, 반환 " + result.size() + "개");
+        return result;
+    }
 
+    /**
+     * 여행 + 일차 + 일정 항목 상세 DTO 변환 (이미 조회된 엔티티만 사용, 추가 쿼리 없음)
+     *
+     * @param trip 일차(tripDays)가 함께 조회된 여행
+     * @param itemsByDay 일차 ID → 순위 순 일정 항목
+     */
+    private TripDtos.Resp toDetailResp(Trip trip, Map<Long, List<TripItineraryItem>> itemsByDay) {
+        List<TripDay> tripDays = trip.getTripDays();
         TripDtos.Resp resp = toResp(trip);
 
         // 일차 + 일정 항목을 DTO로 변환
@@ -121,10 +279,11 @@ public class TripController {
                 dayResp.accommodationJson = day.getAccommodationJson();
 
                 List<TripItineraryItemDtos.Resp> itemDtos = new ArrayList<>();
-                List<TripItineraryItem> items = day.getItineraryItems();
+                List<TripItineraryItem> items = itemsByDay.get(day.getId());
                 if (items != null) {
                     for (TripItineraryItem item : items) {
                         if (item == null) continue;
+                        // orderSequence는 순위(orderRank) 순으로 정렬된 위치로 다시 매김
                         TripItineraryItemDtos.Resp itemResp = new TripItineraryItemDtos.Resp();
                         itemResp.id = item.getId();
                         itemResp.placeId = item.getPlaceId();
@@ -141,7 +300,8 @@ public class TripController {
                         itemResp.travelToNextDistanceKm = item.getTravelToNextDistanceKm();
                         itemResp.travelToNextDurationMinutes = item.getTravelToNextDurationMinutes();
                         itemResp.travelToNextMode = item.getTravelToNextMode();
-                        itemResp.orderSequence = item.getOrderSequence();
+                        itemResp.travelToNextPolyline = item.getTravelToNextPolyline();
+                        itemResp.orderSequence = itemDtos.size() + 1;
                         itemDtos.add(itemResp);
                     }
                 }
@@ -152,17 +312,128 @@ public class TripController {
             }
 
             resp.days = dayDtos;
-            // daysCount / totalItineraryItemsCount가 비어있다면 다시 계산해 채워줌
-            if (resp.daysCount == null) {
-                resp.daysCount = dayDtos.size();
+            resp.daysCount = dayDtos.size();
+            resp.totalItineraryItemsCount = totalItems;
+        }
+
+        return resp;
+    }
+
+    /**
+     * 여행 상세 부분 조회 (모바일 등 일부 필드/일차만 필요한 화면용)
+     * - URL: GET /api/trips/{id}?fields=title,startTime,endTime&days=2 (또는 days=2-4)
+     * - fields: 일정 항목/일차의 선택 필드 (TripRepositoryCustom.ITEM_FIELDS / DAY_FIELDS)
+     *   - 일차 id/dayNumber/date, 일정 id/orderSequence는 항상 포함
+     * - 선택한 컬럼만 SELECT하고(쿼리 3회: 여행 1 + 일차 1 + 일정 1), 응답에도 선택한 필드만 포함
+     * - ETag는 여행 버전 + 선택 조건으로 만들어 전체 응답과 구분
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSparse(@PathVariable Long id,
+                                         @RequestParam String fields,
+                                         @RequestParam(required = false) String days,
+                                         ServletWebRequest webRequest) {
+        return sparseDetail(id, fields, days, webRequest);
+    }
+
+    /** 일차 범위만 지정한 부분 조회 (필드는 전체) - URL: GET /api/trips/{id}?days=2-4 */
+    @GetMapping(value = "/{id}", params = {"days", "!fields"})
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDays(@PathVariable Long id, @RequestParam String days, ServletWebRequest webRequest) {
+        return sparseDetail(id, null, days, webRequest);
+    }
+
+    private Map<String, Object> sparseDetail(Long id, String fields, String days, ServletWebRequest webRequest) {
+        // 선택 조건 파싱 (잘못된 값은 400)
+        List<String> dayFields = new ArrayList<>();
+        List<String> itemFields = new ArrayList<>();
+        if (fields == null) {
+            dayFields.addAll(new TreeSet<>(TripRepositoryCustom.DAY_FIELDS));
+            itemFields.addAll(new TreeSet<>(TripRepositoryCustom.ITEM_FIELDS));
+        } else {
+            for (String raw : fields.split(",")) {
+                String field = raw.trim();
+                if (field.isEmpty() || field.equals("id") || field.equals("orderSequence")
+                        || field.equals("dayNumber") || field.equals("date")) continue;
+                if (TripRepositoryCustom.DAY_FIELDS.contains(field)) {
+                    if (!dayFields.contains(field)) dayFields.add(field);
+                } else if (TripRepositoryCustom.ITEM_FIELDS.contains(field)) {
+                    if (!itemFields.contains(field)) itemFields.add(field);
+                } else {
+                    throw new IllegalArgumentException("선택할 수 없는 필드입니다: " + field);
+                }
+            }
+        }
+        Integer fromDay = null;
+        Integer toDay = null;
+        if (days != null && !days.isBlank()) {
+            try {
+                String[] range = days.trim().split("-", 2);
+                fromDay = Integer.parseInt(range[0].trim());
+                toDay = range.length > 1 ? Integer.parseInt(range[1].trim()) : fromDay;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("days는 일차 번호(예: 2) 또는 범위(예: 2-4)여야 합니다.");
             }
-            if (resp.totalItineraryItemsCount == null) {
-                resp.totalItineraryItemsCount = totalItems;
+            if (fromDay > toDay) {
+                throw new IllegalArgumentException("days 범위가 잘못되었습니다: " + days);
             }
         }
 
-        System.out.println("✅ 여행 상세 조회 완료 - Trip ID: " + id);
-        return resp;
+        Trip trip = tripRepository.findById(id).orElseThrow(() -> {
+            System.err.println("❌ 여행을 찾을 수 없음: " + id);
+            return new RuntimeException("여행을 찾을 수 없습니다: " + id);
+        });
+        String selector = dayFields + "|" + itemFields + "|" + fromDay + "-" + toDay;
+        if (ETags.notModified(webRequest, "trip-" + Integer.toHexString(selector.hashCode()), id, trip.getContentVersion())) {
+            return null;
+        }
+
+        // 일차 → 일정 항목 순서로 조회 후 일차 ID 기준으로 연결
+        Map<Long, List<Map<String, Object>>> itemsByDay = new HashMap<>();
+        for (Object[] row : tripRepository.findItemColumns(id, itemFields, fromDay, toDay)) {
+            List<Map<String, Object>> dayItems = itemsByDay.computeIfAbsent((Long) row[0], k -> new ArrayList<>());
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", row[1]);
+            item.put("orderSequence", dayItems.size() + 1);
+            for (int f = 0; f < itemFields.size(); f++) {
+                item.put(itemFields.get(f), row[2 + f]);
+            }
+            dayItems.add(item);
+        }
+        List<Map<String, Object>> dayList = new ArrayList<>();
+        for (Object[] row : tripRepository.findDayColumns(id, dayFields, fromDay, toDay)) {
+            Map<String, Object> day = new LinkedHashMap<>();
+            day.put("id", row[0]);
+            day.put("dayNumber", row[1]);
+            day.put("date", row[2]);
+            for (int f = 0; f < dayFields.size(); f++) {
+                day.put(dayFields.get(f), row[3 + f]);
+            }
+            day.put("itineraryItems", itemsByDay.getOrDefault((Long) row[0], List.of()));
+            dayList.add(day);
+        }
+
+        TripDtos.Resp summary = toResp(trip);
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("id", summary.id);
+        out.put("title", summary.title);
+        out.put("destination", summary.destination);
+        out.put("destinationPlaceId", summary.destinationPlaceId);
+        out.put("destinationLat", summary.destinationLat);
+        out.put("destinationLng", summary.destinationLng);
+        out.put("startDate", summary.startDate);
+        out.put("endDate", summary.endDate);
+        out.put("numAdults", summary.numAdults);
+        out.put("numChildren", summary.numChildren);
+        out.put("totalBudget", summary.totalBudget);
+        out.put("status", summary.status);
+        out.put("userId", summary.userId);
+        out.put("daysCount", summary.daysCount); // 전체 일차 수 (days 범위와 무관)
+        out.put("totalItineraryItemsCount", summary.totalItineraryItemsCount);
+        out.put("days", dayList);
+        System.out.println("✅ 여행 부분 조회 완료 - Trip ID: " + id + ", 일차 " + dayList.size() + "개, 필드 "
+                + (dayFields.size() + itemFields.size()) + "개");
+        return out;
     }
 
     /**
@@ -189,39 +460,83 @@ public class TripController {
 
     /**
      * 간단 여행 목록 조회 (대시보드용)
-     * - URL: GET /api/trips/simple
-     * - trips 테이블의 기본 정보만 반환 (일차/일정 관계는 조회하지 않음)
-     * - MultipleBagFetchException과 무관한 가벼운 쿼리
-     * - 여행 상태는 날짜 기준으로 자동 계산
+     * - URL: GET /api/trips/simple?after=&size=&status=&from=&to=
+     * - trips 테이블의 기본 정보 + 카운터 컬럼만 반환 (일차/일정 관계는 조회하지 않음)
+     * - 키셋(커서) 페이지네이션: id 순으로 size개씩, 다음 페이지 커서는 X-Next-Cursor 헤더로 반환
+     * - 여행 상태는 날짜 기준으로 자동 계산 (status 필터도 같은 기준의 날짜 조건으로 DB에서 처리)
      */
     @GetMapping("/simple")
-    public List<TripDtos.SimpleResp> listSimple() {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<TripDtos.SimpleResp>> listSimple(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         System.out.println("📋 [대시보드] 간단 여행 목록 조회 요청");
-        List<TripRepository.TripSummaryProjection> rows = tripRepository.findAllSummaries();
-        System.out.println("📊 조회된 여행 수 (summary): " + rows.size());
+        TripPage page = findPage(null, after, size, status, from, to);
 
-        List<TripDtos.SimpleResp> result = rows.stream().map(row -> {
+        List<TripDtos.SimpleResp> result = page.trips.stream().map(t -> {
             TripDtos.SimpleResp r = new TripDtos.SimpleResp();
-            r.id = row.getId();
-            r.title = row.getTitle();
-            r.destination = row.getDestination();
-            r.destinationPlaceId = row.getDestinationPlaceId();
-            r.startDate = row.getStartDate();
-            r.endDate = row.getEndDate();
-            r.numAdults = row.getNumAdults();
-            r.numChildren = row.getNumChildren();
+            r.id = t.getId();
+            r.title = t.getTitle();
+            r.destination = t.getDestination();
+            r.destinationPlaceId = t.getDestinationPlaceId();
+            r.startDate = t.getStartDate();
+            r.endDate = t.getEndDate();
+            r.numAdults = t.getNumAdults();
+            r.numChildren = t.getNumChildren();
             
             // 날짜 기준으로 상태 자동 계산
-            String calculatedStatus = calculateStatus(row.getStartDate(), row.getEndDate(), row.getStatus());
+            String calculatedStatus = calculateStatus(t.getStartDate(), t.getEndDate(), t.getStatus());
             r.status = calculatedStatus;
             
-            r.daysCount = row.getDaysCount();
-            r.totalItineraryItemsCount = row.getTotalItineraryItemsCount();
+            r.daysCount = t.getDaysCount();
+            r.totalItineraryItemsCount = t.getItemsCount();
             return r;
         }).collect(Collectors.toList());
 
-        System.out.println("✅ [대시보드] 간단 여행 목록 반환 완료 - " + result.size() + "개");
-        return result;
+        System.out.println("✅ [대시보드] 간단 여행 목록 반환 완료 - " + result.size() + "개" + (page.nextCursor != null ? " (다음 페이지 있음)" : ""));
+        return withNextCursor(result, page.nextCursor);
+    }
+
+    /**
+     * 키셋 페이지 조회 공통 로직
+     * - size + 1개를 조회해서 다음 페이지 존재 여부를 판단 (COUNT 쿼리 없음)
+     */
+    private TripPage findPage(Specification<Trip> base, String after, int size, String status, LocalDate from, LocalDate to) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 ~ " + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        Specification<Trip> spec = Specification.allOf(
+                base,
+                TripSpecifications.idAfter(PageCursor.decode(after)),
+                TripSpecifications.hasStatus(status, LocalDate.now()),
+                TripSpecifications.overlaps(from, to));
+        List<Trip> rows = tripRepository.findBy(spec, q -> q.sortBy(Sort.by("id").ascending()).limit(size + 1).all());
+
+        TripPage page = new TripPage();
+        if (rows.size() > size) {
+            page.trips = rows.subList(0, size);
+            page.nextCursor = PageCursor.encode(page.trips.get(size - 1).getId());
+        } else {
+            page.trips = rows;
+        }
+        return page;
+    }
+
+    private static <T> ResponseEntity<List<T>> withNextCursor(List<T> body, String nextCursor) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(body);
+    }
+
+    /** 키셋 페이지 조회 결과 */
+    private static class TripPage {
+        List<Trip> trips;
+        String nextCursor;
     }
 
     /**
@@ -238,20 +553,13 @@ public class TripController {
      */
     @PostMapping("/user/{userId}")
     public ResponseEntity<TripDtos.Resp> createForUser(@PathVariable Long userId, @Valid @RequestBody TripDtos.CreateReq req) {
-        System.out.println("🚀 여행 저장 요청 받음 - 사용자 ID: " + userId);
-        System.out.println("📥 요청 데이터:");
-        System.out.println("  - 제목: " + req.title);
-        System.out.println("  - 여행지: " + req.destination);
-        System.out.println("  - 시작일: " + req.startDate);
-        System.out.println("  - 종료일: " + req.endDate);
-        System.out.println("  - 일차 수: " + (req.days != null ? req.days.size() : 0));
+        long started = System.nanoTime();
         
         // 사용자 ID로 사용자 조회 (없으면 예외 발생)
         User user = userRepository.findById(userId).orElseThrow(() -> {
             System.err.println("❌ 사용자를 찾을 수 없음: " + userId);
             return new RuntimeException("사용자를 찾을 수 없습니다: " + userId);
         });
-        System.out.println("✅ 사용자 확인: " + user.getName() + " (ID: " + user.getId() + ")");
         
         // 새로운 여행 엔티티 생성 및 설정
         Trip t = new Trip();
@@ -267,22 +575,13 @@ public class TripController {
         t.setNumChildren(req.numChildren);
         t.setTotalBudget(req.totalBudget);
         
-        System.out.println("📝 Trip 엔티티 생성 완료");
-        
-        // 일차별 정보 저장
+        // 일차별 정보 + 일정 항목 구성
+        // (항목별 로그는 남기지 않음 - 수백 개 항목 저장 시 로그 출력이 저장 시간보다 커짐)
+        int totalItems = 0;
+        List<String> placeIds = new ArrayList<>();
         if (req.days != null && !req.days.isEmpty()) {
-            System.out.println("📅 일차별 정보 처리 시작 - 총 " + req.days.size() + "일차");
-            List<TripDay> tripDays = new ArrayList<>();
-            for (int i = 0; i < req.days.size(); i++) {
-                TripDayDtos.CreateOrUpdateReq dayReq = req.days.get(i);
-                System.out.println("  📆 " + (i + 1) + "일차 처리 중:");
-                System.out.println("    - 일차 번호: " + dayReq.dayNumber);
-                System.out.println("    - 날짜: " + dayReq.date);
-                System.out.println("    - 시작 시간: " + dayReq.dayStartTime);
-                System.out.println("    - 종료 시간: " + dayReq.dayEndTime);
-                System.out.println("    - 숙소: " + (dayReq.accommodationJson != null ? "있음" : "없음"));
-                System.out.println("    - 일정 항목 수: " + (dayReq.itineraryItems != null ? dayReq.itineraryItems.size() : 0));
-                
+            List<TripDay> tripDays = new ArrayList<>(req.days.size());
+            for (TripDayDtos.CreateOrUpdateReq dayReq : req.days) {
                 TripDay tripDay = new TripDay();
                 tripDay.setTrip(t);
                 tripDay.setDayNumber(dayReq.dayNumber);
@@ -291,22 +590,9 @@ public class TripController {
                 tripDay.setDayEndTime(dayReq.dayEndTime);
                 tripDay.setAccommodationJson(dayReq.accommodationJson);
                 
-                // 일정 항목 저장
                 if (dayReq.itineraryItems != null && !dayReq.itineraryItems.isEmpty()) {
-                    System.out.println("    📍 일정 항목 처리 시작 - 총 " + dayReq.itineraryItems.size() + "개");
-                    List<TripItineraryItem> items = new ArrayList<>();
-                    for (int j = 0; j < dayReq.itineraryItems.size(); j++) {
-                        TripItineraryItemDtos.CreateOrUpdateReq itemReq = dayReq.itineraryItems.get(j);
-                        System.out.println("      🎯 일정 항목 " + (j + 1) + ":");
-                        System.out.println("        - 제목: " + itemReq.title);
-                        System.out.println("        - 장소명: " + itemReq.locationName);
-                        System.out.println("        - 위도: " + itemReq.latitude);
-                        System.out.println("        - 경도: " + itemReq.longitude);
-                        System.out.println("        - 순서: " + itemReq.orderSequence);
-                        System.out.println("        - 체류 시간: " + itemReq.stayDurationMinutes + "분");
-                        System.out.println("        - 이동 시간: " + itemReq.travelToNextDurationMinutes + "분");
-                        System.out.println("        - 이동 수단: " + itemReq.travelToNextMode);
-                        
+                    List<TripItineraryItem> items = new ArrayList<>(dayReq.itineraryItems.size());
+                    for (TripItineraryItemDtos.CreateOrUpdateReq itemReq : dayReq.itineraryItems) {
                         TripItineraryItem item = new TripItineraryItem();
                         item.setTripDay(tripDay);
                         item.setPlaceId(itemReq.placeId);
@@ -323,47 +609,86 @@ public class TripController {
                         item.setTravelToNextDistanceKm(itemReq.travelToNextDistanceKm);
                         item.setTravelToNextDurationMinutes(itemReq.travelToNextDurationMinutes);
                         item.setTravelToNextMode(itemReq.travelToNextMode);
+                        // 경로 형상은 단순화하여 저장 (상세 조회 시 경로 재계산 없이 그대로 표시)
+                        item.setTravelToNextPolyline(PolylineCodec.compress(itemReq.travelToNextPolyline, PolylineCodec.DEFAULT_TOLERANCE_METERS));
                         item.setOrderSequence(itemReq.orderSequence);
                         items.add(item);
+                        placeIds.add(itemReq.placeId);
+                    }
+                    // 일차 내 순위: 요청의 orderSequence 순으로 고르게 배치
+                    List<TripItineraryItem> byOrder = new ArrayList<>(items);
+                    byOrder.sort(Comparator.comparing(TripItineraryItem::getOrderSequence,
+                            Comparator.nullsLast(Comparator.naturalOrder())));
+                    List<String> ranks = LexoRank.sequence(byOrder.size());
+                    for (int i = 0; i < byOrder.size(); i++) {
+                        byOrder.get(i).setOrderRank(ranks.get(i));
                     }
                     tripDay.setItineraryItems(items);
-                    System.out.println("    ✅ 일정 항목 " + items.size() + "개 설정 완료");
-                } else {
-                    System.out.println("    ⚠️ 일정 항목 없음");
+                    totalItems += items.size();
                 }
-                
                 tripDays.add(tripDay);
-                System.out.println("  ✅ " + (i + 1) + "일차 처리 완료");
             }
             t.setTripDays(tripDays);
-            System.out.println("📅 총 " + tripDays.size() + "개 일차 설정 완료");
-        } else {
-            System.out.println("⚠️ 일차 정보가 없습니다 (req.days가 null이거나 비어있음)");
-        }
-        
-        // 여행 저장 및 반환
-        System.out.println("💾 Trip 저장 시작...");
-        System.out.println("  - TripDays 수: " + (t.getTripDays() != null ? t.getTripDays().size() : 0));
-        if (t.getTripDays() != null && !t.getTripDays().isEmpty()) {
-            for (TripDay day : t.getTripDays()) {
-                System.out.println("  - " + day.getDayNumber() + "일차의 일정 항목 수: " + 
-                    (day.getItineraryItems() != null ? day.getItineraryItems().size() : 0));
-            }
         }
+        // 카운터 컬럼 초기값 (INSERT 시 함께 저장)
+        t.setDaysCount(t.getTripDays() != null ? t.getTripDays().size() : 0);
+        t.setItemsCount(totalItems);
         
+        // 여행 저장 - ID는 시퀀스에서 미리 할당되므로 INSERT는 flush 시점에 테이블별로 모아서 JDBC 배치로 실행
         Trip saved = tripRepository.save(t);
-        System.out.println("✅ Trip 저장 완료 - ID: " + saved.getId());
-        System.out.println("  - 저장된 TripDays 수: " + (saved.getTripDays() != null ? saved.getTripDays().size() : 0));
-        if (saved.getTripDays() != null && !saved.getTripDays().isEmpty()) {
-            for (TripDay day : saved.getTripDays()) {
-                System.out.println("  - " + day.getDayNumber() + "일차 (ID: " + day.getId() + ")의 일정 항목 수: " + 
-                    (day.getItineraryItems() != null ? day.getItineraryItems().size() : 0));
-            }
+        System.out.println("✅ Trip 저장 완료 - ID: " + saved.getId() + ", 사용자 ID: " + userId + ", 일차 " + saved.getDaysCount()
+                + "개, 일정 항목 " + totalItems + "개 (" + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        tripDetailCache.created(saved.getId());
+        popularPlaceTracker.recordTrip(saved.getDestinationPlaceId(), placeIds);
+        
+        // 구간 이동 정보 보강은 큐에 등록만 하고 응답은 바로 반환
+        if (saved.getTripDays() != null) {
+            legEnrichmentService.enqueueDays(saved.getTripDays().stream().map(TripDay::getId).collect(Collectors.toList()));
         }
         
         return ResponseEntity.ok(toResp(saved));
     }
 
+    /**
+     * 여행 복제 (기존 여행/템플릿에서 시작하기)
+     * - URL: POST /api/trips/{id}/clone, 본문(선택): { "userId", "title", "startDate" }
+     * - 트리 전체를 다시 전송받지 않고 DB 안에서 INSERT … SELECT로 복사 (TripCloneService)
+     *
+     * @return 새 여행 상세 (일차/일정 포함)
+     */
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<TripDtos.Resp> cloneTrip(@PathVariable Long id, @RequestBody(required = false) TripDtos.CloneReq req) {
+        TripDtos.CloneReq options = req != null ? req : new TripDtos.CloneReq();
+        Long newId = tripCloneService.cloneTrip(id, options.userId, options.title, options.startDate);
+
+        Trip trip = tripRepository.findWithDaysById(newId).orElseThrow(() -> new RuntimeException("여행을 찾을 수 없습니다: " + newId));
+        Map<Long, List<TripItineraryItem>> itemsByDay = new HashMap<>();
+        for (TripItineraryItem item : itemRepository.findAllByTripIdOrdered(newId)) {
+            itemsByDay.computeIfAbsent(item.getTripDay().getId(), k -> new ArrayList<>()).add(item);
+        }
+        return ResponseEntity.ok(toDetailResp(trip, itemsByDay));
+    }
+
+    /**
+     * 여행 삭제
+     * - URL: DELETE /api/trips/{id}
+     * - cascade/orphanRemoval로 일차·일정을 모두 읽어 한 행씩 지우지 않고,
+     *   일정 → 일차 → 여행 순서로 테이블당 DELETE 한 문장씩 실행 (같은 트랜잭션)
+     *
+     * @return HTTP 204 No Content
+     */
+    @DeleteMapping("/{id}")
+    @Transactional
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        int items = itemRepository.bulkDeleteByTripId(id);
+        int days = tripDayRepository.bulkDeleteByTripId(id);
+        if (tripRepository.bulkDeleteById(id) > 0) {
+            tripDetailCache.evictDeleted(List.of(id));
+            System.out.println("🗑️ 여행 삭제 완료 - ID: " + id + ", 일차 " + days + "개, 일정 항목 " + items + "개");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Trip 엔티티를 TripDtos.Resp DTO로 변환하는 헬퍼 메소드
      * - 엔티티의 모든 필요한 정보를 DTO로 변환
@@ -410,43 +735,9 @@ public class TripController {
                 r.userId = null;
             }
             
-            // 일차 수 및 일정 항목 수 계산 (안전하게 처리)
-            try {
-                List<TripDay> tripDays = t.getTripDays();
-                if (tripDays != null && !tripDays.isEmpty()) {
-                    // TripDays 초기화
-                    int daysSize = tripDays.size();
-                    r.daysCount = daysSize;
-                    System.out.println("    📅 일차 수: " + daysSize);
-                    
-                    // 각 TripDay의 ItineraryItems 초기화 및 계산
-                    int totalItems = 0;
-                    for (TripDay day : tripDays) {
-                        try {
-                            if (day != null) {
-                                List<TripItineraryItem> items = day.getItineraryItems();
-                                if (items != null) {
-                                    totalItems += items.size();
-                                }
-                            }
-                        } catch (Exception e) {
-                            System.err.println("    ⚠️ 일차 ID " + (day != null ? day.getId() : "null") + "의 일정 항목 조회 실패: " + e.getMessage());
-                        }
-                    }
-                    r.totalItineraryItemsCount = totalItems;
-                    System.out.println("    📝 총 일정 항목 수: " + totalItems);
-                } else {
-                    r.daysCount = 0;
-                    r.totalItineraryItemsCount = 0;
-                    System.out.println("    ⚠️ 여행 ID " + t.getId() + "의 일차 정보 없음");
-                }
-            } catch (Exception e) {
-                // LAZY 로딩 초기화 실패 시 0으로 설정
-                System.err.println("    ❌ TripDays 로딩 실패: " + e.getMessage());
-                e.printStackTrace();
-                r.daysCount = 0;
-                r.totalItineraryItemsCount = 0;
-            }
+            // 일차 수 및 일정 항목 수 (trips 카운터 컬럼 - 하위 엔티티를 로딩하지 않음)
+            r.daysCount = t.getDaysCount() != null ? t.getDaysCount() : 0;
+            r.totalItineraryItemsCount = t.getItemsCount() != null ? t.getItemsCount() : 0;
         } catch (Exception e) {
             System.err.println("❌ Trip DTO 변환 중 예외 발생: " + e.getMessage());
             e.printStackTrace();
@@ -3,10 +3,15 @@ package com.example.demo.api;
 import com.example.demo.domain.Trip;
 import com.example.demo.domain.TripDay;
 import com.example.demo.repository.TripDayRepository;
+import com.example.demo.repository.TripItineraryItemRepository;
 import com.example.demo.repository.TripRepository;
 import com.example.demo.api.dto.TripDayDtos;
+import com.example.demo.common.util.ETags;
+import com.example.demo.service.TripDetailCache;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -38,14 +43,23 @@ public class TripDayController {
     /** Trip 엔티티를 위한 Repository (의존성 주입) */
     private final TripRepository tripRepository;
 
+    /** TripItineraryItem 엔티티를 위한 Repository (일차 삭제 시 일정 수 카운터 보정용) */
+    private final TripItineraryItemRepository itemRepository;
+
+    /** 여행 상세 캐시 (쓰기 시 버전 증가 + 무효화) */
+    private final TripDetailCache tripDetailCache;
+
     /**
      * 생성자 기반 의존성 주입
      * - Spring이 자동으로 Repository 빈들을 주입
      * - final 필드로 불변성 보장
      */
-    public TripDayController(TripDayRepository tripDayRepository, TripRepository tripRepository) {
+    public TripDayController(TripDayRepository tripDayRepository, TripRepository tripRepository,
+                             TripItineraryItemRepository itemRepository, TripDetailCache tripDetailCache) {
         this.tripDayRepository = tripDayRepository;
         this.tripRepository = tripRepository;
+        this.itemRepository = itemRepository;
+        this.tripDetailCache = tripDetailCache;
     }
 
     /**
@@ -53,13 +67,19 @@ public class TripDayController {
      * - URL: GET /api/trips/{tripId}/days
      * - @PathVariable: URL 경로의 {tripId} 부분을 메소드 파라미터로 바인딩
      * - 특정 여행의 모든 일차를 조회하여 DTO로 변환하여 반환
+     * - 여행 버전으로 ETag 설정, If-None-Match가 같으면 일차 조회 없이 304 반환
      * 
      * @param tripId 조회할 여행의 ID
      * @return 해당 여행의 일차 목록 (TripDayDtos.Resp 리스트)
      */
     @GetMapping("/trips/{tripId}/days")
-    public List<TripDayDtos.Resp> listByTrip(@PathVariable Long tripId) {
-        Trip trip = tripRepository.findById(tripId).orElseThrow();
+    @Transactional(readOnly = true)
+    public List<TripDayDtos.Resp> listByTrip(@PathVariable Long tripId, ServletWebRequest webRequest) {
+        Long version = tripRepository.findContentVersionById(tripId).orElseThrow();
+        if (ETags.notModified(webRequest, "days", tripId, version)) {
+            return null;
+        }
+        Trip trip = tripRepository.getReferenceById(tripId);
         return tripDayRepository.findByTrip(trip).stream().map(this::toResp).collect(Collectors.toList());
     }
 
@@ -76,6 +96,7 @@ public class TripDayController {
      * @return 생성된 일차 정보 (TripDayDtos.Resp)
      */
     @PostMapping("/trips/{tripId}/days")
+    @Transactional
     public ResponseEntity<TripDayDtos.Resp> create(@PathVariable Long tripId, @Valid @RequestBody TripDayDtos.CreateOrUpdateReq req) {
         // 여행 ID로 여행 조회 (없으면 예외 발생)
         Trip trip = tripRepository.findById(tripId).orElseThrow();
@@ -89,8 +110,10 @@ public class TripDayController {
         day.setDayEndTime(req.dayEndTime);
         day.setAccommodationJson(req.accommodationJson);
         
-        // 일차 저장 및 반환
+        // 일차 저장 + 여행의 일차 수 카운터 증가 (같은 트랜잭션)
         TripDay saved = tripDayRepository.save(day);
+        tripRepository.adjustCounts(tripId, 1, 0);
+        tripDetailCache.invalidate(tripId);
         return ResponseEntity.ok(toResp(saved));
     }
 
@@ -107,6 +130,7 @@ public class TripDayController {
      * @return 수정된 일차 정보 (TripDayDtos.Resp)
      */
     @PutMapping("/trip-days/{id}")
+    @Transactional
     public ResponseEntity<TripDayDtos.Resp> update(@PathVariable Long id, @Valid @RequestBody TripDayDtos.CreateOrUpdateReq req) {
         // 일차 ID로 일차 조회 (없으면 예외 발생)
         TripDay day = tripDayRepository.findById(id).orElseThrow();
@@ -120,6 +144,7 @@ public class TripDayController {
         
         // 일차 저장 및 반환
         TripDay saved = tripDayRepository.save(day);
+        tripDetailCache.invalidate(day.getTrip().getId());
         return ResponseEntity.ok(toResp(saved));
     }
 
@@ -133,8 +158,16 @@ public class TripDayController {
      * @return HTTP 204 No Content (성공적으로 삭제됨)
      */
     @DeleteMapping("/trip-days/{id}")
+    @Transactional
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        tripDayRepository.deleteById(id);
+        // 엔티티를 읽지 않고 일정 → 일차 순서로 DELETE, 삭제된 행 수만큼 카운터 감소 (같은 트랜잭션)
+        tripDayRepository.findTripIdByDayId(id).ifPresent(tripId -> {
+            int items = itemRepository.bulkDeleteByDayId(id);
+            int days = tripDayRepository.bulkDeleteById(id);
+            tripRepository.adjustCounts(tripId, -days, -items);
+            tripDetailCache.invalidate(tripId);
+            System.out.println("🗑️ 일차 삭제 완료 - ID: " + id + ", 일정 항목 " + items + "개");
+        });
         return ResponseEntity.noContent().build();
     }
 
@@ -0,0 +1,60 @@
+package com.example.demo.api;
+
+import com.example.demo.service.TripExportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * 여행 내보내기 REST 컨트롤러 (운영/분석용 전체 덤프)
+ * - GET /api/trips/export?format=ndjson|csv[&userId=] : 여행 + 일차 + 일정 전체를 스트리밍으로 내려받기
+ *   - ndjson(기본): 여행 1건 = JSON 1줄 (application/x-ndjson)
+ *   - csv: 일정 항목 1건 = 1행 (text/csv)
+ * - 응답 본문은 StreamingResponseBody로 DB 커서에서 읽는 즉시 전송 (전체 결과를 메모리에 올리지 않음)
+ */
+@RestController
+@RequestMapping("/api/trips/export")
+public class TripExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv; charset=UTF-8");
+
+    private final TripExportService tripExportService;
+
+    public TripExportController(TripExportService tripExportService) {
+        this.tripExportService = tripExportService;
+    }
+
+    /**
+     * 여행 전체 내보내기
+     *
+     * @param format ndjson 또는 csv
+     * @param userId 특정 사용자의 여행만 (생략 시 전체)
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format,
+                                                        @RequestParam(required = false) Long userId) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("지원하지 않는 형식입니다: " + format + " (ndjson, csv)");
+        }
+        String filename = "trips-" + (userId != null ? "user" + userId + "-" : "") + LocalDate.now() + (csv ? ".csv" : ".ndjson");
+
+        StreamingResponseBody body = out -> {
+            long started = System.nanoTime();
+            long count = csv ? tripExportService.exportCsv(userId, out) : tripExportService.exportNdjson(userId, out);
+            System.out.println("📤 여행 내보내기 완료 - 형식: " + (csv ? "csv" : "ndjson") + ", "
+                    + count + (csv ? "행" : "건") + " (" + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        };
+
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(body);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.api;
+
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.service.TripImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+
+/**
+ * 여행 일괄 가져오기 REST 컨트롤러 (기존 시스템 이관용)
+ * - POST /api/trips/import?format=ndjson|csv|gpx[&userId=] : 요청 본문(파일 내용 그대로)을 스트리밍으로 읽어 저장
+ *   - format 생략 시 Content-Type으로 판단 (application/x-ndjson, text/csv, application/gpx+xml)
+ *   - multipart가 아닌 원본 본문을 받으므로 업로드 파일이 메모리/임시 파일에 통째로 쌓이지 않음
+ * - 응답: 저장 건수 + 레코드별 오류 목록 (TripDtos.ImportResp)
+ */
+@RestController
+@RequestMapping("/api/trips/import")
+public class TripImportController {
+
+    private final TripImportService tripImportService;
+
+    public TripImportController(TripImportService tripImportService) {
+        this.tripImportService = tripImportService;
+    }
+
+    /**
+     * @param userId 모든 여행의 소유자 (ndjson/csv는 생략 시 레코드의 userId/user_id 사용, gpx는 필수)
+     * @param title GPX 전용: 여행 제목 (생략 시 GPX 이름)
+     * @param destination GPX 전용: 여행지 (생략 시 제목)
+     * @param startDate GPX 전용: 시각이 없는 지점의 날짜
+     */
+    @PostMapping
+    public ResponseEntity<TripDtos.ImportResp> importTrips(@RequestParam(required = false) String format,
+                                                           @RequestParam(required = false) Long userId,
+                                                           @RequestParam(required = false) String title,
+                                                           @RequestParam(required = false) String destination,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                                           HttpServletRequest request) throws IOException {
+        String resolved = resolveFormat(format, request.getContentType());
+        System.out.println("📥 여행 가져오기 시작 - 형식: " + resolved + (userId != null ? ", 사용자 ID: " + userId : ""));
+
+        InputStream in = request.getInputStream();
+        TripDtos.ImportResp report = switch (resolved) {
+            case "csv" -> tripImportService.importCsv(in, userId);
+            case "gpx" -> {
+                if (userId == null) {
+                    throw new IllegalArgumentException("GPX 가져오기에는 userId가 필요합니다.");
+                }
+                yield tripImportService.importGpx(in, userId, title, destination, startDate);
+            }
+            default -> tripImportService.importNdjson(in, userId);
+        };
+        return ResponseEntity.ok(report);
+    }
+
+    private static String resolveFormat(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            String f = format.trim().toLowerCase();
+            if (!f.equals("ndjson") && !f.equals("csv") && !f.equals("gpx")) {
+                throw new IllegalArgumentException("지원하지 않는 형식입니다: " + format + " (ndjson, csv, gpx)");
+            }
+            return f;
+        }
+        String type = contentType != null ? contentType.toLowerCase() : "";
+        if (type.startsWith("text/csv")) return "csv";
+        if (type.contains("gpx") || type.contains("xml")) return "gpx";
+        if (type.contains("ndjson") || type.contains("json")) return "ndjson";
+        throw new IllegalArgumentException("format 파라미터 또는 Content-Type으로 형식을 지정해야 합니다. (ndjson, csv, gpx)");
+    }
+}
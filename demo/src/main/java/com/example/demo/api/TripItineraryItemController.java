@@ -4,12 +4,31 @@ import com.example.demo.domain.TripDay;
 import com.example.demo.domain.TripItineraryItem;
 import com.example.demo.repository.TripDayRepository;
 import com.example.demo.repository.TripItineraryItemRepository;
+import com.example.demo.repository.TripRepository;
 import com.example.demo.api.dto.TripItineraryItemDtos;
+import com.example.demo.common.util.ETags;
+import com.example.demo.common.util.LexoRank;
+import com.example.demo.common.util.PolylineCodec;
+import com.example.demo.service.LegEnrichmentService;
+import com.example.demo.service.PopularPlaceTracker;
+import com.example.demo.service.TripDetailCache;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +37,8 @@ import java.util.stream.Collectors;
  *   - GET /api/trip-days/{dayId}/items : 해당 Day의 일정 목록(순서 기준)
  *   - POST /api/trip-days/{dayId}/items : 일정 생성
  *   - PUT /api/itinerary-items/{id} : 일정 수정
+ *   - PATCH /api/trip-days/{dayId}/items/order : 일차 내 일정 순서 일괄 변경
+ *   - PUT /api/trip-days/{dayId}/items : 일차 일정 전체 교체 (차이만 반영)
  *   - DELETE /api/itinerary-items/{id} : 일정 삭제
  */
 @RestController
@@ -26,42 +47,327 @@ public class TripItineraryItemController {
 
     private final TripItineraryItemRepository itemRepository;
     private final TripDayRepository dayRepository;
+    private final TripRepository tripRepository;
+    private final LegEnrichmentService legEnrichmentService;
+    private final TripDetailCache tripDetailCache;
+    private final PopularPlaceTracker popularPlaceTracker;
 
-    public TripItineraryItemController(TripItineraryItemRepository itemRepository, TripDayRepository dayRepository) {
+    public TripItineraryItemController(TripItineraryItemRepository itemRepository, TripDayRepository dayRepository,
+                                       TripRepository tripRepository, LegEnrichmentService legEnrichmentService,
+                                       TripDetailCache tripDetailCache, PopularPlaceTracker popularPlaceTracker) {
         this.itemRepository = itemRepository;
         this.dayRepository = dayRepository;
+        this.tripRepository = tripRepository;
+        this.legEnrichmentService = legEnrichmentService;
+        this.tripDetailCache = tripDetailCache;
+        this.popularPlaceTracker = popularPlaceTracker;
     }
 
+    /**
+     * 일차의 일정 목록 조회
+     * - 소속 여행의 버전으로 ETag 설정, If-None-Match가 같으면 일정 조회 없이 304 반환
+     */
     @GetMapping("/trip-days/{dayId}/items")
-    public List<TripItineraryItemDtos.Resp> list(@PathVariable Long dayId) {
-        TripDay day = dayRepository.findById(dayId).orElseThrow();
-        return itemRepository.findByTripDayOrderByOrderSequenceAsc(day).stream().map(this::toResp).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TripItineraryItemDtos.Resp> list(@PathVariable Long dayId, ServletWebRequest webRequest) {
+        Long version = dayRepository.findTripContentVersionByDayId(dayId).orElseThrow();
+        if (ETags.notModified(webRequest, "items", dayId, version)) {
+            return null;
+        }
+        TripDay day = dayRepository.getReferenceById(dayId);
+        return toResps(itemRepository.findByTripDayOrdered(day));
     }
 
+    /**
+     * 일정 생성
+     * - orderSequence 위치의 앞뒤 항목 순위 사이에 새 순위를 만들어 끼워 넣음 (다른 항목은 갱신하지 않음)
+     * - 순위가 너무 길어지면 같은 트랜잭션에서 일차 전체 순위를 다시 배치
+     */
     @PostMapping("/trip-days/{dayId}/items")
+    @Transactional
     public ResponseEntity<TripItineraryItemDtos.Resp> create(@PathVariable Long dayId, @Valid @RequestBody TripItineraryItemDtos.CreateOrUpdateReq req) {
         TripDay day = dayRepository.findById(dayId).orElseThrow();
+        List<TripItineraryItem> current = rankedItems(day);
+        int index = Math.min(req.orderSequence - 1, current.size());
+
         TripItineraryItem item = new TripItineraryItem();
         item.setTripDay(day);
         applyReq(item, req);
+        item.setOrderSequence(index + 1);
+        current.add(index, item);
+        applyRanks(current);
         TripItineraryItem saved = itemRepository.save(item);
-        return ResponseEntity.ok(toResp(saved));
+        tripRepository.adjustCounts(day.getTrip().getId(), 0, 1);
+        tripDetailCache.invalidate(day.getTrip().getId());
+        popularPlaceTracker.recordPlaces(Collections.singletonList(saved.getPlaceId()));
+        legEnrichmentService.enqueueDays(List.of(dayId));
+        return ResponseEntity.ok(toResp(saved, index + 1));
     }
 
+    /**
+     * 일정 수정
+     * - orderSequence가 현재 위치와 다르면 해당 항목의 순위만 새 위치의 이웃 사이 값으로 변경
+     * - 순위가 너무 길어지면 같은 트랜잭션에서 일차 전체 순위를 다시 배치
+     */
     @PutMapping("/itinerary-items/{id}")
+    @Transactional
     public ResponseEntity<TripItineraryItemDtos.Resp> update(@PathVariable Long id, @Valid @RequestBody TripItineraryItemDtos.CreateOrUpdateReq req) {
         TripItineraryItem item = itemRepository.findById(id).orElseThrow();
+        String previousPlaceId = item.getPlaceId();
         applyReq(item, req);
+
+        List<TripItineraryItem> others = rankedItems(item.getTripDay());
+        int currentIndex = others.indexOf(item);
+        others.remove(item);
+        int index = Math.min(req.orderSequence - 1, others.size());
+        if (index != currentIndex) {
+            item.setOrderRank(null);
+        }
+        others.add(index, item);
+        applyRanks(others);
+        item.setOrderSequence(index + 1);
+
         TripItineraryItem saved = itemRepository.save(item);
-        return ResponseEntity.ok(toResp(saved));
+        tripDetailCache.invalidate(item.getTripDay().getTrip().getId());
+        // 다른 장소로 바꾼 경우만 새 장소 1회로 기록 (시간/메모 수정은 제외)
+        if (!Objects.equals(previousPlaceId, saved.getPlaceId())) {
+            popularPlaceTracker.recordPlaces(Collections.singletonList(saved.getPlaceId()));
+        }
+        legEnrichmentService.enqueueDays(List.of(item.getTripDay().getId()));
+        return ResponseEntity.ok(toResp(saved, index + 1));
+    }
+
+    /**
+     * 일차 내 일정 순서 일괄 변경 (드래그 앤 드롭)
+     * - URL: PATCH /api/trip-days/{dayId}/items/order
+     * - 요청: 해당 일차의 모든 일정 ID를 새 순서대로
+     * - 이미 순서가 맞는 가장 긴 구간(LIS)의 순위는 그대로 두고 나머지 항목의 순위만 다시 만들어
+     *   바뀐 행만 한 트랜잭션에서 JDBC 배치 UPDATE로 반영 (항목 하나 이동 = 1행 갱신)
+     * - 다음 항목이 바뀐 항목(새 마지막 항목 포함)은 이전 구간 정보(travelToNext*)를 비우고 구간 보강에 맡김
+     */
+    @PatchMapping("/trip-days/{dayId}/items/order")
+    @Transactional
+    public List<TripItineraryItemDtos.Resp> reorder(@PathVariable Long dayId, @Valid @RequestBody TripItineraryItemDtos.ReorderReq req) {
+        TripDay day = dayRepository.findById(dayId).orElseThrow();
+        List<TripItineraryItem> current = itemRepository.findByTripDayOrdered(day);
+        Map<Long, TripItineraryItem> byId = new HashMap<>();
+        for (TripItineraryItem item : current) {
+            byId.put(item.getId(), item);
+        }
+        if (req.itemIds.size() != current.size() || !byId.keySet().equals(new HashSet<>(req.itemIds))) {
+            throw new IllegalArgumentException("itemIds는 해당 일차의 모든 일정 ID를 한 번씩 포함해야 합니다.");
+        }
+
+        List<TripItineraryItem> ordered = new ArrayList<>(current.size());
+        for (Long itemId : req.itemIds) {
+            ordered.add(byId.get(itemId));
+        }
+        int changed = applyRanks(ordered);
+        int legsCleared = clearChangedLegs(current, ordered);
+        if (changed > 0 || legsCleared > 0) {
+            tripDetailCache.invalidate(day.getTrip().getId());
+            legEnrichmentService.enqueueDays(List.of(dayId));
+        }
+        System.out.println("↕️ 일정 순서 변경 - 일차 ID: " + dayId + ", 항목 " + ordered.size() + "개 중 " + changed + "개 갱신"
+                + " (구간 정보 초기화 " + legsCleared + "개)");
+        return toResps(ordered);
+    }
+
+    /**
+     * 일차 일정 전체 교체 (경로 재최적화 결과 반영)
+     * - URL: PUT /api/trip-days/{dayId}/items
+     * - 요청 목록(orderSequence 순)과 현재 항목을 비교해 필요한 INSERT/UPDATE/DELETE만 한 트랜잭션에서 일괄 실행
+     *   1) 요청 항목에 id가 있으면 해당 기존 항목과, 없으면 같은 placeId + title인 기존 항목과 짝지음
+     *   2) 짝이 없는 요청 항목은 추가, 짝이 없는 기존 항목은 삭제 (DELETE 1회)
+     *   3) 순서는 순위(LexoRank)를 최소한으로 다시 매겨 반영
+     * - 같은 요청을 다시 보내면 모든 항목이 그대로 짝지어져 변경 없이 끝나므로 재시도해도 안전 (멱등)
+     */
+    @PutMapping("/trip-days/{dayId}/items")
+    @Transactional
+    public List<TripItineraryItemDtos.Resp> replace(@PathVariable Long dayId, @Valid @RequestBody TripItineraryItemDtos.ReplaceReq req) {
+        TripDay day = dayRepository.findById(dayId).orElseThrow();
+        List<TripItineraryItem> current = itemRepository.findByTripDayOrdered(day);
+
+        Map<Long, TripItineraryItem> byId = new HashMap<>();
+        Map<String, List<TripItineraryItem>> byKey = new HashMap<>();
+        for (TripItineraryItem item : current) {
+            byId.put(item.getId(), item);
+            byKey.computeIfAbsent(matchKey(item.getPlaceId(), item.getTitle()), k -> new ArrayList<>()).add(item);
+        }
+
+        // 요청 순서 (orderSequence 순, 같으면 요청 순)
+        List<TripItineraryItemDtos.CreateOrUpdateReq> desired = new ArrayList<>(req.items);
+        desired.sort(Comparator.comparing(r -> r.orderSequence));
+
+        // 1) id로 먼저 짝짓기
+        Set<TripItineraryItem> matched = new HashSet<>();
+        TripItineraryItem[] pairs = new TripItineraryItem[desired.size()];
+        for (int i = 0; i < desired.size(); i++) {
+            Long id = desired.get(i).id;
+            if (id == null) continue;
+            TripItineraryItem item = byId.get(id);
+            if (item == null) {
+                throw new IllegalArgumentException("해당 일차의 일정이 아닙니다: " + id);
+            }
+            if (!matched.add(item)) {
+                throw new IllegalArgumentException("같은 일정 ID가 여러 번 포함되었습니다: " + id);
+            }
+            pairs[i] = item;
+        }
+        // 2) 나머지는 placeId + title로 짝짓기 (같은 키가 여러 개면 현재 순서대로)
+        for (int i = 0; i < desired.size(); i++) {
+            if (pairs[i] != null || desired.get(i).id != null) continue;
+            List<TripItineraryItem> candidates = byKey.get(matchKey(desired.get(i).placeId, desired.get(i).title));
+            if (candidates == null) continue;
+            for (TripItineraryItem candidate : candidates) {
+                if (matched.add(candidate)) {
+                    pairs[i] = candidate;
+                    break;
+                }
+            }
+        }
+
+        // 3) 삭제: 짝이 없는 기존 항목
+        List<TripItineraryItem> removed = new ArrayList<>();
+        for (TripItineraryItem item : current) {
+            if (!matched.contains(item)) {
+                removed.add(item);
+            }
+        }
+        if (!removed.isEmpty()) {
+            itemRepository.deleteAllInBatch(removed);
+        }
+
+        // 4) 수정/추가 (수정은 값이 바뀐 항목만 변경 감지로 UPDATE)
+        List<TripItineraryItem> ordered = new ArrayList<>(desired.size());
+        List<TripItineraryItem> inserted = new ArrayList<>();
+        int updated = 0;
+        for (int i = 0; i < desired.size(); i++) {
+            TripItineraryItem item = pairs[i];
+            if (item == null) {
+                item = new TripItineraryItem();
+                item.setTripDay(day);
+                item.setOrderSequence(i + 1);
+                applyReq(item, desired.get(i));
+                inserted.add(item);
+            } else {
+                List<Object> before = contentOf(item);
+                applyReq(item, desired.get(i));
+                if (!before.equals(contentOf(item))) {
+                    updated++;
+                }
+            }
+            ordered.add(item);
+        }
+        int reranked = applyRanks(ordered);
+        if (!inserted.isEmpty()) {
+            itemRepository.saveAll(inserted);
+        }
+
+        boolean changed = !removed.isEmpty() || !inserted.isEmpty() || updated > 0 || reranked > 0;
+        if (changed) {
+            Long tripId = day.getTrip().getId();
+            if (inserted.size() != removed.size()) {
+                tripRepository.adjustCounts(tripId, 0, inserted.size() - removed.size());
+            }
+            tripDetailCache.invalidate(tripId);
+            popularPlaceTracker.recordPlaces(inserted.stream().map(TripItineraryItem::getPlaceId).collect(Collectors.toList()));
+            legEnrichmentService.enqueueDays(List.of(dayId));
+        }
+        System.out.println("🔁 일차 일정 교체 - 일차 ID: " + dayId + ", 추가 " + inserted.size() + ", 삭제 " + removed.size()
+                + ", 수정 " + updated + ", 순위 변경 " + reranked + (changed ? "" : " (변경 없음)"));
+        return toResps(ordered);
     }
 
     @DeleteMapping("/itinerary-items/{id}")
+    @Transactional
     public ResponseEntity<Void> delete(@PathVariable Long id) {
-        itemRepository.deleteById(id);
+        // 앞 항목의 구간이 바뀌므로 삭제 후 해당 일차를 다시 보강
+        itemRepository.findById(id).ifPresent(item -> {
+            itemRepository.delete(item);
+            tripRepository.adjustCounts(item.getTripDay().getTrip().getId(), 0, -1);
+            tripDetailCache.invalidate(item.getTripDay().getTrip().getId());
+            legEnrichmentService.enqueueDays(List.of(item.getTripDay().getId()));
+        });
         return ResponseEntity.noContent().build();
     }
 
+    /** 일차의 일정 목록 (순위 순) - 순위가 없는 기존 항목이 있으면 먼저 순위를 채움 */
+    private List<TripItineraryItem> rankedItems(TripDay day) {
+        List<TripItineraryItem> items = itemRepository.findByTripDayOrdered(day);
+        if (items.stream().anyMatch(i -> i.getOrderRank() == null)) {
+            applyRanks(items);
+        }
+        return items;
+    }
+
+    /**
+     * 주어진 순서가 되도록 순위를 최소한으로 다시 매김 (변경 감지로 UPDATE)
+     * - 순위가 없는 자리(새 항목, 옮길 항목)는 이웃 사이의 새 순위로 채움
+     * - 순위가 너무 길어지면 LexoRank.reassign이 전체를 다시 배치하므로 모든 항목이 갱신될 수 있음
+     *
+     * @return 순위가 바뀐 항목 수
+     */
+    private int applyRanks(List<TripItineraryItem> ordered) {
+        List<String> ranks = new ArrayList<>(ordered.size());
+        for (TripItineraryItem item : ordered) {
+            ranks.add(item.getOrderRank());
+        }
+        List<String> next = LexoRank.reassign(ranks);
+        int changed = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            if (!Objects.equals(next.get(i), ranks.get(i))) {
+                ordered.get(i).setOrderRank(next.get(i));
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 순서 변경 전후로 다음 항목이 달라진 항목의 구간 정보(travelToNext*)를 비움 (변경 감지로 UPDATE)
+     *
+     * @return 구간 정보를 비운 항목 수
+     */
+    private static int clearChangedLegs(List<TripItineraryItem> before, List<TripItineraryItem> after) {
+        Map<Long, Long> nextBefore = new HashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            nextBefore.put(before.get(i).getId(), i + 1 < before.size() ? before.get(i + 1).getId() : null);
+        }
+        int cleared = 0;
+        for (int i = 0; i < after.size(); i++) {
+            TripItineraryItem item = after.get(i);
+            Long next = i + 1 < after.size() ? after.get(i + 1).getId() : null;
+            if (Objects.equals(next, nextBefore.get(item.getId()))) continue;
+            if (item.getTravelToNextDistanceKm() == null && item.getTravelToNextDurationMinutes() == null
+                    && item.getTravelToNextMode() == null && item.getTravelToNextPolyline() == null) continue;
+            item.setTravelToNextDistanceKm(null);
+            item.setTravelToNextDurationMinutes(null);
+            item.setTravelToNextMode(null);
+            item.setTravelToNextPolyline(null);
+            cleared++;
+        }
+        return cleared;
+    }
+
+    /** 전체 교체 시 기존 항목과 요청 항목을 짝짓는 키 */
+    private static String matchKey(String placeId, String title) {
+        return (placeId != null ? placeId : "") + "\u0000" + (title != null ? title.trim() : "");
+    }
+
+    /** 변경 여부 비교용 필드 값 (BigDecimal은 자릿수 차이를 무시) */
+    private static List<Object> contentOf(TripItineraryItem item) {
+        return Arrays.asList(item.getPlaceId(), item.getTitle(), item.getDescription(), item.getLocationName(),
+                item.getAddress(), normalize(item.getLatitude()), normalize(item.getLongitude()),
+                item.getStartTime(), item.getEndTime(), item.getCategory(), item.getStayDurationMinutes(),
+                normalize(item.getTravelToNextDistanceKm()), item.getTravelToNextDurationMinutes(),
+                item.getTravelToNextMode(), item.getTravelToNextPolyline());
+    }
+
+    private static BigDecimal normalize(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros() : null;
+    }
+
     private void applyReq(TripItineraryItem item, TripItineraryItemDtos.CreateOrUpdateReq req) {
         item.setPlaceId(req.placeId);
         item.setTitle(req.title);
@@ -77,10 +383,19 @@ public class TripItineraryItemController {
         item.setTravelToNextDistanceKm(req.travelToNextDistanceKm);
         item.setTravelToNextDurationMinutes(req.travelToNextDurationMinutes);
         item.setTravelToNextMode(req.travelToNextMode);
-        item.setOrderSequence(req.orderSequence);
+        item.setTravelToNextPolyline(PolylineCodec.compress(req.travelToNextPolyline, PolylineCodec.DEFAULT_TOLERANCE_METERS));
+    }
+
+    /** 순위 순 목록 → 응답 (orderSequence는 목록 내 위치로 다시 매김) */
+    private List<TripItineraryItemDtos.Resp> toResps(List<TripItineraryItem> ordered) {
+        List<TripItineraryItemDtos.Resp> out = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            out.add(toResp(ordered.get(i), i + 1));
+        }
+        return out;
     }
 
-    private TripItineraryItemDtos.Resp toResp(TripItineraryItem item) {
+    private TripItineraryItemDtos.Resp toResp(TripItineraryItem item, int position) {
         TripItineraryItemDtos.Resp r = new TripItineraryItemDtos.Resp();
         r.id = item.getId();
         r.placeId = item.getPlaceId();
@@ -97,7 +412,8 @@ public class TripItineraryItemController {
         r.travelToNextDistanceKm = item.getTravelToNextDistanceKm();
         r.travelToNextDurationMinutes = item.getTravelToNextDurationMinutes();
         r.travelToNextMode = item.getTravelToNextMode();
-        r.orderSequence = item.getOrderSequence();
+        r.travelToNextPolyline = item.getTravelToNextPolyline();
+        r.orderSequence = position;
         return r;
     }
 }
@@ -0,0 +1,33 @@
+package com.example.demo.api;
+
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.service.PopularPlaceTracker;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 인기 여행지/장소 REST 컨트롤러 (메모리 집계 PopularPlaceTracker 사용, DB 조회 없음)
+ * - GET /api/trips/popular?limit= : 최근 많이 저장된 여행지(destinationPlaceId)와 일정 장소(placeId)
+ */
+@RestController
+@RequestMapping("/api/trips/popular")
+public class TripPopularController {
+
+    /** 종류별 최대 결과 수 */
+    private static final int MAX_LIMIT = 100;
+
+    private final PopularPlaceTracker popularPlaceTracker;
+
+    public TripPopularController(PopularPlaceTracker popularPlaceTracker) {
+        this.popularPlaceTracker = popularPlaceTracker;
+    }
+
+    /** @param limit 종류별 최대 결과 수 (1~100) */
+    @GetMapping
+    public ResponseEntity<TripDtos.PopularResp> popular(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1~" + MAX_LIMIT + " 사이여야 합니다: " + limit);
+        }
+        return ResponseEntity.ok(popularPlaceTracker.popular(limit));
+    }
+}
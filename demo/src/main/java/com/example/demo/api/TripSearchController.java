@@ -0,0 +1,54 @@
+package com.example.demo.api;
+
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.service.TripSearchIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 여행 검색 REST 컨트롤러 (메모리 역색인 TripSearchIndex 사용, DB LIKE 검색 없음)
+ * - GET  /api/trips/search?q=&userId=&limit= : 여행 제목/여행지/일정 내용 검색
+ * - POST /api/trips/search/rebuild           : 전체 색인 재생성 (백그라운드)
+ */
+@RestController
+@RequestMapping("/api/trips/search")
+public class TripSearchController {
+
+    /** 한 번에 반환하는 최대 결과 수 */
+    private static final int MAX_LIMIT = 100;
+
+    private final TripSearchIndex tripSearchIndex;
+
+    public TripSearchController(TripSearchIndex tripSearchIndex) {
+        this.tripSearchIndex = tripSearchIndex;
+    }
+
+    /**
+     * @param q 검색어 (공백으로 구분한 모든 단어를 포함하는 여행만)
+     * @param userId 특정 사용자의 여행만 (생략 시 전체)
+     * @param limit 최대 결과 수 (1~100)
+     * @return ready=false면 색인 생성 중이라 결과가 일부만 있을 수 있음
+     */
+    @GetMapping
+    public ResponseEntity<TripDtos.SearchResp> search(@RequestParam String q,
+                                                      @RequestParam(required = false) Long userId,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank()) {
+            throw new IllegalArgumentException("검색어(q)를 입력해야 합니다.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit은 1~" + MAX_LIMIT + " 사이여야 합니다: " + limit);
+        }
+        return ResponseEntity.ok(tripSearchIndex.search(q, userId, limit));
+    }
+
+    /** 전체 색인 재생성 (202: 시작됨, 409: 이미 진행 중) */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuild() {
+        if (!tripSearchIndex.rebuildAsync()) {
+            return ResponseEntity.status(409).build();
+        }
+        System.out.println("🔎 여행 검색 색인 재생성 시작");
+        return ResponseEntity.accepted().build();
+    }
+}
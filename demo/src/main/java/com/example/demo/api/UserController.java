@@ -5,12 +5,19 @@ package com.example.demo.api;
  * - 사용자 생성 및 조회 API 제공
  *   - GET /api/users : 사용자 목록 조회
  *   - POST /api/users : 사용자 생성(간단 데모용, 실제 서비스는 DTO/검증/암호화 적용)
+ *   - DELETE /api/users/{id} : 사용자 삭제 (여행/일차/일정 포함)
  */
 
 import com.example.demo.domain.User;
+import com.example.demo.repository.TripDayRepository;
+import com.example.demo.repository.TripItineraryItemRepository;
+import com.example.demo.repository.TripRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.api.dto.UserDtos;
+import com.example.demo.service.TripDetailCache;
+import com.example.demo.service.UserCacheSync;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,13 +38,31 @@ public class UserController {
     /** User 엔티티를 위한 Repository (의존성 주입) */
     private final UserRepository userRepository;
 
+    /** 사용자 삭제 시 여행/일차/일정 일괄 삭제용 Repository */
+    private final TripRepository tripRepository;
+    private final TripDayRepository tripDayRepository;
+    private final TripItineraryItemRepository itemRepository;
+
+    /** 여행 상세 캐시 (삭제된 여행 무효화) */
+    private final TripDetailCache tripDetailCache;
+
+    /** 사용자 2차 캐시 서버 간 무효화 (네이티브 삭제는 엔티티 리스너를 거치지 않음) */
+    private final UserCacheSync userCacheSync;
+
     /**
      * 생성자 기반 의존성 주입
-     * - Spring이 자동으로 UserRepository 빈을 주입
+     * - Spring이 자동으로 Repository 빈들을 주입
      * - final 필드로 불변성 보장
      */
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, TripRepository tripRepository, TripDayRepository tripDayRepository,
+                          TripItineraryItemRepository itemRepository, TripDetailCache tripDetailCache,
+                          UserCacheSync userCacheSync) {
         this.userRepository = userRepository;
+        this.tripRepository = tripRepository;
+        this.tripDayRepository = tripDayRepository;
+        this.itemRepository = itemRepository;
+        this.tripDetailCache = tripDetailCache;
+        this.userCacheSync = userCacheSync;
     }
 
     /**
@@ -48,6 +73,7 @@ public class UserController {
      * @return 사용자 목록 (UserDtos.Resp 리스트)
      */
     @GetMapping
+    @Transactional(readOnly = true)
     public List<UserDtos.Resp> list() {
         return userRepository.findAll().stream().map(this::toResp).collect(Collectors.toList());
     }
@@ -82,6 +108,7 @@ public class UserController {
      * @return 사용자 정보 (UserDtos.Resp)
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<UserDtos.Resp> get(@PathVariable Long id) {
         return userRepository.findById(id)
                 .map(user -> ResponseEntity.ok(toResp(user)))
@@ -122,6 +149,31 @@ public class UserController {
         }
     }
 
+    /**
+     * @DeleteMapping: HTTP DELETE 요청 매핑
+     * - URL: DELETE /api/users/{id}
+     * - User.trips의 cascade/orphanRemoval은 모든 하위 엔티티를 읽어 한 행씩 삭제하므로 사용하지 않고,
+     *   일정 → 일차 → 여행 → 사용자 순서로 테이블당 DELETE 한 문장씩 실행 (같은 트랜잭션)
+     *
+     * @param id 삭제할 사용자 ID
+     * @return HTTP 204 No Content (없으면 404)
+     */
+    @DeleteMapping("/{id}")
+    @Transactional
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        List<Long> tripIds = tripRepository.findIdsByUserId(id);
+        int items = itemRepository.bulkDeleteByUserId(id);
+        int days = tripDayRepository.bulkDeleteByUserId(id);
+        int trips = tripRepository.bulkDeleteByUserId(id);
+        if (userRepository.bulkDeleteById(id) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        tripDetailCache.evictDeleted(tripIds);
+        userCacheSync.evictAfterCommit(id);
+        System.out.println("🗑️ 사용자 삭제 완료 - ID: " + id + ", 여행 " + trips + "개, 일차 " + days + "개, 일정 항목 " + items + "개");
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * User 엔티티를 UserDtos.Resp DTO로 변환하는 헬퍼 메소드
      * - 엔티티의 민감한 정보(비밀번호 등)를 제외하고 필요한 정보만 반환
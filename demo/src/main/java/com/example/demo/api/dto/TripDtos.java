@@ -31,6 +31,12 @@ public class TripDtos {
         public List<TripDayDtos.CreateOrUpdateReq> days; // 일차별 정보
     }
 
+    /** 여러 여행 상세 일괄 조회 요청 (POST /api/trips/batch) */
+    public static class BatchReq {
+        @NotNull(message = "여행 ID 목록(ids)은 필수입니다.")
+        public List<Long> ids;
+    }
+
     /** 상세 응답 DTO (일차/일정 수 포함, 상세보기용) */
     public static class Resp {
         public Long id;
@@ -51,6 +57,69 @@ public class TripDtos {
         public List<TripDayDtos.Resp> days; // 각 일차 상세 정보 (상세 보기용)
     }
 
+    /** 여행 복제 요청 (POST /api/trips/{id}/clone, 모든 필드 선택) */
+    public static class CloneReq {
+        public Long userId; // 새 소유자 (생략 시 원본과 같은 사용자)
+        public String title; // 새 제목 (생략 시 "원본 제목 (복사본)")
+        public LocalDate startDate; // 새 시작일 (지정 시 모든 일차 날짜를 같은 만큼 이동)
+    }
+
+    /** 여행 일괄 가져오기 결과 (POST /api/trips/import) */
+    public static class ImportResp {
+        public String format;
+        public long recordsRead; // 읽은 레코드 수 (NDJSON 줄 / CSV 여행 / GPX 파일)
+        public long tripsImported;
+        public long daysImported;
+        public long itemsImported;
+        public long failed; // 저장하지 못한 레코드 수
+        public int chunks; // 커밋한 트랜잭션 수
+        public long elapsedMs;
+        public List<ImportError> errors; // 레코드별 오류 (최대 1000건)
+        public boolean errorsTruncated; // 오류가 많아 일부만 담긴 경우 true
+    }
+
+    /** 가져오기 레코드 오류 */
+    public static class ImportError {
+        public long record; // NDJSON/CSV: 줄 번호, GPX: 1
+        public String message;
+
+        public ImportError(long record, String message) {
+            this.record = record;
+            this.message = message;
+        }
+    }
+
+    /** 여행 검색 결과 (GET /api/trips/search) */
+    public static class SearchResp {
+        public String query;
+        public long total; // 검색어를 모두 포함하는 여행 수
+        public boolean ready; // false면 시작 후 색인 생성 중 (결과가 일부만 나올 수 있음)
+        public long tookMicros;
+        public List<SearchHit> hits;
+    }
+
+    public static class SearchHit {
+        public Long id;
+        public Long userId;
+        public String title;
+        public String destination;
+        public LocalDate startDate;
+        public int score; // 여행 제목/여행지에 나온 검색어 토큰 수
+    }
+
+    /** 인기 여행지/장소 (GET /api/trips/popular) - 최근 저장일수록 큰 비중 (반감기 감쇠) */
+    public static class PopularResp {
+        public int halfLifeHours;
+        public List<PopularEntry> destinations; // 여행의 destinationPlaceId
+        public List<PopularEntry> places; // 일정 항목의 placeId
+    }
+
+    public static class PopularEntry {
+        public String placeId;
+        public double score; // 감쇠된 저장 횟수 추정값 (실제 이상)
+        public double minScore; // 실제 값의 하한 (집계에서 밀려났다 다시 들어온 키는 score보다 작음)
+    }
+
     /** 대시보드용 간단 응답 DTO (trips 테이블 컬럼 + 일수/일정 개수 집계) */
     public static class SimpleResp {
         public Long id;
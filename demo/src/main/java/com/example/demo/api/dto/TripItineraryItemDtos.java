@@ -1,16 +1,20 @@
 package com.example.demo.api.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.math.BigDecimal;
 import java.time.LocalTime;
+import java.util.List;
 
 /** TripItineraryItem 요청/응답 DTO */
 public class TripItineraryItemDtos {
 
     public static class CreateOrUpdateReq {
+        public Long id; // 기존 일정 ID (일차 전체 교체 요청에서 기존 항목 지정용, 그 외에는 무시)
+
         @NotBlank(message = "일정 제목(title)은 필수입니다.")
         public String title;
 
@@ -27,12 +31,26 @@ public class TripItineraryItemDtos {
         public BigDecimal travelToNextDistanceKm; // 다음 장소까지 거리 (km)
         public Integer travelToNextDurationMinutes; // 다음 장소까지 이동 시간 (분)
         public String travelToNextMode; // "DRIVE", "TRANSIT", "WALK"
+        public String travelToNextPolyline; // 다음 장소까지 경로 (Encoded Polyline)
 
         @NotNull(message = "순서(orderSequence)는 필수입니다.")
         @Min(value = 1, message = "순서(orderSequence)는 1 이상이어야 합니다.")
         public Integer orderSequence;
     }
 
+    /** 일차 내 일정 순서 일괄 변경 요청 (PATCH /api/trip-days/{dayId}/items/order) */
+    public static class ReorderReq {
+        @NotNull(message = "일정 ID 목록(itemIds)은 필수입니다.")
+        public List<Long> itemIds; // 해당 일차의 모든 일정 ID를 원하는 순서대로
+    }
+
+    /** 일차 일정 전체 교체 요청 (PUT /api/trip-days/{dayId}/items) */
+    public static class ReplaceReq {
+        @NotNull(message = "일정 목록(items)은 필수입니다.")
+        @Valid
+        public List<CreateOrUpdateReq> items; // 원하는 최종 일정 목록 (순서대로)
+    }
+
     public static class Resp {
         public Long id;
         public String placeId;
@@ -49,8 +67,40 @@ public class TripItineraryItemDtos {
         public BigDecimal travelToNextDistanceKm;
         public Integer travelToNextDurationMinutes;
         public String travelToNextMode;
+        public String travelToNextPolyline;
         public Integer orderSequence;
     }
-}
 
+    /** 주변 일정 조회 결과 (GET /api/itinerary-items/nearby) */
+    public static class NearbyResp {
+        public int total; // 반경 안의 일정 수 (limit 적용 전)
+        public boolean ready; // false면 시작 후 색인 생성 중 (결과가 일부만 나올 수 있음)
+        public List<NearbyItem> items; // 가까운 순
+    }
+
+    public static class NearbyItem {
+        public Long id;
+        public Long tripId;
+        public String placeId;
+        public String title;
+        public String category;
+        public double latitude;
+        public double longitude;
+        public double distanceKm;
+    }
+
+    /** 영역 내 인기 장소 조회 결과 (GET /api/itinerary-items/popular-places) */
+    public static class PopularPlacesResp {
+        public boolean ready;
+        public List<PopularPlace> places; // 방문한 여행 수가 많은 순
+    }
 
+    public static class PopularPlace {
+        public String placeId;
+        public String title; // 대표 일정 제목
+        public double latitude;
+        public double longitude;
+        public int trips; // 이 장소를 일정에 넣은 여행 수
+        public int items; // 이 장소의 일정 항목 수 (같은 여행에서 여러 번 방문 포함)
+    }
+}
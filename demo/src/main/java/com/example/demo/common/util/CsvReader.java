@@ -0,0 +1,101 @@
+package com.example.demo.common.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍 CSV 읽기 (RFC 4180)
+ * - 한 번에 한 행만 메모리에 올림 (파일 전체를 읽지 않음)
+ * - 큰따옴표로 감싼 필드 안의 쉼표/줄바꿈, "" 이스케이프 지원
+ * - 줄 끝은 \n, \r\n 모두 허용, 첫 글자의 UTF-8 BOM은 무시
+ */
+public final class CsvReader {
+
+    private final Reader reader;
+    private int peeked = -2;
+    private long line = 1;
+    private boolean started;
+
+    /** @param reader 버퍼링된 Reader 권장 (한 글자씩 읽음) */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /** 다음 행이 시작되는 줄 번호 (1부터, 따옴표 안 줄바꿈 포함) */
+    public long line() {
+        return line;
+    }
+
+    /**
+     * 다음 행 읽기
+     *
+     * @return 필드 목록 (빈 필드는 빈 문자열), 파일 끝이면 null
+     * @throws IllegalArgumentException 따옴표가 닫히지 않은 경우
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException(line + "번째 줄: 큰따옴표가 닫히지 않았습니다.");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c != -1) line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = reader.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.common.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 시간 감쇠 상위 K 집계 (Space-Saving + 지수 감쇠)
+ * - 최대 capacity개의 키만 기억: 새 키가 들어왔는데 꽉 차 있으면 가장 작은 키를 내보내고
+ *   그 값을 이어받음 (이어받은 값은 error로 기록 → 실제 값은 score - error 이상 score 이하)
+ * - 감쇠: 시각 t의 1회 = exp((t - t0) / tau) 만큼 더하고(forward decay), 조회 시 exp(-(now - t0) / tau)를 곱함
+ *   → 반감기(halfLife)마다 과거 기록의 비중이 절반이 되며, 기존 값을 매번 갱신할 필요가 없음
+ * - 가중치가 너무 커지면 기준 시각 t0를 옮기고 저장된 값을 한 번에 다시 계산
+ * - 스레드 안전 (모든 메서드 synchronized)
+ */
+public final class DecayingTopK {
+
+    /** 기준 시각을 옮기는 가중치 상한 */
+    private static final double RESCALE_THRESHOLD = 1e12;
+
+    private final int capacity;
+    private final double tauMillis;
+    private long landmarkMillis;
+    private long sequence;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+    /** 값 오름차순 (가장 작은 키를 바로 찾기 위함) */
+    private TreeSet<Counter> byScore = newOrder();
+
+    /** 조회 결과 1건 */
+    public static final class Entry {
+        public final String key;
+        public final double score; // 감쇠된 추정 값 (실제 값 이상)
+        public final double error; // 최대 과대 추정 폭
+
+        Entry(String key, double score, double error) {
+            this.key = key;
+            this.score = score;
+            this.error = error;
+        }
+    }
+
+    private static final class Counter {
+        final String key;
+        double weight;
+        double error;
+        long seq;
+
+        Counter(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * @param capacity 기억하는 최대 키 수 (조회할 K보다 충분히 크게, 예: K의 10배 이상)
+     * @param halfLifeMillis 반감기 (ms)
+     * @param nowMillis 기준 시각
+     */
+    public DecayingTopK(int capacity, long halfLifeMillis, long nowMillis) {
+        if (capacity < 1 || halfLifeMillis < 1) {
+            throw new IllegalArgumentException("capacity와 halfLifeMillis는 1 이상이어야 합니다.");
+        }
+        this.capacity = capacity;
+        this.tauMillis = halfLifeMillis / Math.log(2);
+        this.landmarkMillis = nowMillis;
+    }
+
+    /** 키 1회 기록 (null은 무시, 과거 시각도 가능) */
+    public synchronized void add(String key, long atMillis) {
+        if (key == null) {
+            return;
+        }
+        double w = Math.exp((atMillis - landmarkMillis) / tauMillis);
+        if (w > RESCALE_THRESHOLD) {
+            rescale(atMillis);
+            w = 1.0;
+        }
+        Counter c = counters.get(key);
+        if (c != null) {
+            byScore.remove(c);
+            c.weight += w;
+        } else if (counters.size() < capacity) {
+            c = new Counter(key);
+            c.weight = w;
+            counters.put(key, c);
+        } else {
+            Counter min = byScore.pollFirst();
+            counters.remove(min.key);
+            c = new Counter(key);
+            c.weight = min.weight + w;
+            c.error = min.weight;
+            counters.put(key, c);
+        }
+        c.seq = sequence++;
+        byScore.add(c);
+    }
+
+    /** 감쇠된 값 기준 상위 k개 (큰 순) */
+    public synchronized List<Entry> top(int k, long nowMillis) {
+        double decay = Math.exp(-(nowMillis - landmarkMillis) / tauMillis);
+        List<Entry> out = new ArrayList<>(Math.min(k, counters.size()));
+        Iterator<Counter> it = byScore.descendingIterator();
+        while (it.hasNext() && out.size() < k) {
+            Counter c = it.next();
+            out.add(new Entry(c.key, c.weight * decay, c.error * decay));
+        }
+        return out;
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+
+    /** 기준 시각을 newLandmark로 옮기고 저장된 값을 같은 비율로 줄임 (순서는 유지되지만 동률이 생길 수 있어 정렬을 다시 만듦) */
+    private void rescale(long newLandmark) {
+        double factor = Math.exp(-(newLandmark - landmarkMillis) / tauMillis);
+        landmarkMillis = newLandmark;
+        TreeSet<Counter> rebuilt = newOrder();
+        for (Counter c : counters.values()) {
+            c.weight *= factor;
+            c.error *= factor;
+            rebuilt.add(c);
+        }
+        byScore = rebuilt;
+    }
+
+    private static TreeSet<Counter> newOrder() {
+        return new TreeSet<>(Comparator.<Counter>comparingDouble(c -> c.weight).thenComparingLong(c -> c.seq));
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.common.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * 조건부 GET(If-None-Match)용 강한 ETag 생성
+ * - 여행의 content_version은 여행/일차/일정 항목 중 무엇이든 바뀌면 증가하므로
+ *   (리소스 종류, ID, 버전) 조합만으로 응답 내용이 같은지 판단할 수 있습니다.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param kind 리소스 종류 (예: "trip", "days", "items") - URL별로 ETag가 섞이지 않도록 구분
+     * @return 따옴표로 감싼 강한 ETag (예: "trip-12-v5")
+     */
+    public static String of(String kind, Long id, long version) {
+        return "\"" + kind + "-" + id + "-v" + version + "\"";
+    }
+
+    /**
+     * 조건부 GET 처리
+     * - Cache-Control: private, no-cache → 브라우저가 응답을 저장하되 매번 If-None-Match로 재검증
+     *   (Spring Security 기본 no-store 헤더는 이미 설정된 Cache-Control이 있으면 덮어쓰지 않음)
+     * - ETag 응답 헤더는 checkNotModified가 설정
+     *
+     * @return true면 304로 처리되었으므로 본문 없이 null 반환
+     */
+    public static boolean notModified(ServletWebRequest request, String kind, Long id, long version) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        return request.checkNotModified(of(kind, id, version));
+    }
+}
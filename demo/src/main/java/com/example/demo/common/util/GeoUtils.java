@@ -0,0 +1,31 @@
+package com.example.demo.common.util;
+
+/**
+ * 좌표 계산 유틸리티
+ * - 여러 컨트롤러/서비스에서 공통으로 사용하는 거리 계산을 모아둡니다.
+ */
+public final class GeoUtils {
+
+    /** 지구 반지름 (km) */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Haversine 공식으로 두 지점 간 직선 거리 계산 (반올림 없음)
+     *
+     * @return 거리 (km)
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                   Math.sin(dLon / 2) * Math.sin(dLon / 2);
+
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.demo.common.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 일정 항목 정렬용 문자열 순위(rank)
+ * - 순위는 0~9, a~z(36진수) 소수부로 해석되는 문자열이며, 문자열 비교 순서 = 정렬 순서입니다.
+ *   (대문자를 쓰지 않으므로 DB 로케일 정렬(collation)에서도 순서가 바뀌지 않음)
+ * - 두 순위 사이에는 항상 새 순위를 만들 수 있어, 항목 하나를 끼워 넣거나 옮길 때 그 행만 갱신하면 됩니다.
+ * - 만들어지는 순위는 끝자리가 '0'이 아니므로 항상 두 순위 사이에 여유가 있습니다.
+ * - 같은 틈에 계속 끼워 넣으면 순위가 길어지므로, reassign 결과가 REBALANCE_LENGTH를 넘으면 전체를 다시 고르게 배치합니다.
+ */
+public final class LexoRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    /** 이 길이를 넘는 순위가 생기면 전체를 sequence()로 다시 배치 (order_rank 컬럼 길이 64의 절반) */
+    public static final int REBALANCE_LENGTH = 32;
+
+    private LexoRank() {
+    }
+
+    /**
+     * lo와 hi 사이의 순위 하나
+     *
+     * @param lo 앞 순위 (null이면 맨 앞)
+     * @param hi 뒤 순위 (null이면 맨 뒤)
+     * @throws IllegalArgumentException lo >= hi 이거나 허용되지 않는 문자가 있는 경우
+     */
+    public static String between(String lo, String hi) {
+        String low = lo == null ? "" : lo;
+        if (hi != null && low.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("순위 범위가 잘못되었습니다: " + lo + " ~ " + hi);
+        }
+        StringBuilder sb = new StringBuilder();
+        boolean upperOpen = hi == null;
+        for (int i = 0; ; i++) {
+            int dl = i < low.length() ? digit(low.charAt(i)) : 0;
+            int dh = upperOpen ? BASE : (i < hi.length() ? digit(hi.charAt(i)) : 0);
+            if (dl == dh) {
+                sb.append(DIGITS.charAt(dl));
+                continue;
+            }
+            if (dh - dl > 1) {
+                sb.append(DIGITS.charAt((dl + dh) / 2));
+                return sb.toString();
+            }
+            // 인접한 자리: 앞 순위 자리를 그대로 두고 다음 자리부터는 위쪽 제한 없음
+            sb.append(DIGITS.charAt(dl));
+            upperOpen = true;
+        }
+    }
+
+    /**
+     * lo와 hi 사이에 고르게 분포한 순위 count개 (오름차순)
+     * - 가운데를 먼저 정하고 양쪽을 나눠 채우므로 길이는 log(count) 수준으로만 늘어남
+     */
+    public static List<String> between(String lo, String hi, int count) {
+        List<String> out = new ArrayList<>(Math.max(0, count));
+        fill(lo, hi, count, out);
+        return out;
+    }
+
+    /** 빈 목록에 처음 넣는 count개 순위 (고정 길이로 고르게 배치) */
+    public static List<String> sequence(int count) {
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        int width = 1;
+        long space = BASE;
+        while (space <= count) {
+            width++;
+            space *= BASE;
+        }
+        List<String> out = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            long value = space * i / (count + 1);
+            char[] chars = new char[width];
+            for (int p = width - 1; p >= 0; p--) {
+                chars[p] = DIGITS.charAt((int) (value % BASE));
+                value /= BASE;
+            }
+            out.add(stripTrailingZeros(new String(chars)));
+        }
+        return out;
+    }
+
+    /**
+     * 원하는 순서로 나열된 기존 순위를 최소한으로 고쳐 오름차순으로 만듦
+     * - 이미 오름차순인 가장 긴 부분 수열(LIS)은 그대로 두고, 나머지 자리만 이웃 사이의 새 순위로 교체
+     * - 결과에 REBALANCE_LENGTH보다 긴 순위가 있으면 전체를 sequence(n)으로 다시 배치 (모든 자리가 갱신 대상)
+     *
+     * @param ranks 새 순서대로 나열한 현재 순위 (null = 순위 없음)
+     * @return 같은 길이의 새 순위 목록 (값이 바뀐 자리만 갱신 대상)
+     */
+    public static List<String> reassign(List<String> ranks) {
+        int n = ranks.size();
+        boolean[] keep = longestIncreasing(ranks);
+        List<String> out = new ArrayList<>(ranks);
+        int i = 0;
+        while (i < n) {
+            if (keep[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n && !keep[i]) {
+                i++;
+            }
+            String lo = start > 0 ? out.get(start - 1) : null;
+            String hi = i < n ? out.get(i) : null;
+            List<String> fresh = between(lo, hi, i - start);
+            for (int k = 0; k < fresh.size(); k++) {
+                out.set(start + k, fresh.get(k));
+            }
+        }
+        for (String rank : out) {
+            if (rank.length() > REBALANCE_LENGTH) {
+                return sequence(n);
+            }
+        }
+        return out;
+    }
+
+    /** 순위가 있는 자리 중 엄격히 증가하는 가장 긴 부분 수열 표시 (O(n log n)) */
+    private static boolean[] longestIncreasing(List<String> ranks) {
+        int n = ranks.size();
+        int[] tails = new int[n];
+        int[] prev = new int[n];
+        Arrays.fill(prev, -1);
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            String r = ranks.get(i);
+            if (r == null) continue;
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (ranks.get(tails[mid]).compareTo(r) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            prev[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = prev[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+
+    private static void fill(String lo, String hi, int count, List<String> out) {
+        if (count <= 0) {
+            return;
+        }
+        String mid = between(lo, hi);
+        int left = (count - 1) / 2;
+        fill(lo, mid, left, out);
+        out.add(mid);
+        fill(mid, hi, count - 1 - left, out);
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("허용되지 않는 순위 문자입니다: " + c);
+        }
+        return d;
+    }
+
+    private static String stripTrailingZeros(String s) {
+        int end = s.length();
+        while (end > 1 && s.charAt(end - 1) == '0') {
+            end--;
+        }
+        return s.substring(0, end);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.common.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션용 불투명 커서
+ * - 마지막으로 반환한 행의 ID를 Base64(URL-safe)로 감싸 클라이언트가 내부 구조에 의존하지 않도록 합니다.
+ * - 형식 버전 접두어("v1:")를 두어 정렬 키가 바뀌어도 이전 커서를 구분할 수 있게 합니다.
+ */
+public final class PageCursor {
+
+    private static final String PREFIX = "v1:";
+
+    private PageCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 커서가 가리키는 마지막 ID (커서가 비어 있으면 null)
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException, Base64 디코딩 오류 포함
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
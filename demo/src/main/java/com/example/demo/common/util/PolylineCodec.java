@@ -0,0 +1,158 @@
+package com.example.demo.common.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Google Encoded Polyline 인코딩/디코딩 및 단순화
+ * - 인코딩 형식 자체가 좌표를 1e-5 정밀도의 차분값으로 압축한 문자열입니다.
+ * - 저장 전에 Douglas-Peucker 단순화로 화면상 차이가 없는 점들을 제거하여 크기를 더 줄입니다.
+ */
+public final class PolylineCodec {
+
+    /** 저장 시 기본 단순화 허용 오차 (m) - 지도 확대 시에도 도로에서 벗어나 보이지 않는 수준 */
+    public static final double DEFAULT_TOLERANCE_METERS = 5.0;
+
+    private PolylineCodec() {
+    }
+
+    /**
+     * 인코딩된 폴리라인을 단순화하여 다시 인코딩
+     *
+     * @param encoded Google Encoded Polyline
+     * @param toleranceMeters 허용 오차 (m)
+     * @return 단순화된 Encoded Polyline (입력이 비어 있으면 null)
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static String compress(String encoded, double toleranceMeters) {
+        if (encoded == null || encoded.isBlank()) {
+            return null;
+        }
+        return encode(simplify(decode(encoded.trim()), toleranceMeters));
+    }
+
+    /** Encoded Polyline → [위도, 경도] 목록 */
+    public static List<double[]> decode(String encoded) {
+        List<double[]> points = new ArrayList<>();
+        int index = 0;
+        int lat = 0;
+        int lng = 0;
+        while (index < encoded.length()) {
+            int[] result = decodeValue(encoded, index);
+            lat += result[0];
+            index = result[1];
+            if (index >= encoded.length()) {
+                throw new IllegalArgumentException("잘못된 폴리라인 형식입니다.");
+            }
+            result = decodeValue(encoded, index);
+            lng += result[0];
+            index = result[1];
+            points.add(new double[]{lat / 1e5, lng / 1e5});
+        }
+        return points;
+    }
+
+    /** [위도, 경도] 목록 → Encoded Polyline */
+    public static String encode(List<double[]> points) {
+        StringBuilder sb = new StringBuilder();
+        long prevLat = 0;
+        long prevLng = 0;
+        for (double[] p : points) {
+            long lat = Math.round(p[0] * 1e5);
+            long lng = Math.round(p[1] * 1e5);
+            encodeValue(lat - prevLat, sb);
+            encodeValue(lng - prevLng, sb);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Douglas-Peucker 단순화 (시작점/끝점은 항상 유지)
+     */
+    public static List<double[]> simplify(List<double[]> points, double toleranceMeters) {
+        if (points.size() < 3 || toleranceMeters <= 0) {
+            return points;
+        }
+        boolean[] keep = new boolean[points.size()];
+        keep[0] = true;
+        keep[points.size() - 1] = true;
+        simplifyRange(points, 0, points.size() - 1, toleranceMeters, keep);
+        List<double[]> result = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            if (keep[i]) result.add(points.get(i));
+        }
+        return result;
+    }
+
+    private static void simplifyRange(List<double[]> points, int first, int last, double tolerance, boolean[] keep) {
+        // 재귀 대신 명시적 스택 사용 (긴 경로에서 StackOverflow 방지)
+        ArrayDeque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{first, last});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int start = range[0];
+            int end = range[1];
+            double maxDistance = 0;
+            int index = -1;
+            for (int i = start + 1; i < end; i++) {
+                double d = perpendicularMeters(points.get(i), points.get(start), points.get(end));
+                if (d > maxDistance) {
+                    maxDistance = d;
+                    index = i;
+                }
+            }
+            if (index >= 0 && maxDistance > tolerance) {
+                keep[index] = true;
+                stack.push(new int[]{start, index});
+                stack.push(new int[]{index, end});
+            }
+        }
+    }
+
+    /** 점 p와 선분 a-b 사이의 거리 (m, 짧은 구간이므로 평면 근사) */
+    private static double perpendicularMeters(double[] p, double[] a, double[] b) {
+        double cosLat = Math.cos(Math.toRadians(a[0]));
+        double mPerDeg = Math.toRadians(GeoUtils.EARTH_RADIUS_KM * 1000.0);
+        double ax = a[1] * cosLat * mPerDeg, ay = a[0] * mPerDeg;
+        double bx = b[1] * cosLat * mPerDeg, by = b[0] * mPerDeg;
+        double px = p[1] * cosLat * mPerDeg, py = p[0] * mPerDeg;
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lenSq = dx * dx + dy * dy;
+        double t = lenSq == 0 ? 0 : Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lenSq));
+        double cx = ax + t * dx;
+        double cy = ay + t * dy;
+        return Math.hypot(px - cx, py - cy);
+    }
+
+    private static int[] decodeValue(String encoded, int index) {
+        int result = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (index >= encoded.length()) {
+                throw new IllegalArgumentException("잘못된 폴리라인 형식입니다.");
+            }
+            b = encoded.charAt(index++) - 63;
+            if (b < 0 || b > 63) {
+                throw new IllegalArgumentException("잘못된 폴리라인 형식입니다.");
+            }
+            result |= (b & 0x1f) << shift;
+            shift += 5;
+        } while (b >= 0x20 && shift < 32);
+        int value = (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+        return new int[]{value, index};
+    }
+
+    private static void encodeValue(long value, StringBuilder sb) {
+        long v = value < 0 ? ~(value << 1) : (value << 1);
+        while (v >= 0x20) {
+            sb.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>= 5;
+        }
+        sb.append((char) (v + 63));
+    }
+}
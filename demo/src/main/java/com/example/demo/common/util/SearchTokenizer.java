@@ -0,0 +1,81 @@
+package com.example.demo.common.util;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인/질의용 토큰 분리
+ * - NFKC 정규화 + 소문자 변환 (전각/반각, 대소문자 차이 제거)
+ * - 영문/숫자: 연속된 글자를 단어 하나로 (예: "Osaka Cafe" → osaka, cafe)
+ * - 한글/한자/가나: 띄어쓰기와 조사 때문에 단어 경계가 불분명하므로 2글자씩 겹쳐 자름 (bigram)
+ *   (예: "오사카성" → 오사, 사카, 카성 / 한 글자뿐이면 그 글자 그대로)
+ * - 질의도 같은 방식으로 자르므로, 질의의 모든 토큰을 포함하는 문서 = 질의 문자열을 포함할 가능성이 높은 문서
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /** 텍스트의 토큰 집합 (중복 제거, 등장 순서 유지) */
+    public static Set<String> tokens(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        addTokens(text, out);
+        return out;
+    }
+
+    /** 텍스트의 토큰을 out에 추가 (null/빈 문자열은 무시) */
+    public static void addTokens(String text, Set<String> out) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        int prevCjk = -1;
+        boolean cjkRunSingle = false;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (isCjk(cp)) {
+                flushWord(word, out);
+                if (prevCjk >= 0) {
+                    out.add(new StringBuilder().appendCodePoint(prevCjk).appendCodePoint(cp).toString());
+                    cjkRunSingle = false;
+                } else {
+                    cjkRunSingle = true;
+                }
+                prevCjk = cp;
+            } else {
+                if (prevCjk >= 0 && cjkRunSingle) {
+                    out.add(new String(Character.toChars(prevCjk)));
+                }
+                prevCjk = -1;
+                if (Character.isLetterOrDigit(cp)) {
+                    word.appendCodePoint(cp);
+                } else {
+                    flushWord(word, out);
+                }
+            }
+        }
+        if (prevCjk >= 0 && cjkRunSingle) {
+            out.add(new String(Character.toChars(prevCjk)));
+        }
+        flushWord(word, out);
+    }
+
+    private static void flushWord(StringBuilder word, Set<String> out) {
+        if (word.length() > 0) {
+            out.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
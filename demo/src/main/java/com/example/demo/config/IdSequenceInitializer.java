@@ -0,0 +1,59 @@
+package com.example.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * trips / trip_days / trip_itinerary_items ID 시퀀스 정렬
+ * - 기존 테이블은 IDENTITY(자동 증가)로 ID를 발급해 왔으므로, 시퀀스 방식으로 바꾼 뒤
+ *   새 시퀀스가 이미 사용된 ID를 다시 발급하지 않도록 시작 시 시퀀스를 MAX(id) 이상으로 맞춥니다.
+ * - pooled 방식(allocationSize = 50)은 nextval 값을 묶음의 마지막 ID로 쓰므로, setval(MAX(id))이면
+ *   다음 묶음은 MAX(id) + 1부터 시작
+ * - @DependsOn("entityManagerFactory"): ddl-auto가 시퀀스를 만든 뒤에 실행되도록 순서 보장
+ * - PostgreSQL에서만 실행 (테스트용 H2 등은 빈 테이블로 시작하므로 불필요)
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    /** 테이블명 → 시퀀스명 (엔티티의 @SequenceGenerator와 동일하게 유지) */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "trips", "trips_seq",
+            "trip_days", "trip_days_seq",
+            "trip_itinerary_items", "trip_itinerary_items_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            if (product == null || !product.toLowerCase().contains("postgres")) {
+                return;
+            }
+            for (Map.Entry<String, String> e : SEQUENCES.entrySet()) {
+                String table = e.getKey();
+                String sequence = e.getValue();
+                Long value = jdbcTemplate.queryForObject(
+                        "SELECT CASE WHEN m.max_id > s.last_value THEN setval('" + sequence + "', m.max_id) ELSE s.last_value END "
+                                + "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table + ") m, " + sequence + " s",
+                        Long.class);
+                System.out.println("🔢 ID 시퀀스 확인 - " + sequence + " = " + value);
+            }
+        } catch (Exception e) {
+            // 시퀀스 정렬 실패 시에도 애플리케이션은 시작 (INSERT 시 PK 충돌로 드러남)
+            System.err.println("❌ ID 시퀀스 정렬 실패: " + e.getMessage());
+        }
+    }
+}
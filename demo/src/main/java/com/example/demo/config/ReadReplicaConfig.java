@@ -0,0 +1,90 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * 읽기 전용 복제본 라우팅 설정 (datasource.replica.enabled=true일 때만)
+ * - 주 DB 풀(spring.datasource.*)과 복제본 풀(datasource.replica.*)을 따로 만들고
+ *   ReadWriteRoutingDataSource로 읽기 전용 트랜잭션만 복제본에 보냄 → 대시보드/내보내기 조회가 저장 커넥션을 잡지 않음
+ * - JPA/JdbcTemplate이 쓰는 기본 DataSource는 LazyConnectionDataSourceProxy
+ *   (트랜잭션 시작 시점이 아니라 첫 SQL 실행 시점에 커넥션을 꺼내므로 readOnly 여부가 이미 정해져 있음)
+ * - datasource.read-your-writes-seconds > 0이면 쓰기 요청 후 그 시간 동안 같은 클라이언트의 읽기는 주 DB
+ * - 로컬 테스트: PostgreSQL 두 개(예: 5432 주 DB, 5433 스트리밍 복제본)를 띄우고 datasource.replica.url만 지정
+ * - 비활성화 시에는 이 설정 전체가 빠지고 Spring Boot 기본 DataSource 하나만 사용
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource ds = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        ds.setPoolName("primary");
+        return ds;
+    }
+
+    /**
+     * 복제본 풀 (계정 정보를 비워두면 주 DB와 같은 계정 사용)
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:}") String username,
+                                              @Value("${datasource.replica.password:}") String password) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("replica");
+        ds.setDriverClassName(properties.determineDriverClassName());
+        ds.setJdbcUrl(url);
+        ds.setUsername(username.isBlank() ? properties.determineUsername() : username);
+        ds.setPassword(password.isBlank() ? properties.determinePassword() : password);
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primary,
+                ReadWriteRoutingDataSource.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        // 기본값을 지정해 두면 시작 시 기본값 확인용 커넥션을 미리 꺼내지 않음 (PostgreSQL 기본값)
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        System.out.println("✅ 읽기 전용 복제본 라우팅 활성화 - 읽기 전용 트랜잭션은 복제본 풀 사용");
+        return proxy;
+    }
+
+    /** 쓴 직후 읽기 고정 필터 (0이면 등록만 하고 비활성화) */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${datasource.read-your-writes-seconds:5}") long seconds) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(seconds * 1000));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(seconds > 0);
+        return registration;
+    }
+}
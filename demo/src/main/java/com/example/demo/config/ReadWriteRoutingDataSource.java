@@ -0,0 +1,37 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅
+ * - 읽기 전용 트랜잭션(@Transactional(readOnly = true), 읽기 전용 TransactionTemplate) → 복제본
+ * - 그 외(쓰기 트랜잭션, 트랜잭션 밖 조회) → 주 DB
+ * - 현재 요청이 주 DB로 고정된 경우(ReadYourWritesFilter: 방금 저장한 사용자)에는 읽기 전용이어도 주 DB
+ * - 트랜잭션의 읽기 전용 여부는 커넥션을 실제로 꺼낼 때 판단해야 하므로
+ *   반드시 LazyConnectionDataSourceProxy로 감싸서 사용 (ReadReplicaConfig)
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    /** 현재 스레드(요청)의 읽기를 주 DB로 고정 */
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    public static void pinPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpinPrimary() {
+        PRIMARY_PINNED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_PINNED.get() == null) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
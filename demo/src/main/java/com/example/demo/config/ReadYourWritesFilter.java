@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 쓴 직후 읽기는 주 DB에서 (read-your-writes)
+ * - 쓰기 요청(POST/PUT/PATCH/DELETE)을 보낸 클라이언트에 "이 시각까지 주 DB" 쿠키를 내려줌
+ * - 쿠키 시각이 지나지 않은 요청은 읽기 전용 트랜잭션도 주 DB로 고정 → 복제 지연 중에 방금 저장한 내용이 안 보이는 문제 방지
+ * - 쿠키로 전달하므로 서버 여러 대에서도 동작 (서버 쪽 상태 없음)
+ * - 프론트엔드(다른 포트)에서 API 서버를 직접 호출하는 fetch는 credentials: 'include'로 보내야 쿠키가 저장·전송됨
+ *   (SecurityConfig CORS의 allowCredentials와 짝)
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "rw_primary_until";
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = isWrite(request.getMethod());
+        if (write) {
+            // 응답 본문을 쓰기 시작하면 헤더를 추가할 수 없으므로 처리 전에 설정 (실패한 쓰기도 잠깐 주 DB로 읽을 뿐)
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + windowMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        if (!write && !pinnedUntilAfter(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReadWriteRoutingDataSource.pinPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.unpinPrimary();
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    private static boolean pinnedUntilAfter(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > now;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -18,15 +18,22 @@ import java.util.List;
  * @Table: 매핑할 테이블명 지정 (name = "trips")
  */
 @Entity
-@Table(name = "trips")
+@Table(name = "trips", indexes = {
+        // 목록 키셋 페이지네이션(사용자별 id 순) 및 기간/상태 필터용
+        @Index(name = "idx_trips_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_trips_start_date", columnList = "start_date"),
+        @Index(name = "idx_trips_end_date", columnList = "end_date")
+})
 public class Trip {
     /**
      * @Id: 기본키(Primary Key) 필드 지정
      * @GeneratedValue: 자동 생성 전략 설정
-     * strategy = GenerationType.IDENTITY: DB의 AUTO_INCREMENT 사용
+     * strategy = GenerationType.SEQUENCE: DB 시퀀스(trips_seq)에서 ID를 미리 할당
+     * allocationSize = 50: 시퀀스 1회 조회로 ID 50개를 확보 (INSERT마다 ID를 되돌려받지 않으므로 JDBC 배치 INSERT 가능)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trips_seq")
+    @SequenceGenerator(name = "trips_seq", sequenceName = "trips_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -88,6 +95,26 @@ public class Trip {
     @Column(length = 20)
     private String status = "planning";
 
+    /**
+     * 일차 수 / 전체 일정 항목 수 (비정규화 카운터)
+     * - 목록/대시보드 조회 시 COUNT 서브쿼리 대신 사용
+     * - updatable = false: 엔티티 저장 시 덮어쓰지 않고, TripRepository.adjustCounts(원자적 증감)로만 갱신
+     * - 어긋난 값은 TripCounterRepairJob이 주기적으로 재계산
+     */
+    @Column(name = "days_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer daysCount = 0;
+
+    @Column(name = "items_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer itemsCount = 0;
+
+    /**
+     * 콘텐츠 버전 (여행/일차/일정 항목 중 무엇이든 바뀌면 1 증가)
+     * - 상세 캐시 키(trip:detail:{id}:{version})에 사용
+     * - updatable = false: TripRepository.bumpVersion(원자적 증가)으로만 갱신
+     */
+    @Column(name = "content_version", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long contentVersion = 0L;
+
     /** 여행 계획 생성 시각 (자동 설정) */
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
@@ -150,6 +177,11 @@ public class Trip {
     public void setDestinationLat(BigDecimal destinationLat) { this.destinationLat = destinationLat; }
     public BigDecimal getDestinationLng() { return destinationLng; }
     public void setDestinationLng(BigDecimal destinationLng) { this.destinationLng = destinationLng; }
+    public Integer getDaysCount() { return daysCount; }
+    public void setDaysCount(Integer daysCount) { this.daysCount = daysCount; }
+    public Integer getItemsCount() { return itemsCount; }
+    public void setItemsCount(Integer itemsCount) { this.itemsCount = itemsCount; }
+    public Long getContentVersion() { return contentVersion; }
     public List<TripDay> getTripDays() { return tripDays; }
     public void setTripDays(List<TripDay> tripDays) { this.tripDays = tripDays; }
 }
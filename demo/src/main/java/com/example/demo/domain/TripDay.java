@@ -22,10 +22,12 @@ public class TripDay {
     /**
      * @Id: 기본키(Primary Key) 필드 지정
      * @GeneratedValue: 자동 생성 전략 설정
-     * strategy = GenerationType.IDENTITY: DB의 AUTO_INCREMENT 사용
+     * strategy = GenerationType.SEQUENCE: DB 시퀀스(trip_days_seq)에서 ID를 미리 할당
+     * allocationSize = 50: 시퀀스 1회 조회로 ID 50개를 확보 (INSERT마다 ID를 되돌려받지 않으므로 JDBC 배치 INSERT 가능)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trip_days_seq")
+    @SequenceGenerator(name = "trip_days_seq", sequenceName = "trip_days_seq", allocationSize = 50)
     private Long id;
 
     /**
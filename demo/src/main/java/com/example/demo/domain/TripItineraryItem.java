@@ -15,15 +15,20 @@ import java.time.LocalTime;
  * @Table: 매핑할 테이블명 지정 (name = "trip_itinerary_items")
  */
 @Entity
-@Table(name = "trip_itinerary_items")
+@Table(name = "trip_itinerary_items", indexes = {
+        // 일차별 순서 조회용
+        @Index(name = "idx_trip_itinerary_items_day_rank", columnList = "trip_day_id, order_rank")
+})
 public class TripItineraryItem {
     /**
      * @Id: 기본키(Primary Key) 필드 지정
      * @GeneratedValue: 자동 생성 전략 설정
-     * strategy = GenerationType.IDENTITY: DB의 AUTO_INCREMENT 사용
+     * strategy = GenerationType.SEQUENCE: DB 시퀀스(trip_itinerary_items_seq)에서 ID를 미리 할당
+     * allocationSize = 50: 시퀀스 1회 조회로 ID 50개를 확보 (INSERT마다 ID를 되돌려받지 않으므로 JDBC 배치 INSERT 가능)
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trip_itinerary_items_seq")
+    @SequenceGenerator(name = "trip_itinerary_items_seq", sequenceName = "trip_itinerary_items_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -97,10 +102,28 @@ public class TripItineraryItem {
     @Column(name = "travel_to_next_mode", length = 20)
     private String travelToNextMode;
 
-    /** 일정 순서 (같은 일차 내에서의 순서) */
+    /**
+     * 다음 장소까지의 경로 형상 (Google Encoded Polyline, 단순화 후 저장)
+     * - 저장된 경로를 그대로 그려서 상세 조회 시 경로 재계산이 필요 없도록 합니다.
+     */
+    @Column(name = "travel_to_next_polyline", columnDefinition = "TEXT")
+    private String travelToNextPolyline;
+
+    /**
+     * 일정 순서 번호 (같은 일차 내 1부터, 저장 당시 위치)
+     * - 실제 정렬 기준은 orderRank이며, 응답의 orderSequence는 조회 시 정렬된 위치로 다시 매김
+     */
     @Column(name = "order_sequence", nullable = false)
     private Integer orderSequence;
 
+    /**
+     * 일차 내 정렬 순위 (LexoRank 문자열, 사전순 = 일정 순서)
+     * - 항목을 끼워 넣거나 옮길 때 이웃 사이의 순위를 새로 만들어 해당 행만 갱신
+     * - 순위가 없는 기존 행은 ItineraryRankBackfill이 시작 시 채움 (그 전까지는 orderSequence로 정렬)
+     */
+    @Column(name = "order_rank", length = 64)
+    private String orderRank;
+
     public Long getId() { return id; }
     public TripDay getTripDay() { return tripDay; }
     public void setTripDay(TripDay tripDay) { this.tripDay = tripDay; }
@@ -132,8 +155,12 @@ public class TripItineraryItem {
     public void setTravelToNextDurationMinutes(Integer travelToNextDurationMinutes) { this.travelToNextDurationMinutes = travelToNextDurationMinutes; }
     public String getTravelToNextMode() { return travelToNextMode; }
     public void setTravelToNextMode(String travelToNextMode) { this.travelToNextMode = travelToNextMode; }
+    public String getTravelToNextPolyline() { return travelToNextPolyline; }
+    public void setTravelToNextPolyline(String travelToNextPolyline) { this.travelToNextPolyline = travelToNextPolyline; }
     public Integer getOrderSequence() { return orderSequence; }
     public void setOrderSequence(Integer orderSequence) { this.orderSequence = orderSequence; }
+    public String getOrderRank() { return orderRank; }
+    public void setOrderRank(String orderRank) { this.orderRank = orderRank; }
 }
 
 
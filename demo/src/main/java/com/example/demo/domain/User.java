@@ -6,7 +6,10 @@ package com.example.demo.domain;
  * - 한 사용자는 여러 개의 여행(Trip)을 가질 수 있습니다.
  */
 
+import com.example.demo.service.UserCacheListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,10 +17,21 @@ import java.util.List;
 /**
  * @Entity: JPA 엔티티임을 표시. 데이터베이스 테이블과 매핑되는 클래스
  * @Table: 매핑할 테이블명 지정 (name = "users")
+ * @Cacheable / @Cache: Hibernate 2차 캐시 대상 (READ_WRITE, 로컬 Caffeine 힙 캐시)
+ * @EntityListeners: 저장/수정/삭제 후 다른 서버의 캐시 무효화 (UserCacheSync)
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@EntityListeners(UserCacheListener.class)
 public class User {
+    /** 2차 캐시 영역 (PK 조회 - findById, getReferenceById 후 접근 등) */
+    public static final String CACHE_REGION = "users";
+
+    /** 쿼리 캐시 영역 (이메일/소셜 계정으로 사용자 조회) */
+    public static final String LOOKUP_CACHE_REGION = "user-lookup";
+
     /**
      * @Id: 기본키(Primary Key) 필드 지정
      * @GeneratedValue: 자동 생성 전략 설정
@@ -2,9 +2,16 @@ package com.example.demo.repository;
 
 import com.example.demo.domain.TripDay;
 import com.example.demo.domain.Trip;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * TripDay 엔티티를 위한 Repository 인터페이스
@@ -23,6 +30,34 @@ public interface TripDayRepository extends JpaRepository<TripDay, Long> {
      * @return 해당 여행의 일차 목록 (없으면 빈 리스트)
      */
     List<TripDay> findByTrip(Trip trip);
-}
 
+    /**
+     * 일차가 속한 여행의 콘텐츠 버전 조회 (일정 목록 ETag용, PK 조인 1회)
+     */
+    @Query("SELECT d.trip.contentVersion FROM TripDay d WHERE d.id = :dayId")
+    Optional<Long> findTripContentVersionByDayId(@Param("dayId") Long dayId);
 
+    /** 일차가 속한 여행 ID (일차 삭제 시 카운터/캐시 갱신용) */
+    @Query("SELECT d.trip.id FROM TripDay d WHERE d.id = :dayId")
+    Optional<Long> findTripIdByDayId(@Param("dayId") Long dayId);
+
+    /**
+     * 일괄 삭제 (일정 항목을 먼저 삭제한 뒤 호출, 엔티티를 읽지 않음)
+     *
+     * @return 삭제된 일차 수
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trip_days"))
+    @Query(value = "DELETE FROM trip_days WHERE id = :dayId", nativeQuery = true)
+    int bulkDeleteById(@Param("dayId") Long dayId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trip_days"))
+    @Query(value = "DELETE FROM trip_days WHERE trip_id = :tripId", nativeQuery = true)
+    int bulkDeleteByTripId(@Param("tripId") Long tripId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trip_days"))
+    @Query(value = "DELETE FROM trip_days WHERE trip_id IN (SELECT id FROM trips WHERE user_id = :userId)", nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+}
@@ -2,8 +2,15 @@ package com.example.demo.repository;
 
 import com.example.demo.domain.TripItineraryItem;
 import com.example.demo.domain.TripDay;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,15 +22,59 @@ import java.util.List;
 public interface TripItineraryItemRepository extends JpaRepository<TripItineraryItem, Long> {
     /**
      * 특정 일차의 일정 항목들을 순서대로 조회
-     * - Spring Data JPA가 메소드명을 분석하여 자동으로 쿼리 생성
-     * - findByTripDay: WHERE trip_day = ? 조건으로 SELECT 쿼리 생성
-     * - OrderByOrderSequenceAsc: order_sequence 컬럼으로 오름차순 정렬
+     * - order_rank 오름차순 (순위가 아직 없는 행은 뒤로, order_sequence 순)
      * - List<TripItineraryItem>: 여러 개의 일정 항목이 있을 수 있으므로 List로 반환
      * 
      * @param tripDay 조회할 일차 객체
      * @return 해당 일차의 일정 항목 목록 (순서대로 정렬됨, 없으면 빈 리스트)
      */
-    List<TripItineraryItem> findByTripDayOrderByOrderSequenceAsc(TripDay tripDay);
-}
+    @Query("SELECT i FROM TripItineraryItem i WHERE i.tripDay = :tripDay ORDER BY i.orderRank ASC NULLS LAST, i.orderSequence ASC, i.id ASC")
+    List<TripItineraryItem> findByTripDayOrdered(@Param("tripDay") TripDay tripDay);
+
+    /**
+     * 여러 일차의 일정 항목들을 한 번에 조회 (일차별, 순서대로 정렬)
+     * - 구간 보강 워커가 배치 단위로 구간을 만들 때 사용
+     */
+    @Query("SELECT i FROM TripItineraryItem i WHERE i.tripDay.id IN :tripDayIds "
+            + "ORDER BY i.tripDay.id ASC, i.orderRank ASC NULLS LAST, i.orderSequence ASC, i.id ASC")
+    List<TripItineraryItem> findByTripDayIdsOrdered(@Param("tripDayIds") Collection<Long> tripDayIds);
+
+    /**
+     * 특정 여행의 모든 일정 항목을 한 번에 조회 (일차 번호 → 순서 기준 정렬)
+     * - 상세 조회에서 일차별 LAZY 로딩(N+1) 대신 사용하고, 결과는 메모리에서 일차별로 묶음
+     */
+    @Query("SELECT i FROM TripItineraryItem i WHERE i.tripDay.trip.id = :tripId "
+            + "ORDER BY i.tripDay.dayNumber ASC, i.tripDay.id ASC, i.orderRank ASC NULLS LAST, i.orderSequence ASC, i.id ASC")
+    List<TripItineraryItem> findAllByTripIdOrdered(@Param("tripId") Long tripId);
 
+    /**
+     * 여러 여행의 모든 일정 항목을 한 번에 조회 (일괄 상세 조회용)
+     */
+    @Query("SELECT i FROM TripItineraryItem i WHERE i.tripDay.trip.id IN :tripIds "
+            + "ORDER BY i.tripDay.dayNumber ASC, i.tripDay.id ASC, i.orderRank ASC NULLS LAST, i.orderSequence ASC, i.id ASC")
+    List<TripItineraryItem> findAllByTripIdsOrdered(@Param("tripIds") Collection<Long> tripIds);
 
+    /**
+     * 일괄 삭제 (엔티티를 읽지 않고 DELETE 한 문장, 일차/여행/사용자 삭제 시 가장 먼저 실행)
+     *
+     * @return 삭제된 일정 수 (카운터 보정용)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trip_itinerary_items"))
+    @Query(value = "DELETE FROM trip_itinerary_items WHERE trip_day_id = :dayId", nativeQuery = true)
+    int bulkDeleteByDayId(@Param("dayId") Long dayId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trip_itinerary_items"))
+    @Query(value = "DELETE FROM trip_itinerary_items WHERE trip_day_id IN (SELECT id FROM trip_days WHERE trip_id = :tripId)",
+            nativeQuery = true)
+    int bulkDeleteByTripId(@Param("tripId") Long tripId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trip_itinerary_items"))
+    @Query(value = """
+            DELETE FROM trip_itinerary_items
+            WHERE trip_day_id IN (SELECT d.id FROM trip_days d JOIN trips t ON t.id = d.trip_id WHERE t.user_id = :userId)
+            """, nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+}
@@ -2,19 +2,28 @@ package com.example.demo.repository;
 
 import com.example.demo.domain.Trip;
 import com.example.demo.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Trip 엔티티를 위한 Repository 인터페이스
  * - JpaRepository<Trip, Long>: Trip 엔티티의 기본 CRUD 메소드 제공
+ * - JpaSpecificationExecutor<Trip>: 목록 필터/키셋 페이지네이션 조건 조합 (TripSpecifications 참고)
+ * - TripRepositoryCustom: 상세 부분 조회 (필요한 컬럼만 SELECT)
  * - Trip: 엔티티 타입
  * - Long: 기본키 타입
  */
-public interface TripRepository extends JpaRepository<Trip, Long> {
+public interface TripRepository extends JpaRepository<Trip, Long>, JpaSpecificationExecutor<Trip>, TripRepositoryCustom {
     /**
      * 특정 사용자의 여행 목록 조회
      * - Spring Data JPA가 메소드명을 분석하여 자동으로 쿼리 생성
@@ -27,49 +36,113 @@ public interface TripRepository extends JpaRepository<Trip, Long> {
     List<Trip> findByUser(User user);
 
     /**
-     * 대시보드용 간단 조회를 위한 Projection 인터페이스
-     * - trips 테이블의 기본 컬럼만 조회
+     * 여행 + 일차 목록을 한 번의 쿼리로 조회 (상세 조회용)
+     * - 일정 항목은 TripItineraryItemRepository.findAllByTripIdOrdered로 따로 한 번에 조회
+     *   (List 컬렉션 두 개를 동시에 fetch join하면 MultipleBagFetchException 발생)
      */
-    interface TripSummaryProjection {
-        Long getId();
-        String getTitle();
-        String getDestination();
-        String getDestinationPlaceId();
-        LocalDate getStartDate();
-        LocalDate getEndDate();
-        Integer getNumAdults();
-        Integer getNumChildren();
-        String getStatus();
-        Integer getDaysCount();
-        Integer getTotalItineraryItemsCount();
-    }
+    @Query("SELECT t FROM Trip t LEFT JOIN FETCH t.tripDays d WHERE t.id = :id ORDER BY d.dayNumber ASC")
+    Optional<Trip> findWithDaysById(@Param("id") Long id);
 
     /**
-     * 모든 여행 기본 정보 조회 (일수/일정 개수는 서브쿼리로 집계)
-     * - trips 테이블만 직접 조회하고, COUNT 서브쿼리만 사용하므로 MultipleBagFetchException과 무관
+     * 여러 여행 + 일차 목록을 한 번의 쿼리로 조회 (일괄 상세 조회용, 일차 번호 순)
+     */
+    @Query("SELECT t FROM Trip t LEFT JOIN FETCH t.tripDays d WHERE t.id IN :ids ORDER BY t.id ASC, d.dayNumber ASC")
+    List<Trip> findWithDaysByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 일차/일정 카운터 원자적 증감
+     * - 일차/일정 생성·삭제와 같은 트랜잭션에서 호출 (동시 수정에도 값이 유실되지 않도록 DB에서 직접 증감)
+     * - 네이티브 쓰기 쿼리는 대상 테이블(HINT_NATIVE_SPACES)을 지정해야 Hibernate가 2차 캐시 전체를 비우지 않음
+     *   (이 파일과 다른 Repository의 네이티브 @Modifying 쿼리 모두 동일)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trips"))
+    @Query(value = "UPDATE trips SET days_count = days_count + :daysDelta, items_count = items_count + :itemsDelta WHERE id = :tripId",
+            nativeQuery = true)
+    int adjustCounts(@Param("tripId") Long tripId, @Param("daysDelta") int daysDelta, @Param("itemsDelta") int itemsDelta);
+
+    /**
+     * 콘텐츠 버전 증가 (여행/일차/일정 항목 쓰기와 같은 트랜잭션에서 호출)
+     * - 상세 캐시는 버전이 키에 포함되므로, 버전이 바뀌면 이전 캐시는 더 이상 조회되지 않음
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trips"))
+    @Query(value = "UPDATE trips SET content_version = content_version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = :tripId",
+            nativeQuery = true)
+    int bumpVersion(@Param("tripId") Long tripId);
+
+    /** 사용자의 여행 ID 목록 (사용자 삭제 시 캐시 무효화용) */
+    @Query("SELECT t.id FROM Trip t WHERE t.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * 여행 일괄 삭제 (일차/일정을 먼저 삭제한 뒤 호출, 엔티티를 읽지 않음)
+     *
+     * @return 삭제된 여행 수
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trips"))
+    @Query(value = "DELETE FROM trips WHERE id = :tripId", nativeQuery = true)
+    int bulkDeleteById(@Param("tripId") Long tripId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trips"))
+    @Query(value = "DELETE FROM trips WHERE user_id = :userId", nativeQuery = true)
+    int bulkDeleteByUserId(@Param("userId") Long userId);
+
+    /** 현재 콘텐츠 버전만 조회 (PK 조회 1회, 트리 로딩 없음) */
+    @Query("SELECT t.contentVersion FROM Trip t WHERE t.id = :id")
+    Optional<Long> findContentVersionById(@Param("id") Long id);
+
+    /**
+     * 카운터가 실제 일차/일정 수와 다른 여행 ID (복구 대상 후보)
+     * - 잠금 없이 읽으므로 동시 수정 중인 여행이 포함될 수 있음 → repairCountsById에서 잠근 뒤 다시 확인
      */
     @Query(value = """
-            SELECT 
-                t.id,
-                t.title,
-                t.destination,
-                t.destination_place_id AS destinationPlaceId,
-                t.start_date AS startDate,
-                t.end_date AS endDate,
-                t.num_adults AS numAdults,
-                t.num_children AS numChildren,
-                t.status,
-                (SELECT COUNT(*) FROM trip_days td WHERE td.trip_id = t.id) AS daysCount,
-                (
-                    SELECT COUNT(*)
-                    FROM trip_itinerary_items ti
-                    JOIN trip_days td2 ON ti.trip_day_id = td2.id
-                    WHERE td2.trip_id = t.id
-                ) AS totalItineraryItemsCount
+            SELECT t.id
             FROM trips t
-            ORDER BY t.id ASC
+            WHERE t.days_count <> (SELECT COUNT(*) FROM trip_days td WHERE td.trip_id = t.id)
+               OR t.items_count <> (
+                   SELECT COUNT(*)
+                   FROM trip_itinerary_items ti
+                   JOIN trip_days td2 ON ti.trip_day_id = td2.id
+                   WHERE td2.trip_id = t.id
+               )
+            ORDER BY t.id
+            """, nativeQuery = true)
+    List<Long> findIdsWithCountMismatch();
+
+    /**
+     * 여행 행 잠금 (카운터 재계산 전 호출)
+     * - adjustCounts도 같은 행을 갱신하므로, 진행 중인 증감 트랜잭션이 커밋될 때까지 대기
+     */
+    @Query(value = "SELECT id FROM trips WHERE id = :tripId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("tripId") Long tripId);
+
+    /**
+     * 여행 1건의 카운터 재계산 (복구용, lockById와 같은 트랜잭션에서 호출)
+     * - 행 잠금 이후의 새 쿼리라 잠금 대기 중 커밋된 일차/일정까지 반영된 개수로 갱신
+     * - 실제 개수와 다를 때만 갱신
+     *
+     * @return 보정되었으면 1
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "trips"))
+    @Query(value = """
+            UPDATE trips t
+            SET days_count = c.days, items_count = c.items
+            FROM (
+                SELECT (SELECT COUNT(*) FROM trip_days td WHERE td.trip_id = :tripId) AS days,
+                       (
+                           SELECT COUNT(*)
+                           FROM trip_itinerary_items ti
+                           JOIN trip_days td2 ON ti.trip_day_id = td2.id
+                           WHERE td2.trip_id = :tripId
+                       ) AS items
+            ) c
+            WHERE t.id = :tripId AND (t.days_count <> c.days OR t.items_count <> c.items)
             """, nativeQuery = true)
-    List<TripSummaryProjection> findAllSummaries();
+    int repairCountsById(@Param("tripId") Long tripId);
 }
 
 
@@ -0,0 +1,38 @@
+package com.example.demo.repository;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 여행 상세 부분 조회 (fields= / days= 선택 조회)
+ * - 요청한 컬럼만 SELECT 절에 넣어 조회하므로, 요청하지 않은 TEXT 컬럼(설명/주소/숙소 JSON 등)은 DB에서 읽지 않습니다.
+ * - 구현: TripRepositoryImpl (Spring Data 사용자 정의 fragment)
+ */
+public interface TripRepositoryCustom {
+
+    /** 선택 가능한 일차 필드 (id, dayNumber, date는 항상 포함) */
+    Set<String> DAY_FIELDS = Set.of("dayStartTime", "dayEndTime", "accommodationJson");
+
+    /** 선택 가능한 일정 항목 필드 (id, orderSequence는 항상 포함) */
+    Set<String> ITEM_FIELDS = Set.of("placeId", "title", "description", "locationName", "address",
+            "latitude", "longitude", "startTime", "endTime", "category", "stayDurationMinutes",
+            "travelToNextDistanceKm", "travelToNextDurationMinutes", "travelToNextMode", "travelToNextPolyline");
+
+    /**
+     * 일차 컬럼 조회 (일차 번호 순)
+     *
+     * @param fields DAY_FIELDS 중 추가로 읽을 필드
+     * @param fromDay 시작 일차 번호 (null이면 처음부터)
+     * @param toDay 끝 일차 번호 (null이면 끝까지)
+     * @return [일차 ID, 일차 번호, 날짜, fields...] 행 목록
+     */
+    List<Object[]> findDayColumns(Long tripId, List<String> fields, Integer fromDay, Integer toDay);
+
+    /**
+     * 일정 항목 컬럼 조회 (일차 번호 → 순위 순)
+     *
+     * @param fields ITEM_FIELDS 중 읽을 필드
+     * @return [일차 ID, 일정 ID, fields...] 행 목록
+     */
+    List<Object[]> findItemColumns(Long tripId, List<String> fields, Integer fromDay, Integer toDay);
+}
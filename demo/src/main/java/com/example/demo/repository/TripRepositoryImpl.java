@@ -0,0 +1,60 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TripRepositoryCustom 구현
+ * - SELECT 절은 허용 목록(DAY_FIELDS / ITEM_FIELDS)에 있는 속성명으로만 만들어 JPQL 주입을 막습니다.
+ */
+public class TripRepositoryImpl implements TripRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findDayColumns(Long tripId, List<String> fields, Integer fromDay, Integer toDay) {
+        StringBuilder jpql = new StringBuilder("SELECT d.id, d.dayNumber, d.date");
+        appendColumns(jpql, "d", fields, DAY_FIELDS);
+        jpql.append(" FROM TripDay d WHERE d.trip.id = :tripId");
+        appendDayRange(jpql, "d.dayNumber", fromDay, toDay);
+        jpql.append(" ORDER BY d.dayNumber ASC, d.id ASC");
+        return query(jpql, tripId, fromDay, toDay).getResultList();
+    }
+
+    @Override
+    public List<Object[]> findItemColumns(Long tripId, List<String> fields, Integer fromDay, Integer toDay) {
+        StringBuilder jpql = new StringBuilder("SELECT d.id, i.id");
+        appendColumns(jpql, "i", fields, ITEM_FIELDS);
+        jpql.append(" FROM TripItineraryItem i JOIN i.tripDay d WHERE d.trip.id = :tripId");
+        appendDayRange(jpql, "d.dayNumber", fromDay, toDay);
+        jpql.append(" ORDER BY d.dayNumber ASC, d.id ASC, i.orderRank ASC NULLS LAST, i.orderSequence ASC, i.id ASC");
+        return query(jpql, tripId, fromDay, toDay).getResultList();
+    }
+
+    private TypedQuery<Object[]> query(StringBuilder jpql, Long tripId, Integer fromDay, Integer toDay) {
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        query.setParameter("tripId", tripId);
+        if (fromDay != null) query.setParameter("fromDay", fromDay);
+        if (toDay != null) query.setParameter("toDay", toDay);
+        return query;
+    }
+
+    private static void appendColumns(StringBuilder jpql, String alias, List<String> fields, Set<String> allowed) {
+        for (String field : fields) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("선택할 수 없는 필드입니다: " + field);
+            }
+            jpql.append(", ").append(alias).append('.').append(field);
+        }
+    }
+
+    private static void appendDayRange(StringBuilder jpql, String path, Integer fromDay, Integer toDay) {
+        if (fromDay != null) jpql.append(" AND ").append(path).append(" >= :fromDay");
+        if (toDay != null) jpql.append(" AND ").append(path).append(" <= :toDay");
+    }
+}
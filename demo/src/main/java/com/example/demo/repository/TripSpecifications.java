@@ -0,0 +1,59 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.Trip;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Trip 목록 조회 조건 (키셋 페이지네이션 + 필터)
+ * - 모든 조건이 인덱스 컬럼(id, user_id, start_date, end_date)에 대한 범위/동등 비교이므로
+ *   몇 번째 페이지든 같은 비용으로 조회됩니다. (OFFSET 미사용)
+ */
+public final class TripSpecifications {
+
+    private TripSpecifications() {
+    }
+
+    /** 커서 이후 (id > lastId) */
+    public static Specification<Trip> idAfter(Long lastId) {
+        return (root, query, cb) -> lastId == null ? null : cb.greaterThan(root.get("id"), lastId);
+    }
+
+    public static Specification<Trip> ofUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    /**
+     * 상태 필터 - 상태는 날짜로 계산되므로 날짜 조건으로 변환 (TripController.calculateStatus와 동일한 기준)
+     * - planning: 오늘 < 시작일
+     * - ongoing: 시작일 <= 오늘 <= 종료일
+     * - completed: 오늘 > 종료일
+     *
+     * @throws IllegalArgumentException 알 수 없는 상태값
+     */
+    public static Specification<Trip> hasStatus(String status, LocalDate today) {
+        if (status == null || status.isBlank()) {
+            return (root, query, cb) -> null;
+        }
+        return switch (status.toLowerCase(Locale.ROOT)) {
+            case "planning" -> (root, query, cb) -> cb.greaterThan(root.get("startDate"), today);
+            case "ongoing" -> (root, query, cb) -> cb.and(
+                    cb.lessThanOrEqualTo(root.get("startDate"), today),
+                    cb.greaterThanOrEqualTo(root.get("endDate"), today));
+            case "completed" -> (root, query, cb) -> cb.lessThan(root.get("endDate"), today);
+            default -> throw new IllegalArgumentException("알 수 없는 여행 상태입니다: " + status);
+        };
+    }
+
+    /** 기간 필터 - [from, to]와 겹치는 여행 */
+    public static Specification<Trip> overlaps(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null && to == null) return null;
+            if (from == null) return cb.lessThanOrEqualTo(root.get("startDate"), to);
+            if (to == null) return cb.greaterThanOrEqualTo(root.get("endDate"), from);
+            return cb.and(cb.greaterThanOrEqualTo(root.get("endDate"), from), cb.lessThanOrEqualTo(root.get("startDate"), to));
+        };
+    }
+}
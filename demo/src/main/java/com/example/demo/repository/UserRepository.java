@@ -1,7 +1,13 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -26,22 +32,42 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Provider와 ProviderId로 사용자 조회 (OAuth 로그인용)
      * - 같은 provider와 providerId 조합으로 조회하여 중복 가입 방지
+     * - 쿼리 캐시(user-lookup 영역): 결과 ID만 캐시하고 엔티티는 users 2차 캐시에서 읽음
      * 
      * @param provider 소셜 로그인 제공자 (예: "google")
      * @param providerId 제공자에서의 사용자 ID
      * @return 해당 provider와 providerId의 사용자
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = User.LOOKUP_CACHE_REGION)
+    })
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
     
     /**
      * 이메일과 Provider로 사용자 조회
      * - 같은 이메일이라도 provider가 다르면 다른 계정으로 처리
+     * - 쿼리 캐시(user-lookup 영역), 로그인마다 호출되므로 DB 조회 없이 응답
      * 
      * @param email 사용자 이메일
      * @param provider 소셜 로그인 제공자 (null이면 이메일 로그인)
      * @return 해당 이메일과 provider의 사용자
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = User.LOOKUP_CACHE_REGION)
+    })
     Optional<User> findByEmailAndProvider(String email, String provider);
+
+    /**
+     * 사용자 일괄 삭제 (여행/일차/일정을 먼저 삭제한 뒤 호출, 엔티티를 읽지 않음)
+     *
+     * @return 삭제된 사용자 수
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "DELETE FROM users WHERE id = :userId", nativeQuery = true)
+    int bulkDeleteById(@Param("userId") Long userId);
 }
 
 
@@ -0,0 +1,397 @@
+package com.example.demo.service;
+
+import com.example.demo.api.dto.TripItineraryItemDtos;
+import com.example.demo.common.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 일정 항목 위치 메모리 색인 (주변 일정 / 영역 내 인기 장소 조회용)
+ * - 위도/경도를 CELL_DEGREES(0.01도) 격자로 나눠 셀 → 일정 목록으로 보관
+ *   (RoadGraph의 노드 셀 색인과 같은 floor(도 / 셀 크기) 방식, 셀 크기는 RoadGraph의 0.005도보다 큼)
+ * - 반경 조회: 반경을 덮는 셀들만 훑고 Haversine 거리로 걸러냄 (날짜 변경선을 넘으면 경도 범위를 둘로 나눔),
+ *   가까운 limit개만 힙으로 유지
+ * - 영역 조회: 영역을 덮는 셀 수가 전체 셀 수보다 많으면 전체 셀을 훑음
+ * - 시작 시 DB 전체를 커서로 읽어 백그라운드에서 생성, 이후에는 TripChangedEvent(커밋 후)마다
+ *   해당 여행의 일정만 DB에서 다시 읽어 교체 (일정 추가/수정/삭제는 모두 여행 단위 변경 이벤트를 발행)
+ */
+@Service
+public class ItemSpatialIndex {
+
+    /** 셀 크기 (0.01도 ≈ 위도 방향 1.1km) */
+    private static final double CELL_DEGREES = 0.01;
+    /** 위도 1도의 거리 (km) */
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private static final String ITEM_SQL = """
+            SELECT i.id, d.trip_id, i.place_id, i.title, i.category, i.latitude, i.longitude
+            FROM trip_itinerary_items i
+            JOIN trip_days d ON d.id = i.trip_day_id
+            WHERE i.latitude IS NOT NULL AND i.longitude IS NOT NULL
+            """;
+
+    @Value("${trips.spatial.enabled:true}")
+    private boolean enabled;
+
+    /** 전체 색인 생성 시 커서가 한 번에 가져오는 행 수 */
+    @Value("${trips.spatial.fetch-size:1000}")
+    private int fetchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 현재 색인 (lock으로 보호) */
+    private Index index = new Index();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public ItemSpatialIndex(JdbcTemplate jdbcTemplate, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** 시작 시 전체 색인 생성 (요청 처리를 막지 않도록 백그라운드 스레드) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * 전체 색인 재생성 요청
+     *
+     * @return 이미 재생성 중이면 false
+     */
+    public synchronized boolean rebuildAsync() {
+        if (rebuilding) {
+            return false;
+        }
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        Thread worker = new Thread(this::rebuild, "item-spatial-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    private void rebuild() {
+        try {
+            long started = System.nanoTime();
+            Index fresh = new Index();
+            readOnlyTx.executeWithoutResult(status -> cursorTemplate.query(con -> {
+                var ps = con.prepareStatement(ITEM_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> fresh.add(new Entry(rs))));
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding = false;
+            // 재생성 중에 바뀐 여행은 새 색인에 빠져 있을 수 있으므로 다시 반영
+            if (!changedDuringRebuild.isEmpty()) {
+                reindex(new ArrayList<>(changedDuringRebuild));
+                changedDuringRebuild.clear();
+            }
+            System.out.println("📍 일정 위치 색인 생성 완료 - 일정 " + fresh.size + "개, 셀 " + fresh.cells.size()
+                    + "개 (" + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        } catch (Exception e) {
+            System.err.println("❌ 일정 위치 색인 생성 실패: " + e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /** 쓰기 트랜잭션 커밋 후 바뀐 여행의 일정만 다시 색인 (트랜잭션 밖에서 발행된 이벤트는 즉시 처리) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        if (!enabled || event.getTripIds().isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getTripIds());
+        }
+        try {
+            reindex(event.getTripIds());
+        } catch (Exception e) {
+            // 색인 반영 실패는 쓰기 요청에 영향 없음 (다음 변경 또는 재생성 시 반영)
+            System.err.println("⚠️ 일정 위치 색인 반영 실패 - Trip ID: " + event.getTripIds() + ", " + e.getMessage());
+        }
+    }
+
+    /** 지정한 여행들의 일정을 DB에서 다시 읽어 교체 (여행이 없으면 색인에서 제거만) */
+    void reindex(Collection<Long> tripIds) {
+        List<Long> ids = tripIds.stream().distinct().collect(Collectors.toList());
+        List<Entry> entries = jdbcTemplate.query(
+                ITEM_SQL + " AND d.trip_id IN (" + ids.stream().map(id -> "?").collect(Collectors.joining(",")) + ")",
+                (rs, n) -> new Entry(rs), ids.toArray());
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                index.removeTrip(id);
+            }
+            for (Entry e : entries) {
+                index.add(e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 반경 내 일정 조회
+     *
+     * @param radiusKm 반경 (km)
+     * @param limit 최대 결과 수 (가까운 순)
+     */
+    public TripItineraryItemDtos.NearbyResp nearby(double lat, double lng, double radiusKm, int limit) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        // 경도 폭은 반경 상자의 극 쪽 가장자리 기준 (극에 닿으면 전체 경도)
+        double cosEdge = Math.cos(Math.toRadians(Math.min(Math.abs(lat) + dLat, 90.0)));
+        double dLng = cosEdge > 1e-6 ? radiusKm / (KM_PER_DEGREE * cosEdge) : 180.0;
+        // 날짜 변경선(±180)을 넘는 경도 범위는 두 구간으로 나눔
+        double[][] lngRanges;
+        if (dLng >= 180.0) {
+            lngRanges = new double[][]{{-180.0, 180.0}};
+        } else if (lng - dLng < -180.0) {
+            lngRanges = new double[][]{{lng - dLng + 360.0, 180.0}, {-180.0, lng + dLng}};
+        } else if (lng + dLng > 180.0) {
+            lngRanges = new double[][]{{lng - dLng, 180.0}, {-180.0, lng + dLng - 360.0}};
+        } else {
+            lngRanges = new double[][]{{lng - dLng, lng + dLng}};
+        }
+
+        // 가까운 limit개만 유지하는 최대 힙 (가장 먼 결과가 맨 위)
+        Comparator<NearbyHit> closer = Comparator.<NearbyHit>comparingDouble(h -> h.distanceKm)
+                .thenComparingLong(h -> h.entry.itemId);
+        PriorityQueue<NearbyHit> heap = new PriorityQueue<>(closer.reversed());
+        int total = 0;
+        lock.readLock().lock();
+        try {
+            long cellsInBox = 0;
+            for (double[] range : lngRanges) {
+                cellsInBox += (cell(lat + dLat) - cell(lat - dLat) + 1) * (cell(range[1]) - cell(range[0]) + 1);
+            }
+            List<List<Entry>> buckets = new ArrayList<>();
+            if (cellsInBox > index.cells.size()) {
+                buckets.addAll(index.cells.values());
+            } else {
+                for (double[] range : lngRanges) {
+                    for (long cx = cell(lat - dLat); cx <= cell(lat + dLat); cx++) {
+                        for (long cy = cell(range[0]); cy <= cell(range[1]); cy++) {
+                            List<Entry> bucket = index.cells.get(cellKey(cx, cy));
+                            if (bucket != null) buckets.add(bucket);
+                        }
+                    }
+                }
+            }
+            for (List<Entry> bucket : buckets) {
+                for (Entry e : bucket) {
+                    double d = GeoUtils.haversineKm(lat, lng, e.lat, e.lng);
+                    if (d > radiusKm) continue;
+                    total++;
+                    heap.add(new NearbyHit(e, d));
+                    if (heap.size() > limit) heap.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<NearbyHit> hits = new ArrayList<>(heap);
+        hits.sort(closer);
+
+        TripItineraryItemDtos.NearbyResp resp = new TripItineraryItemDtos.NearbyResp();
+        resp.total = total;
+        resp.ready = ready;
+        resp.items = new ArrayList<>(hits.size());
+        for (NearbyHit h : hits) {
+            TripItineraryItemDtos.NearbyItem item = new TripItineraryItemDtos.NearbyItem();
+            item.id = h.entry.itemId;
+            item.tripId = h.entry.tripId;
+            item.placeId = h.entry.placeId;
+            item.title = h.entry.title;
+            item.category = h.entry.category;
+            item.latitude = h.entry.lat;
+            item.longitude = h.entry.lng;
+            item.distanceKm = Math.round(h.distanceKm * 1000.0) / 1000.0;
+            resp.items.add(item);
+        }
+        return resp;
+    }
+
+    /**
+     * 영역 내 인기 장소 (placeId별 방문한 여행 수가 많은 순)
+     * - west > east면 날짜 변경선을 걸친 영역으로 봄
+     *
+     * @param limit 최대 결과 수
+     */
+    public TripItineraryItemDtos.PopularPlacesResp popularPlaces(double south, double west, double north, double east, int limit) {
+        boolean wraps = west > east;
+        Map<String, PlaceCount> counts = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            long cellsInBox = wraps ? Long.MAX_VALUE
+                    : (cell(north) - cell(south) + 1) * (cell(east) - cell(west) + 1);
+            if (cellsInBox > index.cells.size()) {
+                for (List<Entry> bucket : index.cells.values()) {
+                    countIn(bucket, south, west, north, east, wraps, counts);
+                }
+            } else {
+                for (long cx = cell(south); cx <= cell(north); cx++) {
+                    for (long cy = cell(west); cy <= cell(east); cy++) {
+                        List<Entry> bucket = index.cells.get(cellKey(cx, cy));
+                        if (bucket != null) countIn(bucket, south, west, north, east, false, counts);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<PlaceCount> ranked = new ArrayList<>(counts.values());
+        ranked.sort(Comparator.comparingInt((PlaceCount c) -> c.trips.size()).reversed()
+                .thenComparing(Comparator.comparingInt((PlaceCount c) -> c.items).reversed())
+                .thenComparing(c -> c.first.placeId));
+
+        TripItineraryItemDtos.PopularPlacesResp resp = new TripItineraryItemDtos.PopularPlacesResp();
+        resp.ready = ready;
+        resp.places = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (PlaceCount c : ranked.subList(0, Math.min(limit, ranked.size()))) {
+            TripItineraryItemDtos.PopularPlace place = new TripItineraryItemDtos.PopularPlace();
+            place.placeId = c.first.placeId;
+            place.title = c.first.title;
+            place.latitude = c.first.lat;
+            place.longitude = c.first.lng;
+            place.trips = c.trips.size();
+            place.items = c.items;
+            resp.places.add(place);
+        }
+        return resp;
+    }
+
+    private static void countIn(List<Entry> bucket, double south, double west, double north, double east,
+                                boolean wraps, Map<String, PlaceCount> counts) {
+        for (Entry e : bucket) {
+            if (e.placeId == null || e.lat < south || e.lat > north) continue;
+            boolean inLng = wraps ? (e.lng >= west || e.lng <= east) : (e.lng >= west && e.lng <= east);
+            if (!inLng) continue;
+            PlaceCount c = counts.computeIfAbsent(e.placeId, k -> new PlaceCount(e));
+            c.trips.add(e.tripId);
+            c.items++;
+        }
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xffffffffL);
+    }
+
+    /** 색인 구조 (cells: 셀 → 일정, byTrip: 여행 ID → 일정 - 여행 단위 교체용) */
+    private static final class Index {
+        final Map<Long, List<Entry>> cells = new HashMap<>();
+        final Map<Long, List<Entry>> byTrip = new HashMap<>();
+        long size;
+
+        void add(Entry e) {
+            cells.computeIfAbsent(cellKey(cell(e.lat), cell(e.lng)), k -> new ArrayList<>()).add(e);
+            byTrip.computeIfAbsent(e.tripId, k -> new ArrayList<>()).add(e);
+            size++;
+        }
+
+        void removeTrip(long tripId) {
+            List<Entry> old = byTrip.remove(tripId);
+            if (old == null) {
+                return;
+            }
+            // 셀마다 한 번씩만 훑음 (인기 지역 셀은 일정이 많으므로 항목별 remove 대신)
+            Set<Long> keys = new HashSet<>();
+            for (Entry e : old) {
+                keys.add(cellKey(cell(e.lat), cell(e.lng)));
+            }
+            for (Long key : keys) {
+                List<Entry> bucket = cells.get(key);
+                if (bucket == null) continue;
+                bucket.removeIf(e -> e.tripId == tripId);
+                if (bucket.isEmpty()) cells.remove(key);
+            }
+            size -= old.size();
+        }
+    }
+
+    /** 색인된 일정 1건 */
+    private static final class Entry {
+        final long itemId;
+        final long tripId;
+        final String placeId;
+        final String title;
+        final String category;
+        final double lat;
+        final double lng;
+
+        Entry(ResultSet rs) throws SQLException {
+            itemId = rs.getLong("id");
+            tripId = rs.getLong("trip_id");
+            placeId = rs.getString("place_id");
+            title = rs.getString("title");
+            category = rs.getString("category");
+            lat = rs.getDouble("latitude");
+            lng = rs.getDouble("longitude");
+        }
+    }
+
+    private static final class NearbyHit {
+        final Entry entry;
+        final double distanceKm;
+
+        NearbyHit(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private static final class PlaceCount {
+        final Entry first;
+        final Set<Long> trips = new HashSet<>();
+        int items;
+
+        PlaceCount(Entry first) {
+            this.first = first;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import com.example.demo.common.util.LexoRank;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * trip_itinerary_items.order_rank 채우기
+ * - order_rank 컬럼 추가 전에 저장된 일정은 순위가 없으므로, 순위가 비어 있는 일차만 골라
+ *   기존 순서(order_sequence)대로 순위를 매깁니다. (이미 순위가 있는 항목은 가능한 한 그대로 유지)
+ * - 애플리케이션 시작 시 1회 실행, 채울 행이 없으면 조회 1회로 끝남
+ */
+@Service
+public class ItineraryRankBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ItineraryRankBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long started = System.nanoTime();
+            List<Object[]> updates = new ArrayList<>();
+            List<Long> dayItemIds = new ArrayList<>();
+            List<String> dayRanks = new ArrayList<>();
+            long[] currentDay = {-1L};
+            int[] total = {0};
+
+            jdbcTemplate.query("""
+                    SELECT id, trip_day_id, order_rank
+                    FROM trip_itinerary_items
+                    WHERE trip_day_id IN (SELECT DISTINCT trip_day_id FROM trip_itinerary_items WHERE order_rank IS NULL)
+                    ORDER BY trip_day_id, order_rank NULLS LAST, order_sequence, id
+                    """, rs -> {
+                long dayId = rs.getLong("trip_day_id");
+                if (dayId != currentDay[0]) {
+                    total[0] += rankDay(dayItemIds, dayRanks, updates);
+                    currentDay[0] = dayId;
+                }
+                dayItemIds.add(rs.getLong("id"));
+                dayRanks.add(rs.getString("order_rank"));
+                if (updates.size() >= BATCH_SIZE) {
+                    flush(updates);
+                }
+            });
+            total[0] += rankDay(dayItemIds, dayRanks, updates);
+            flush(updates);
+
+            if (total[0] > 0) {
+                System.out.println("🔢 일정 순위 채우기 완료 - " + total[0] + "건 ("
+                        + (System.nanoTime() - started) / 1_000_000 + "ms)");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ 일정 순위 채우기 실패: " + e.getMessage());
+        }
+    }
+
+    /** 한 일차의 순위를 다시 매겨 바뀐 행을 updates에 추가 */
+    private int rankDay(List<Long> itemIds, List<String> ranks, List<Object[]> updates) {
+        int changed = 0;
+        List<String> next = LexoRank.reassign(ranks);
+        for (int i = 0; i < next.size(); i++) {
+            if (!next.get(i).equals(ranks.get(i))) {
+                updates.add(new Object[]{next.get(i), itemIds.get(i)});
+                changed++;
+            }
+        }
+        itemIds.clear();
+        ranks.clear();
+        return changed;
+    }
+
+    private void flush(List<Object[]> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE trip_itinerary_items SET order_rank = ? WHERE id = ?", updates);
+        updates.clear();
+    }
+}
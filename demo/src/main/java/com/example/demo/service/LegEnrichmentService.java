@@ -0,0 +1,447 @@
+package com.example.demo.service;
+
+import com.example.demo.common.util.PolylineCodec;
+import com.example.demo.domain.TripItineraryItem;
+import com.example.demo.repository.TripItineraryItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일정 구간(leg) 이동 정보 비동기 보강
+ * - 여행 저장/일정 수정 시 영향받은 일차(TripDay) ID를 Redis 큐에 넣기만 하고 바로 반환합니다. (저장 요청은 경로 계산을 기다리지 않음)
+ * - 등록은 트랜잭션 커밋 후에 이루어지므로 워커는 항상 커밋된 일정 순서를 읽습니다.
+ * - 스케줄러가 큐에서 일차를 꺼내 워커 풀에 배치 단위로 넘기고,
+ *   워커는 Redis 구간 캐시를 먼저 확인한 뒤 나머지를 이어지는 구간끼리 묶어
+ *   computeRoutes 한 번(중간 경유지 포함)으로 계산합니다. (Route Matrix는 출발지 × 도착지 전체 요소가 과금되어 사용하지 않음)
+ * - 결과는 값이 바뀐 항목만 JDBC 배치 UPDATE 한 번으로 travelToNext* 컬럼(거리/시간/단순화한 경로)에 반영하고,
+ *   일차의 마지막 항목에 남은 이전 구간 정보는 지웁니다. (순서 변경/삭제 후 다음 항목이 없어진 경우)
+ */
+@Service
+public class LegEnrichmentService {
+
+    /** 보강 대기 일차 ID 큐 (Redis List) */
+    static final String QUEUE_KEY = "legs:enrich:queue";
+
+    /** 큐에 이미 들어있는 일차 ID (중복 적재 방지용 Redis Set) */
+    static final String PENDING_KEY = "legs:enrich:pending";
+
+    /** 구간 캐시 키 접두어 - 값: "거리(m):시간(초):단순화한 Encoded Polyline" (폴리라인 문자에는 ':'가 없음) */
+    static final String CACHE_PREFIX = "route:leg:v2:";
+
+    /** computeRoutes 요청 하나의 최대 중간 경유지 수 */
+    private static final int MAX_INTERMEDIATES = 25;
+
+    @Value("${legs.enrichment.enabled:true}")
+    private boolean enabled;
+
+    /** 워커 스레드 수 */
+    @Value("${legs.enrichment.workers:2}")
+    private int workers;
+
+    /** 워커 하나가 한 번에 처리하는 일차 수 */
+    @Value("${legs.enrichment.batch-days:20}")
+    private int batchDays;
+
+    /** computeRoutes 요청 하나에 담는 최대 구간 수 (중간 경유지 = 구간 수 - 1, 최대 25개) */
+    @Value("${legs.enrichment.route-legs:10}")
+    private int routeLegs;
+
+    /** 구간 캐시 유효 시간 (시간) */
+    @Value("${legs.enrichment.cache-ttl-hours:168}")
+    private long cacheTtlHours;
+
+    @Value("${google.maps.api.key:}")
+    private String googleMapsApiKey;
+
+    @Value("${google.routes.base-url:https://routes.googleapis.com}")
+    private String routesBaseUrl;
+
+    private final StringRedisTemplate redis;
+    private final TripItineraryItemRepository itemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TravelTimeModel travelTimeModel;
+    private final TripDetailCache tripDetailCache;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private ExecutorService pool;
+
+    public LegEnrichmentService(StringRedisTemplate redis, TripItineraryItemRepository itemRepository,
+                                JdbcTemplate jdbcTemplate, TravelTimeModel travelTimeModel, TripDetailCache tripDetailCache) {
+        this.redis = redis;
+        this.itemRepository = itemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.travelTimeModel = travelTimeModel;
+        this.tripDetailCache = tripDetailCache;
+    }
+
+    /**
+     * 구간 보강 대상 일차 등록
+     * - 트랜잭션 안에서 호출되면 커밋 후 등록 (커밋 전에 워커가 이전 순서를 읽고 pending을 해제하는 것을 방지)
+     * - Redis 오류가 나도 저장 요청은 실패시키지 않습니다. (다음 저장 시 다시 등록됨)
+     */
+    public void enqueueDays(Collection<Long> dayIds) {
+        if (!isActive() || dayIds == null || dayIds.isEmpty()) {
+            return;
+        }
+        List<Long> copy = new ArrayList<>(dayIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    push(copy);
+                }
+            });
+        } else {
+            push(copy);
+        }
+    }
+
+    private void push(List<Long> dayIds) {
+        try {
+            int queued = 0;
+            for (Long dayId : dayIds) {
+                if (dayId == null) continue;
+                Long added = redis.opsForSet().add(PENDING_KEY, dayId.toString());
+                if (added != null && added > 0) {
+                    redis.opsForList().rightPush(QUEUE_KEY, dayId.toString());
+                    queued++;
+                }
+            }
+            if (queued > 0) {
+                System.out.println("🧭 구간 보강 대기열 등록 - 일차 " + queued + "개");
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 구간 보강 대기열 등록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 큐에서 일차를 꺼내 워커에 배치로 전달
+     * - 처리 중인 배치가 워커 수만큼 차 있으면 이번 주기는 건너뜀
+     */
+    @Scheduled(fixedDelayString = "${legs.enrichment.poll-ms:2000}")
+    public void drain() {
+        if (!isActive()) {
+            return;
+        }
+        try {
+            while (inFlight.get() < workers) {
+                List<String> popped = redis.opsForList().leftPop(QUEUE_KEY, batchDays);
+                if (popped == null || popped.isEmpty()) {
+                    return;
+                }
+                // 처리 시작 전에 pending 해제 → 처리 중 들어온 수정은 다시 큐에 들어감
+                redis.opsForSet().remove(PENDING_KEY, popped.toArray());
+                List<Long> dayIds = new ArrayList<>();
+                for (String s : popped) {
+                    dayIds.add(Long.valueOf(s));
+                }
+                inFlight.incrementAndGet();
+                pool().submit(() -> {
+                    try {
+                        processBatch(dayIds);
+                    } catch (Exception e) {
+                        System.err.println("❌ 구간 보강 실패 (일차 " + dayIds.size() + "개): " + e.getMessage());
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ 구간 보강 대기열 조회 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 일차 배치 하나 처리: 구간 추출 → 캐시 조회 → computeRoutes 계산 → 일괄 반영
+     */
+    void processBatch(List<Long> dayIds) {
+        long started = System.nanoTime();
+        List<TripItineraryItem> items = itemRepository.findByTripDayIdsOrdered(dayIds);
+
+        // 같은 일차 안에서 연속된 두 항목이 하나의 구간, 일차의 마지막 항목은 구간 정보가 없어야 함
+        List<Leg> legs = new ArrayList<>();
+        List<Object[]> clears = new ArrayList<>();
+        Set<Long> changedDays = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            TripItineraryItem from = items.get(i);
+            TripItineraryItem to = i + 1 < items.size() ? items.get(i + 1) : null;
+            if (to == null || !from.getTripDay().getId().equals(to.getTripDay().getId())) {
+                if (hasLeg(from)) {
+                    clears.add(new Object[]{from.getId()});
+                    changedDays.add(from.getTripDay().getId());
+                }
+                continue;
+            }
+            if (from.getLatitude() == null || from.getLongitude() == null
+                    || to.getLatitude() == null || to.getLongitude() == null) continue;
+            legs.add(new Leg(from, to));
+        }
+        if (legs.isEmpty() && clears.isEmpty()) {
+            return;
+        }
+
+        // 1) 캐시 조회
+        List<String> keys = new ArrayList<>(legs.size());
+        for (Leg leg : legs) keys.add(leg.cacheKey());
+        List<String> cached = legs.isEmpty() ? null : redis.opsForValue().multiGet(keys);
+        List<Leg> misses = new ArrayList<>();
+        int hits = 0;
+        for (int i = 0; i < legs.size(); i++) {
+            String value = cached != null ? cached.get(i) : null;
+            if (value != null) {
+                String[] parts = value.split(":", 3);
+                legs.get(i).resolve(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                        parts.length > 2 && !parts[2].isEmpty() ? parts[2] : null);
+                hits++;
+            } else {
+                misses.add(legs.get(i));
+            }
+        }
+
+        // 2) 캐시에 없는 구간은 이어지는 구간(같은 일차, 같은 이동 수단)끼리 묶어 computeRoutes 호출
+        Map<String, String> toCache = new HashMap<>();
+        int routeCalls = 0;
+        for (List<Leg> chain : chains(misses)) {
+            computeChain(chain.get(0).mode, chain);
+            routeCalls++;
+            for (Leg leg : chain) {
+                if (leg.resolved) {
+                    toCache.put(leg.cacheKey(), Math.round(leg.meters) + ":" + Math.round(leg.seconds) + ":"
+                            + (leg.polyline != null ? leg.polyline : ""));
+                    travelTimeModel.record(leg.fromLat, leg.fromLng, leg.toLat, leg.toLng, leg.mode, leg.seconds / 60.0);
+                }
+            }
+        }
+        if (!toCache.isEmpty()) {
+            redis.opsForValue().multiSet(toCache);
+            Duration ttl = Duration.ofHours(cacheTtlHours);
+            for (String key : toCache.keySet()) {
+                redis.expire(key, ttl);
+            }
+        }
+
+        // 3) 값이 바뀐 항목만 일괄 반영 (처리 중 좌표가 바뀐 항목은 좌표 조건으로 제외)
+        List<Object[]> updates = new ArrayList<>();
+        for (Leg leg : legs) {
+            if (!leg.resolved) continue;
+            BigDecimal km = BigDecimal.valueOf(leg.meters / 1000.0).setScale(2, RoundingMode.HALF_UP);
+            int minutes = (int) Math.round(leg.seconds / 60.0);
+            TripItineraryItem item = leg.item;
+            if (km.compareTo(item.getTravelToNextDistanceKm() != null ? item.getTravelToNextDistanceKm() : BigDecimal.ONE.negate()) == 0
+                    && Integer.valueOf(minutes).equals(item.getTravelToNextDurationMinutes())
+                    && Objects.equals(leg.polyline, item.getTravelToNextPolyline())) {
+                continue;
+            }
+            updates.add(new Object[]{km, minutes, leg.polyline, item.getId(), item.getLatitude(), item.getLongitude()});
+            changedDays.add(item.getTripDay().getId());
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE trip_itinerary_items SET travel_to_next_distance_km = ?, travel_to_next_duration_minutes = ?, "
+                            + "travel_to_next_polyline = ? WHERE id = ? AND latitude = ? AND longitude = ?",
+                    updates);
+        }
+        // 4) 일차의 마지막 항목에 남은 이전 구간 정보 삭제 (처리 중 뒤에 항목이 추가되었으면 제외)
+        if (!clears.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE trip_itinerary_items i SET travel_to_next_distance_km = NULL, travel_to_next_duration_minutes = NULL, "
+                            + "travel_to_next_mode = NULL, travel_to_next_polyline = NULL WHERE i.id = ? AND NOT EXISTS ("
+                            + "SELECT 1 FROM trip_itinerary_items n WHERE n.trip_day_id = i.trip_day_id AND n.id <> i.id "
+                            + "AND n.order_rank > i.order_rank)",
+                    clears);
+        }
+        if (!changedDays.isEmpty()) {
+            // 상세 캐시 무효화 (해당 여행들의 버전 증가)
+            tripDetailCache.invalidateDays(changedDays);
+        }
+
+        System.out.println("🧭 구간 보강 완료 - 일차 " + dayIds.size() + "개, 구간 " + legs.size() + "개 (캐시 " + hits
+                + ", Routes 호출 " + routeCalls + "회, 갱신 " + updates.size() + "건, 마지막 항목 정리 " + clears.size() + "건, "
+                + (System.nanoTime() - started) / 1_000_000 + "ms)");
+    }
+
+    /**
+     * 이어지는 구간 묶음 만들기
+     * - 앞 구간의 도착 항목이 다음 구간의 출발 항목이고 이동 수단이 같으면 같은 묶음
+     * - TRANSIT은 중간 경유지를 지원하지 않으므로 구간마다 따로 요청
+     */
+    private List<List<Leg>> chains(List<Leg> misses) {
+        List<List<Leg>> chains = new ArrayList<>();
+        List<Leg> chain = null;
+        Leg prev = null;
+        for (Leg leg : misses) {
+            boolean continues = prev != null
+                    && chain.size() < Math.max(1, Math.min(routeLegs, MAX_INTERMEDIATES + 1))
+                    && prev.toItemId.equals(leg.item.getId())
+                    && prev.mode.equals(leg.mode)
+                    && !"TRANSIT".equals(leg.mode);
+            if (!continues) {
+                chain = new ArrayList<>();
+                chains.add(chain);
+            }
+            chain.add(leg);
+            prev = leg;
+        }
+        return chains;
+    }
+
+    /**
+     * computeRoutes 한 번으로 이어지는 구간 묶음 계산
+     * - 첫 구간의 출발지 → (각 구간의 출발지를 중간 경유지로) → 마지막 구간의 도착지
+     * - 응답의 legs[i]가 묶음의 i번째 구간
+     */
+    private void computeChain(String travelMode, List<Leg> chain) {
+        try {
+            ObjectNode body = objectMapper.createObjectNode();
+            body.set("origin", waypoint(chain.get(0).fromLat, chain.get(0).fromLng));
+            Leg last = chain.get(chain.size() - 1);
+            body.set("destination", waypoint(last.toLat, last.toLng));
+            if (chain.size() > 1) {
+                ArrayNode intermediates = body.putArray("intermediates");
+                for (int i = 1; i < chain.size(); i++) {
+                    intermediates.add(waypoint(chain.get(i).fromLat, chain.get(i).fromLng));
+                }
+            }
+            body.put("travelMode", travelMode);
+            body.put("computeAlternativeRoutes", false);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("Content-Type", "application/json");
+            headers.set("X-Goog-Api-Key", googleMapsApiKey);
+            headers.set("X-Goog-FieldMask", "routes.legs.distanceMeters,routes.legs.duration,routes.legs.polyline.encodedPolyline");
+            byte[] payload = objectMapper.writeValueAsBytes(body);
+
+            JsonNode root = restTemplate.execute(
+                    routesBaseUrl + "/directions/v2:computeRoutes",
+                    HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().putAll(headers);
+                        request.getBody().write(payload);
+                    },
+                    res -> objectMapper.readTree(res.getBody()));
+            if (root == null) {
+                return;
+            }
+            JsonNode routeLegsNode = root.path("routes").path(0).path("legs");
+            if (!routeLegsNode.isArray() || routeLegsNode.size() != chain.size()) {
+                return;
+            }
+            for (int i = 0; i < chain.size(); i++) {
+                JsonNode leg = routeLegsNode.get(i);
+                if (!leg.has("duration")) continue;
+                double seconds = Double.parseDouble(leg.path("duration").asText().replace("s", ""));
+                String encoded = leg.path("polyline").path("encodedPolyline").asText(null);
+                chain.get(i).resolve(leg.path("distanceMeters").asDouble(), seconds,
+                        PolylineCodec.compress(encoded, PolylineCodec.DEFAULT_TOLERANCE_METERS));
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ Routes API 호출 실패 (" + travelMode + ", 구간 " + chain.size() + "개): " + e.getMessage());
+        }
+    }
+
+    private static boolean hasLeg(TripItineraryItem item) {
+        return item.getTravelToNextDistanceKm() != null || item.getTravelToNextDurationMinutes() != null
+                || item.getTravelToNextMode() != null || item.getTravelToNextPolyline() != null;
+    }
+
+    private ObjectNode waypoint(double lat, double lng) {
+        ObjectNode waypoint = objectMapper.createObjectNode();
+        ObjectNode latLng = waypoint.putObject("location").putObject("latLng");
+        latLng.put("latitude", lat);
+        latLng.put("longitude", lng);
+        return waypoint;
+    }
+
+    private boolean isActive() {
+        return enabled && googleMapsApiKey != null && !googleMapsApiKey.isEmpty();
+    }
+
+    private synchronized ExecutorService pool() {
+        if (pool == null) {
+            pool = Executors.newFixedThreadPool(Math.max(1, workers), r -> {
+                Thread t = new Thread(r, "leg-enrichment");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /** 보강 대상 구간 (항목 → 다음 항목) */
+    private static class Leg {
+        final TripItineraryItem item;
+        /** 도착 항목 ID (이어지는 구간 판별용) */
+        final Long toItemId;
+        final String mode;
+        final double fromLat;
+        final double fromLng;
+        final double toLat;
+        final double toLng;
+        boolean resolved;
+        double meters;
+        double seconds;
+        /** 단순화한 Encoded Polyline (없으면 null) */
+        String polyline;
+
+        Leg(TripItineraryItem from, TripItineraryItem to) {
+            this.item = from;
+            this.toItemId = to.getId();
+            this.mode = from.getTravelToNextMode() != null ? from.getTravelToNextMode().toUpperCase(Locale.ROOT) : "TRANSIT";
+            this.fromLat = from.getLatitude().doubleValue();
+            this.fromLng = from.getLongitude().doubleValue();
+            this.toLat = to.getLatitude().doubleValue();
+            this.toLng = to.getLongitude().doubleValue();
+        }
+
+        void resolve(double meters, double seconds, String polyline) {
+            this.resolved = true;
+            this.meters = meters;
+            this.seconds = seconds;
+            this.polyline = polyline;
+        }
+
+        /** 좌표는 소수점 5자리(약 1m)로 맞춰 같은 구간이 같은 키를 갖도록 함 */
+        String cacheKey() {
+            return CACHE_PREFIX + mode + ":" + String.format(Locale.ROOT, "%.5f,%.5f:%.5f,%.5f", fromLat, fromLng, toLat, toLng);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.service;
+
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.common.util.DecayingTopK;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 인기 여행지/장소 집계 (GET /api/trips/popular)
+ * - 여행 저장 시 여행지(destinationPlaceId), 일정 저장 시 장소(placeId)를 1회씩 기록
+ * - DecayingTopK(Space-Saving + 지수 감쇠)로 메모리에 상위 키만 유지 → 조회 시 테이블을 읽지 않음
+ * - 커밋된 저장만 기록 (트랜잭션 안에서 호출되면 커밋 후 반영)
+ * - 서버별 메모리 집계이며, 시작 시 최근 여행(반감기의 seed-half-lives배 기간)으로 한 번 채움
+ */
+@Service
+public class PopularPlaceTracker {
+
+    private static final String SEED_SQL = """
+            SELECT t.id, t.created_at, t.destination_place_id, i.place_id
+            FROM trips t
+            LEFT JOIN trip_days d ON d.trip_id = t.id
+            LEFT JOIN trip_itinerary_items i ON i.trip_day_id = d.id
+            WHERE t.created_at >= ?
+            ORDER BY t.id
+            """;
+
+    @Value("${trips.popular.enabled:true}")
+    private boolean enabled;
+
+    /** 종류별로 기억하는 최대 키 수 (조회 limit보다 충분히 크게) */
+    @Value("${trips.popular.capacity:2000}")
+    private int capacity;
+
+    /** 반감기 (시간) - 이 시간이 지난 기록은 절반의 비중 */
+    @Value("${trips.popular.half-life-hours:72}")
+    private int halfLifeHours;
+
+    /** 시작 시 채우는 기간 (반감기의 배수) */
+    @Value("${trips.popular.seed-half-lives:4}")
+    private int seedHalfLives;
+
+    /** 시작 시 채우기 커서가 한 번에 가져오는 행 수 */
+    @Value("${trips.popular.fetch-size:1000}")
+    private int fetchSize;
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    private DecayingTopK destinations;
+    private DecayingTopK places;
+
+    public PopularPlaceTracker(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @PostConstruct
+    void init() {
+        long halfLifeMillis = Math.max(1, halfLifeHours) * 3_600_000L;
+        long now = System.currentTimeMillis();
+        destinations = new DecayingTopK(Math.max(1, capacity), halfLifeMillis, now);
+        places = new DecayingTopK(Math.max(1, capacity), halfLifeMillis, now);
+    }
+
+    /** 시작 시 최근 여행으로 집계 채우기 (요청 처리를 막지 않도록 백그라운드 스레드) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (!enabled || seedHalfLives <= 0) {
+            return;
+        }
+        Thread worker = new Thread(this::seed, "popular-place-seed");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void seed() {
+        try {
+            long started = System.nanoTime();
+            Timestamp since = Timestamp.valueOf(LocalDateTime.now().minusHours((long) halfLifeHours * seedHalfLives));
+            long[] lastTripId = {-1};
+            int[] trips = {0};
+            readOnlyTx.executeWithoutResult(status -> cursorTemplate.query(con -> {
+                var ps = con.prepareStatement(SEED_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setTimestamp(1, since);
+                return ps;
+            }, rs -> {
+                long at = rs.getTimestamp("created_at").getTime();
+                long tripId = rs.getLong("id");
+                if (tripId != lastTripId[0]) {
+                    lastTripId[0] = tripId;
+                    trips[0]++;
+                    destinations.add(rs.getString("destination_place_id"), at);
+                }
+                places.add(rs.getString("place_id"), at);
+            }));
+            System.out.println("🔥 인기 여행지/장소 집계 준비 완료 - 최근 여행 " + trips[0] + "건 ("
+                    + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        } catch (Exception e) {
+            System.err.println("❌ 인기 여행지/장소 집계 준비 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 새 여행 기록 (여행지 1회 + 일정 장소들)
+     *
+     * @param placeIds 일정의 placeId 목록 (null 항목은 무시)
+     */
+    public void recordTrip(String destinationPlaceId, Collection<String> placeIds) {
+        if (!enabled) {
+            return;
+        }
+        List<String> copy = placeIds != null ? new ArrayList<>(placeIds) : List.of();
+        afterCommit(() -> {
+            long now = System.currentTimeMillis();
+            destinations.add(destinationPlaceId, now);
+            for (String placeId : copy) {
+                places.add(placeId, now);
+            }
+        });
+    }
+
+    /** 새 일정(또는 장소가 바뀐 일정) 기록 */
+    public void recordPlaces(Collection<String> placeIds) {
+        if (!enabled || placeIds == null || placeIds.isEmpty()) {
+            return;
+        }
+        List<String> copy = new ArrayList<>(placeIds);
+        afterCommit(() -> {
+            long now = System.currentTimeMillis();
+            for (String placeId : copy) {
+                places.add(placeId, now);
+            }
+        });
+    }
+
+    /**
+     * 현재 인기 여행지/장소
+     *
+     * @param limit 종류별 최대 결과 수
+     */
+    public TripDtos.PopularResp popular(int limit) {
+        long now = System.currentTimeMillis();
+        TripDtos.PopularResp resp = new TripDtos.PopularResp();
+        resp.halfLifeHours = halfLifeHours;
+        resp.destinations = toEntries(destinations.top(limit, now));
+        resp.places = toEntries(places.top(limit, now));
+        return resp;
+    }
+
+    private static List<TripDtos.PopularEntry> toEntries(List<DecayingTopK.Entry> top) {
+        List<TripDtos.PopularEntry> out = new ArrayList<>(top.size());
+        for (DecayingTopK.Entry e : top) {
+            TripDtos.PopularEntry entry = new TripDtos.PopularEntry();
+            entry.placeId = e.key;
+            entry.score = Math.round(e.score * 1000.0) / 1000.0;
+            entry.minScore = Math.round((e.score - e.error) * 1000.0) / 1000.0;
+            out.add(entry);
+        }
+        return out;
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+}
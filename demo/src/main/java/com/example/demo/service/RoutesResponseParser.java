@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Routes API(computeRoutes) 응답 스트리밍 파서
+ * - 응답 전체를 문자열/트리로 만들지 않고, routes[0].legs[0] 의 필요한 필드만 읽은 뒤 바로 중단합니다.
+ * - 나머지 필드는 skipChildren()으로 건너뛰므로 응답이 커져도 메모리 사용량이 일정합니다.
+ */
+public final class RoutesResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private RoutesResponseParser() {
+    }
+
+    /**
+     * 첫 번째 경로의 첫 번째 구간(leg) 파싱
+     *
+     * @param in 응답 본문 스트림
+     * @return 구간 정보 (경로가 없으면 null)
+     */
+    public static Leg parseFirstLeg(InputStream in) throws IOException {
+        try (JsonParser p = JSON_FACTORY.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String name = p.currentName();
+                JsonToken value = p.nextToken();
+                if ("routes".equals(name) && value == JsonToken.START_ARRAY) {
+                    return p.nextToken() == JsonToken.START_OBJECT ? readRoute(p) : null;
+                }
+                p.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    private static Leg readRoute(JsonParser p) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            JsonToken value = p.nextToken();
+            if ("legs".equals(name) && value == JsonToken.START_ARRAY) {
+                return p.nextToken() == JsonToken.START_OBJECT ? readLeg(p) : null;
+            }
+            p.skipChildren();
+        }
+        return null;
+    }
+
+    private static Leg readLeg(JsonParser p) throws IOException {
+        Leg leg = new Leg();
+        String duration = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            switch (name) {
+                case "distanceMeters" -> leg.distanceMeters = p.getValueAsDouble();
+                case "duration" -> duration = p.getValueAsString(); // "123s" 형식
+                case "polyline" -> leg.encodedPolyline = readEncodedPolyline(p);
+                default -> p.skipChildren();
+            }
+        }
+        if (duration == null) {
+            return null;
+        }
+        leg.durationSeconds = Double.parseDouble(duration.replace("s", ""));
+        return leg;
+    }
+
+    /** polyline 객체에서 encodedPolyline 값만 읽기 (FieldMask에 포함된 경우에만 응답에 존재) */
+    private static String readEncodedPolyline(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String encoded = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String name = p.currentName();
+            p.nextToken();
+            if ("encodedPolyline".equals(name)) {
+                encoded = p.getValueAsString();
+            } else {
+                p.skipChildren();
+            }
+        }
+        return encoded;
+    }
+
+    /** 구간(leg) 정보 */
+    public static class Leg {
+        public double distanceMeters;
+        public double durationSeconds;
+        /** 구간 경로 (요청 시에만 존재, 없으면 null) */
+        public String encodedPolyline;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * JDBC 일괄 INSERT용 ID 할당 (trips_seq / trip_days_seq / trip_itinerary_items_seq)
+ * - pooled 방식과 동일하게 nextval 값 v를 묶음의 마지막 ID로 보고 (v - 49 ~ v)를 사용
+ *   (Hibernate도 같은 규칙으로 자기 묶음만 쓰므로 엔티티 저장과 JDBC 저장의 ID가 겹치지 않음)
+ * - 필요한 묶음 수만큼 nextval을 한 문장으로 호출
+ */
+@Service
+public class SequenceIdAllocator {
+
+    /** 시퀀스 1회 호출로 받는 ID 수 (엔티티 @SequenceGenerator allocationSize와 동일) */
+    static final int BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param sequence 시퀀스 이름 (코드 상수만 전달)
+     * @param count 필요한 ID 수
+     * @return 오름차순 ID count개
+     */
+    public long[] allocate(String sequence, int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            int blocks = (count - filled + BLOCK - 1) / BLOCK;
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "SELECT nextval('" + sequence + "') FROM generate_series(1, ?)", Long.class, blocks);
+            for (Long hi : highs) {
+                // 새 시퀀스의 첫 값(1)처럼 묶음이 1보다 작은 ID를 포함하면 그만큼 다음 묶음에서 채움
+                for (long id = Math.max(1, hi - BLOCK + 1); id <= hi && filled < count; id++) {
+                    ids[filled++] = id;
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.demo.service;
+
+import com.example.demo.common.util.GeoUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 지역별 이동 시간 보정 모델
+ * - Routes API 성공 응답에서 (직선 거리, 이동 수단, 지역, 소요 시간) 샘플을 수집합니다.
+ * - 지역(위경도 격자) + 이동 수단별로 "소요 시간(분) = a + b × 직선 거리(km)" 를 점진적으로 학습합니다.
+ * - 샘플을 반영하기 전에 먼저 예측해 본 오차(prequential error)를 누적하므로,
+ *   보고되는 오차는 학습에 사용되지 않은 데이터 기준의 정직한 오차입니다.
+ * - 같은 샘플을 이동 수단별 전체 모델에도 반영하여, 지역 모델이 아직 준비되지 않은 곳은 전체 모델로 대신 추정합니다.
+ */
+@Service
+public class TravelTimeModel {
+
+    /** 지역 격자 크기 (도 단위, 0.5도 ≒ 도시 하나 크기) */
+    private static final double REGION_CELL_DEGREES = 0.5;
+
+    /** 이동 수단별 전체 모델의 지역 키 */
+    private static final String ANY_REGION = "*:*";
+
+    /** 메모리 보호를 위한 최대 모델 수 (지역 × 이동 수단) */
+    private static final int MAX_MODELS = 10_000;
+
+    /** 모델을 사용하기 위한 최소 샘플 수 */
+    @Value("${routes.model.min-samples:20}")
+    private int minSamples;
+
+    private final Map<String, RegressionStats> models = new ConcurrentHashMap<>();
+
+    /**
+     * Routes API 성공 응답을 학습 샘플로 기록
+     *
+     * @param durationMinutes 실제 소요 시간 (분)
+     */
+    public void record(double originLat, double originLng, double destLat, double destLng,
+                       String travelMode, double durationMinutes) {
+        if (durationMinutes < 0 || Double.isNaN(durationMinutes)) {
+            return;
+        }
+        double distanceKm = GeoUtils.haversineKm(originLat, originLng, destLat, destLng);
+        models.computeIfAbsent(ANY_REGION + ":" + normalizeMode(travelMode), k -> new RegressionStats())
+                .add(distanceKm, durationMinutes);
+
+        String key = modelKey(originLat, originLng, travelMode);
+        RegressionStats stats = models.get(key);
+        if (stats == null) {
+            if (models.size() >= MAX_MODELS) {
+                return;
+            }
+            stats = models.computeIfAbsent(key, k -> new RegressionStats());
+        }
+        stats.add(distanceKm, durationMinutes);
+    }
+
+    /**
+     * 학습된 모델로 이동 시간 추정
+     * - 지역 모델이 준비되지 않았으면 이동 수단별 전체 모델로 추정 (Estimate.regional = false)
+     * - 둘 다 샘플이 부족하거나 모델이 비정상(음수 기울기 등)이면 empty 반환
+     */
+    public Optional<Estimate> estimate(double originLat, double originLng, double destLat, double destLng,
+                                       String travelMode) {
+        double distanceKm = GeoUtils.haversineKm(originLat, originLng, destLat, destLng);
+        RegressionStats regional = models.get(modelKey(originLat, originLng, travelMode));
+        if (regional != null) {
+            Optional<Estimate> estimate = regional.estimate(distanceKm, minSamples, true);
+            if (estimate.isPresent()) {
+                return estimate;
+            }
+        }
+        RegressionStats global = models.get(ANY_REGION + ":" + normalizeMode(travelMode));
+        if (global == null) {
+            return Optional.empty();
+        }
+        return global.estimate(distanceKm, minSamples, false);
+    }
+
+    /** 모델별 학습 현황 (오차 측정용) */
+    public List<ModelSummary> summaries() {
+        List<ModelSummary> result = new ArrayList<>();
+        models.forEach((key, stats) -> result.add(stats.summary(key)));
+        result.sort((a, b) -> Long.compare(b.samples, a.samples));
+        return result;
+    }
+
+    private static String modelKey(double lat, double lng, String travelMode) {
+        long latCell = (long) Math.floor(lat / REGION_CELL_DEGREES);
+        long lngCell = (long) Math.floor(lng / REGION_CELL_DEGREES);
+        return latCell + ":" + lngCell + ":" + normalizeMode(travelMode);
+    }
+
+    private static String normalizeMode(String travelMode) {
+        return travelMode == null ? "TRANSIT" : travelMode.toUpperCase(Locale.ROOT);
+    }
+
+    /** 테스트용 최소 샘플 수 설정 */
+    void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    /** 추정 결과 (분 단위 소요 시간 + 측정된 오차) */
+    public static class Estimate {
+        public final double durationMinutes;
+        /** 예측 오차의 RMSE (분) */
+        public final double errorMinutes;
+        public final long samples;
+        /** 지역 모델의 추정이면 true, 이동 수단별 전체 모델로 대신 추정했으면 false */
+        public final boolean regional;
+
+        Estimate(double durationMinutes, double errorMinutes, long samples, boolean regional) {
+            this.durationMinutes = durationMinutes;
+            this.errorMinutes = errorMinutes;
+            this.samples = samples;
+            this.regional = regional;
+        }
+    }
+
+    /** 모델 요약 (GET /api/routes/model 응답용) */
+    public static class ModelSummary {
+        public String region;
+        public String travelMode;
+        public long samples;
+        public double interceptMinutes;
+        public double minutesPerKm;
+        public double rmseMinutes;
+        public double maeMinutes;
+    }
+
+    /**
+     * 단순 선형 회귀의 충분 통계량
+     * - 샘플 원본은 저장하지 않고 합계만 유지하므로 메모리가 일정합니다.
+     */
+    static class RegressionStats {
+        private long n;
+        private double sumX;
+        private double sumY;
+        private double sumXX;
+        private double sumXY;
+
+        /** 학습 전에 예측해 본 샘플 수와 오차 합계 */
+        private long errorSamples;
+        private double sumSquaredError;
+        private double sumAbsError;
+
+        synchronized void add(double x, double y) {
+            double[] coef = coefficients();
+            if (coef != null) {
+                double err = y - (coef[0] + coef[1] * x);
+                errorSamples++;
+                sumSquaredError += err * err;
+                sumAbsError += Math.abs(err);
+            }
+            n++;
+            sumX += x;
+            sumY += y;
+            sumXX += x * x;
+            sumXY += x * y;
+        }
+
+        synchronized Optional<Estimate> estimate(double x, int minSamples, boolean regional) {
+            if (n < minSamples || errorSamples == 0) {
+                return Optional.empty();
+            }
+            double[] coef = coefficients();
+            if (coef == null) {
+                return Optional.empty();
+            }
+            double minutes = Math.max(0, coef[0] + coef[1] * x);
+            double rmse = Math.sqrt(sumSquaredError / errorSamples);
+            return Optional.of(new Estimate(minutes, rmse, n, regional));
+        }
+
+        synchronized ModelSummary summary(String key) {
+            String[] parts = key.split(":");
+            ModelSummary s = new ModelSummary();
+            s.region = parts[0] + ":" + parts[1];
+            s.travelMode = parts[2];
+            s.samples = n;
+            double[] coef = coefficients();
+            if (coef != null) {
+                s.interceptMinutes = coef[0];
+                s.minutesPerKm = coef[1];
+            }
+            if (errorSamples > 0) {
+                s.rmseMinutes = Math.sqrt(sumSquaredError / errorSamples);
+                s.maeMinutes = sumAbsError / errorSamples;
+            }
+            return s;
+        }
+
+        /**
+         * 최소제곱 계수 [절편, 기울기]
+         * - 거리 분산이 없거나 기울기가 0 이하라면 원점을 지나는 비율 모델로 대체
+         */
+        private double[] coefficients() {
+            if (n < 2) {
+                return null;
+            }
+            double denom = n * sumXX - sumX * sumX;
+            if (denom > 1e-9) {
+                double slope = (n * sumXY - sumX * sumY) / denom;
+                double intercept = (sumY - slope * sumX) / n;
+                if (slope > 0 && intercept >= 0) {
+                    return new double[]{intercept, slope};
+                }
+            }
+            if (sumXX > 1e-9) {
+                double slope = sumXY / sumXX;
+                if (slope > 0) {
+                    return new double[]{0, slope};
+                }
+            }
+            return null;
+        }
+    }
+}
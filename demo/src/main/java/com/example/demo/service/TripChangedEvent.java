@@ -0,0 +1,22 @@
+package com.example.demo.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 여행 내용 변경 이벤트 (생성/수정/삭제)
+ * - 쓰기 경로에서 발행하고, 메모리 색인 등은 @TransactionalEventListener로 커밋 후에 DB에서 다시 읽어 반영
+ * - 삭제 여부는 담지 않음 (받는 쪽에서 다시 조회했을 때 없으면 삭제된 것)
+ */
+public class TripChangedEvent {
+
+    private final List<Long> tripIds;
+
+    public TripChangedEvent(Collection<Long> tripIds) {
+        this.tripIds = List.copyOf(tripIds);
+    }
+
+    public List<Long> getTripIds() {
+        return tripIds;
+    }
+}
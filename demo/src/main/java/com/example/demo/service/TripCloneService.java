@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 여행 복제 (DB 안에서 INSERT … SELECT로 여행/일차/일정을 한 번에 복사)
+ * - 엔티티 로딩/JSON 변환 없이 문장 1개로 trips → trip_days → trip_itinerary_items 복사
+ *   (데이터 변경 CTE의 FK 검사는 문장 끝에서 하므로 부모/자식을 한 문장에서 넣을 수 있음)
+ * - 새 ID는 SequenceIdAllocator로 미리 받아 배열로 넘기고, 원본 행 순번(ROW_NUMBER)과 짝지어 사용
+ * - 일정 순위(order_rank)/구간 이동 정보는 그대로 복사되므로 순위 재계산이나 구간 보강이 필요 없음
+ */
+@Service
+public class TripCloneService {
+
+    private static final String CLONE_SQL = """
+            WITH src_days AS (
+                SELECT d.*, ROW_NUMBER() OVER (ORDER BY d.day_number, d.id) AS rn
+                FROM trip_days d WHERE d.trip_id = ?
+            ), day_map AS (
+                SELECT s.id AS old_id, n.id AS new_id
+                FROM src_days s JOIN unnest(?::bigint[]) WITH ORDINALITY AS n(id, rn) ON n.rn = s.rn
+            ), src_items AS (
+                SELECT i.*, ROW_NUMBER() OVER (ORDER BY i.id) AS rn
+                FROM trip_itinerary_items i JOIN trip_days d ON d.id = i.trip_day_id WHERE d.trip_id = ?
+            ), item_map AS (
+                SELECT s.id AS old_id, n.id AS new_id
+                FROM src_items s JOIN unnest(?::bigint[]) WITH ORDINALITY AS n(id, rn) ON n.rn = s.rn
+            ), new_trip AS (
+                INSERT INTO trips (id, user_id, title, destination, destination_place_id, destination_lat, destination_lng,
+                                   start_date, end_date, num_adults, num_children, total_budget, status,
+                                   days_count, items_count, content_version, created_at, updated_at)
+                SELECT ?, COALESCE(?, t.user_id), COALESCE(?, LEFT(t.title || ' (복사본)', 200)), t.destination,
+                       t.destination_place_id, t.destination_lat, t.destination_lng, t.start_date + ?, t.end_date + ?,
+                       t.num_adults, t.num_children, t.total_budget, 'planning',
+                       (SELECT COUNT(*) FROM day_map), (SELECT COUNT(*) FROM item_map), 0, LOCALTIMESTAMP, LOCALTIMESTAMP
+                FROM trips t WHERE t.id = ?
+                RETURNING id
+            ), new_days AS (
+                INSERT INTO trip_days (id, trip_id, day_number, date, day_start_time, day_end_time, accommodation_json)
+                SELECT m.new_id, ?, s.day_number, s.date + ?, s.day_start_time, s.day_end_time, s.accommodation_json
+                FROM src_days s JOIN day_map m ON m.old_id = s.id
+                RETURNING id
+            ), new_items AS (
+                INSERT INTO trip_itinerary_items (id, trip_day_id, place_id, title, description, location_name, address,
+                                                  latitude, longitude, start_time, end_time, category, stay_duration_minutes,
+                                                  travel_to_next_distance_km, travel_to_next_duration_minutes,
+                                                  travel_to_next_mode, travel_to_next_polyline, order_sequence, order_rank)
+                SELECT im.new_id, dm.new_id, s.place_id, s.title, s.description, s.location_name, s.address,
+                       s.latitude, s.longitude, s.start_time, s.end_time, s.category, s.stay_duration_minutes,
+                       s.travel_to_next_distance_km, s.travel_to_next_duration_minutes,
+                       s.travel_to_next_mode, s.travel_to_next_polyline, s.order_sequence, s.order_rank
+                FROM src_items s JOIN item_map im ON im.old_id = s.id JOIN day_map dm ON dm.old_id = s.trip_day_id
+                RETURNING id
+            )
+            SELECT (SELECT COUNT(*) FROM new_trip), (SELECT COUNT(*) FROM new_days), (SELECT COUNT(*) FROM new_items)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SequenceIdAllocator idAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TripCloneService(JdbcTemplate jdbcTemplate, SequenceIdAllocator idAllocator, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 여행 복제
+     *
+     * @param sourceId 원본 여행 ID
+     * @param userId 새 소유자 (null이면 원본과 같은 사용자)
+     * @param title 새 제목 (null이면 "원본 제목 (복사본)")
+     * @param startDate 새 시작일 (null이면 원본 날짜 그대로, 지정 시 모든 일차 날짜를 같은 만큼 이동)
+     * @return 새 여행 ID
+     */
+    @Transactional
+    public Long cloneTrip(Long sourceId, Long userId, String title, LocalDate startDate) {
+        long started = System.nanoTime();
+
+        // 원본 여행 행 공유 잠금: 복제 중에 일정이 바뀌면(쓰기 경로는 모두 trips.content_version 갱신) 커밋까지 대기
+        List<LocalDate> source = jdbcTemplate.queryForList(
+                "SELECT start_date FROM trips WHERE id = ? FOR SHARE", LocalDate.class, sourceId);
+        if (source.isEmpty()) {
+            System.err.println("❌ 여행을 찾을 수 없음: " + sourceId);
+            throw new RuntimeException("여행을 찾을 수 없습니다: " + sourceId);
+        }
+        if (userId != null && jdbcTemplate.queryForList("SELECT id FROM users WHERE id = ?", Long.class, userId).isEmpty()) {
+            System.err.println("❌ 사용자를 찾을 수 없음: " + userId);
+            throw new RuntimeException("사용자를 찾을 수 없습니다: " + userId);
+        }
+        int shiftDays = startDate != null ? (int) ChronoUnit.DAYS.between(source.get(0), startDate) : 0;
+
+        int[] counts = jdbcTemplate.queryForObject("""
+                SELECT (SELECT COUNT(*) FROM trip_days WHERE trip_id = ?),
+                       (SELECT COUNT(*) FROM trip_itinerary_items i JOIN trip_days d ON d.id = i.trip_day_id WHERE d.trip_id = ?)
+                """, (rs, n) -> new int[]{rs.getInt(1), rs.getInt(2)}, sourceId, sourceId);
+        long tripId = idAllocator.allocate("trips_seq", 1)[0];
+        Long[] dayIds = boxed(idAllocator.allocate("trip_days_seq", counts[0]));
+        Long[] itemIds = boxed(idAllocator.allocate("trip_itinerary_items_seq", counts[1]));
+
+        int[] copied = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(CLONE_SQL);
+            Array dayArray = con.createArrayOf("bigint", dayIds);
+            Array itemArray = con.createArrayOf("bigint", itemIds);
+            int i = 1;
+            ps.setLong(i++, sourceId);
+            ps.setArray(i++, dayArray);
+            ps.setLong(i++, sourceId);
+            ps.setArray(i++, itemArray);
+            ps.setLong(i++, tripId);
+            ps.setObject(i++, userId, Types.BIGINT);
+            ps.setString(i++, title != null && !title.isBlank() ? title.trim() : null);
+            ps.setInt(i++, shiftDays);
+            ps.setInt(i++, shiftDays);
+            ps.setLong(i++, sourceId);
+            ps.setLong(i++, tripId);
+            ps.setInt(i++, shiftDays);
+            return ps;
+        }, rs -> rs.next() ? new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)} : null);
+
+        // 잠금으로 개수가 바뀔 수 없지만, 어긋나면 일부만 복사된 여행이 남지 않도록 롤백
+        if (copied == null || copied[0] != 1 || copied[1] != counts[0] || copied[2] != counts[1]) {
+            throw new IllegalStateException("여행 복제 중 원본이 변경되었습니다: " + sourceId);
+        }
+        eventPublisher.publishEvent(new TripChangedEvent(List.of(tripId)));
+        System.out.println("✅ 여행 복제 완료 - 원본 ID: " + sourceId + " → 새 ID: " + tripId + ", 일차 " + counts[0]
+                + "개, 일정 항목 " + counts[1] + "개" + (shiftDays != 0 ? ", 날짜 이동 " + shiftDays + "일" : "")
+                + " (" + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        return tripId;
+    }
+
+    private static Long[] boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().toArray(Long[]::new);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.TripRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * trips.days_count / items_count 카운터 복구 작업
+ * - 평소에는 일차/일정 생성·삭제 경로에서 같은 트랜잭션으로 증감하지만,
+ *   직접 SQL 수정이나 컬럼 추가 직후(기존 행은 0) 등으로 어긋난 값을 실제 개수로 재계산합니다.
+ * - 어긋난 여행을 먼저 찾은 뒤, 여행 1건씩 별도 트랜잭션에서 행을 잠그고 다시 세어 갱신합니다.
+ *   (잠금 없이 세어 덮어쓰면 그 사이 커밋된 adjustCounts 증감이 유실될 수 있음)
+ * - 애플리케이션 시작 시 1회 + 매일 cron 주기로 실행
+ */
+@Service
+public class TripCounterRepairJob {
+
+    private final TripRepository tripRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TripCounterRepairJob(TripRepository tripRepository, PlatformTransactionManager transactionManager) {
+        this.tripRepository = tripRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${trips.counters.repair-cron:0 30 4 * * *}")
+    public void repair() {
+        try {
+            long started = System.nanoTime();
+            List<Long> candidates = tripRepository.findIdsWithCountMismatch();
+            int fixed = 0;
+            for (Long tripId : candidates) {
+                Integer updated = transactionTemplate.execute(status -> tripRepository.lockById(tripId).isPresent()
+                        ? tripRepository.repairCountsById(tripId)
+                        : 0);
+                fixed += updated == null ? 0 : updated;
+            }
+            System.out.println("🔧 여행 카운터 점검 완료 - 후보 " + candidates.size() + "건, 보정 " + fixed + "건 ("
+                    + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        } catch (Exception e) {
+            System.err.println("❌ 여행 카운터 복구 실패: " + e.getMessage());
+        }
+    }
+}
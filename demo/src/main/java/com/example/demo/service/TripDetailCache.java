@@ -0,0 +1,231 @@
+package com.example.demo.service;
+
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.repository.TripRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 여행 상세(GET /api/trips/{id}) 응답 캐시
+ * - Redis: trip:detail:{tripId}:{contentVersion} → 직렬화된 TripDtos.Resp (TTL)
+ * - 로컬 near-cache: 서버 메모리 LRU (tripId → 버전 + 응답), Redis 왕복/역직렬화 생략
+ * - 현재 버전은 호출 측이 TripRepository.findContentVersionById(PK 조회 1회)로 읽어 전달
+ * - 모든 쓰기 경로는 invalidate()로 trips.content_version을 같은 트랜잭션에서 올리므로
+ *   이전 버전 캐시는 키가 달라져 더 이상 조회되지 않음 (남은 키는 TTL로 만료)
+ * - 커밋 후 Redis Pub/Sub으로 무효화 메시지를 보내 다른 서버의 로컬 캐시도 비움
+ * - Redis 오류 시에는 캐시 없이 DB 조회로 동작
+ * - invalidate/evictDeleted는 TripChangedEvent도 발행 (검색 색인 등이 커밋 후 반영)
+ */
+@Service
+public class TripDetailCache {
+
+    /** Redis 키 접두어 */
+    static final String KEY_PREFIX = "trip:detail:";
+
+    /** 로컬 캐시 무효화 채널 (메시지: tripId) */
+    static final String EVICT_CHANNEL = "trip:detail:evict";
+
+    @Value("${trips.detail-cache.enabled:true}")
+    private boolean enabled;
+
+    /** Redis 캐시 유효 시간 (분) */
+    @Value("${trips.detail-cache.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    /** 로컬 near-cache 최대 여행 수 */
+    @Value("${trips.detail-cache.local-size:500}")
+    private int localSize;
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final TripRepository tripRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 로컬 near-cache (접근 순서 LRU) - 캐시된 응답은 읽기 전용으로만 사용 */
+    private Map<Long, Entry> local;
+
+    public TripDetailCache(StringRedisTemplate redis, ObjectMapper objectMapper, TripRepository tripRepository,
+                           JdbcTemplate jdbcTemplate, RedisMessageListenerContainer listenerContainer,
+                           ApplicationEventPublisher eventPublisher) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.tripRepository = tripRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.listenerContainer = listenerContainer;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void init() {
+        final int max = Math.max(1, localSize);
+        local = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > max;
+            }
+        });
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                local.remove(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (NumberFormatException ignored) {
+                // 형식이 맞지 않는 메시지는 무시
+            }
+        }, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 캐시된 상세 응답 조회 (로컬 → Redis 순서)
+     *
+     * @param version 호출 측에서 조회한 현재 trips.content_version (ETag와 같은 값)
+     * @return 해당 버전의 캐시된 응답 (없으면 null → 호출 측에서 DB 조회 후 put)
+     */
+    public TripDtos.Resp get(Long tripId, long version) {
+        if (!enabled || tripId == null) {
+            return null;
+        }
+        Entry entry = local.get(tripId);
+        if (entry != null && entry.version == version) {
+            return entry.resp;
+        }
+        try {
+            String json = redis.opsForValue().get(key(tripId, version));
+            if (json == null) {
+                return null;
+            }
+            TripDtos.Resp resp = objectMapper.readValue(json, TripDtos.Resp.class);
+            local.put(tripId, new Entry(version, resp));
+            return resp;
+        } catch (Exception e) {
+            System.err.println("⚠️ 여행 상세 캐시 조회 실패 - Trip ID: " + tripId + ", " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * DB에서 만든 상세 응답 저장
+     *
+     * @param version 응답을 만들 때 읽은 trips.content_version (일정 항목보다 먼저 읽은 값)
+     */
+    public void put(Long tripId, Long version, TripDtos.Resp resp) {
+        if (!enabled || tripId == null || version == null || resp == null) {
+            return;
+        }
+        local.put(tripId, new Entry(version, resp));
+        try {
+            redis.opsForValue().set(key(tripId, version), objectMapper.writeValueAsString(resp), Duration.ofMinutes(ttlMinutes));
+        } catch (Exception e) {
+            System.err.println("⚠️ 여행 상세 캐시 저장 실패 - Trip ID: " + tripId + ", " + e.getMessage());
+        }
+    }
+
+    /**
+     * 여행 내용 변경 알림 (쓰기 경로에서 호출, 쓰기와 같은 트랜잭션 안에서)
+     * - content_version 증가 → 커밋 후 로컬/다른 서버 캐시 무효화
+     */
+    public void invalidate(Long tripId) {
+        if (tripId == null) {
+            return;
+        }
+        tripRepository.bumpVersion(tripId);
+        evictAfterCommit(List.of(tripId));
+        eventPublisher.publishEvent(new TripChangedEvent(List.of(tripId)));
+    }
+
+    /**
+     * 새 여행 알림 (생성과 같은 트랜잭션 안에서)
+     * - 비울 캐시는 없고 변경 이벤트만 발행 (검색 색인 등 반영용)
+     */
+    public void created(Long tripId) {
+        if (tripId == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new TripChangedEvent(List.of(tripId)));
+    }
+
+    /**
+     * 일차 단위 변경 알림 (트랜잭션 밖의 JDBC 일괄 갱신용 - 예: 구간 보강 워커)
+     * - 일차가 속한 여행들의 content_version을 한 문장으로 증가
+     */
+    public void invalidateDays(Collection<Long> dayIds) {
+        if (dayIds == null || dayIds.isEmpty()) {
+            return;
+        }
+        String placeholders = dayIds.stream().map(id -> "?").collect(Collectors.joining(","));
+        List<Long> tripIds = jdbcTemplate.queryForList(
+                "UPDATE trips SET content_version = content_version + 1, updated_at = CURRENT_TIMESTAMP "
+                        + "WHERE id IN (SELECT trip_id FROM trip_days WHERE id IN (" + placeholders + ")) RETURNING id",
+                Long.class, dayIds.toArray());
+        evictAfterCommit(tripIds);
+    }
+
+    /**
+     * 삭제된 여행 알림 (삭제와 같은 트랜잭션 안에서)
+     * - 버전을 올릴 행이 없으므로 커밋 후 로컬/다른 서버 캐시만 비움 (Redis 키는 TTL로 만료)
+     */
+    public void evictDeleted(Collection<Long> tripIds) {
+        if (tripIds == null || tripIds.isEmpty()) {
+            return;
+        }
+        evictAfterCommit(tripIds);
+        eventPublisher.publishEvent(new TripChangedEvent(tripIds));
+    }
+
+    private void evictAfterCommit(Collection<Long> tripIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(tripIds);
+                }
+            });
+        } else {
+            evict(tripIds);
+        }
+    }
+
+    private void evict(Collection<Long> tripIds) {
+        for (Long tripId : tripIds) {
+            local.remove(tripId);
+            try {
+                redis.convertAndSend(EVICT_CHANNEL, tripId.toString());
+            } catch (Exception e) {
+                System.err.println("⚠️ 여행 상세 캐시 무효화 전송 실패 - Trip ID: " + tripId + ", " + e.getMessage());
+            }
+        }
+    }
+
+    private static String key(Long tripId, long version) {
+        return KEY_PREFIX + tripId + ":" + version;
+    }
+
+    /** 로컬 캐시 항목 (버전 + 응답) */
+    private static final class Entry {
+        final long version;
+        final TripDtos.Resp resp;
+
+        Entry(long version, TripDtos.Resp resp) {
+            this.version = version;
+            this.resp = resp;
+        }
+    }
+}
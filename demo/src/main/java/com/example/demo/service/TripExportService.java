@@ -0,0 +1,251 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 여행 전체 내보내기 (NDJSON / CSV 스트리밍)
+ * - trips ⟕ trip_days ⟕ trip_itinerary_items 조인 결과를 여행 ID 순으로 전진 전용(forward-only) JDBC 커서로 읽고,
+ *   읽는 즉시 출력 스트림에 씁니다. (fetch size 단위로만 메모리에 올라오므로 데이터 양과 무관하게 메모리 사용량 일정)
+ * - PostgreSQL 드라이버는 자동 커밋이 꺼진 트랜잭션 안에서만 커서(fetch size)를 사용하므로 읽기 전용 트랜잭션으로 감쌈
+ * - NDJSON: 여행 1건 = 1줄 (일차/일정 포함, TripImportService가 같은 형식을 읽을 수 있음)
+ * - CSV: 일정 항목 1건 = 1행 (여행/일차 컬럼 반복, 일정이 없는 일차/여행도 1행)
+ */
+@Service
+public class TripExportService {
+
+    /** 여행 → 일차 → 일정 순서로 정렬된 조인 (같은 여행의 행이 연속으로 나오도록) */
+    private static final String EXPORT_SQL = """
+            SELECT t.id AS trip_id, t.user_id, t.title AS trip_title, t.destination, t.destination_place_id,
+                   t.destination_lat, t.destination_lng, t.start_date, t.end_date, t.num_adults, t.num_children,
+                   t.total_budget, t.status, t.created_at, t.updated_at,
+                   d.id AS day_id, d.day_number, d.date AS day_date, d.day_start_time, d.day_end_time, d.accommodation_json,
+                   i.id AS item_id, i.place_id, i.title AS item_title, i.description, i.location_name, i.address,
+                   i.latitude, i.longitude, i.start_time, i.end_time, i.category, i.stay_duration_minutes,
+                   i.travel_to_next_distance_km, i.travel_to_next_duration_minutes, i.travel_to_next_mode,
+                   i.travel_to_next_polyline
+            FROM trips t
+            LEFT JOIN trip_days d ON d.trip_id = t.id
+            LEFT JOIN trip_itinerary_items i ON i.trip_day_id = d.id
+            WHERE (CAST(? AS BIGINT) IS NULL OR t.user_id = ?)
+            ORDER BY t.id, d.day_number, d.id, i.order_rank NULLS LAST, i.order_sequence, i.id
+            """;
+
+    private static final String[] CSV_HEADER = {
+            "trip_id", "user_id", "trip_title", "destination", "start_date", "end_date", "num_adults", "num_children",
+            "total_budget", "status", "day_id", "day_number", "day_date", "day_start_time", "day_end_time",
+            "item_id", "item_order", "place_id", "item_title", "location_name", "address", "latitude", "longitude",
+            "start_time", "end_time", "category", "stay_duration_minutes", "travel_to_next_distance_km",
+            "travel_to_next_duration_minutes", "travel_to_next_mode"
+    };
+
+    /** 커서가 한 번에 가져오는 행 수 */
+    @Value("${trips.export.fetch-size:500}")
+    private int fetchSize;
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public TripExportService(DataSource dataSource, PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * NDJSON 내보내기
+     *
+     * @param userId 특정 사용자만 (null이면 전체)
+     * @return 내보낸 여행 수
+     */
+    public long exportNdjson(Long userId, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        long[] trips = {0};
+        ObjectNode[] current = {null};
+        ArrayNode[] currentItems = {null};
+        long[] currentDayId = {-1};
+
+        stream(userId, rs -> {
+            long tripId = rs.getLong("trip_id");
+            if (current[0] == null || current[0].get("id").asLong() != tripId) {
+                writeLine(json, current[0]);
+                if (current[0] != null) trips[0]++;
+                current[0] = tripNode(rs);
+                currentDayId[0] = -1;
+            }
+            long dayId = rs.getLong("day_id");
+            if (rs.wasNull()) return;
+            if (dayId != currentDayId[0]) {
+                ObjectNode day = ((ArrayNode) current[0].get("days")).addObject();
+                day.put("id", dayId);
+                day.put("dayNumber", rs.getInt("day_number"));
+                day.put("date", rs.getString("day_date"));
+                day.put("dayStartTime", rs.getString("day_start_time"));
+                day.put("dayEndTime", rs.getString("day_end_time"));
+                day.put("accommodationJson", rs.getString("accommodation_json"));
+                currentItems[0] = day.putArray("itineraryItems");
+                currentDayId[0] = dayId;
+            }
+            long itemId = rs.getLong("item_id");
+            if (rs.wasNull()) return;
+            ObjectNode item = currentItems[0].addObject();
+            item.put("id", itemId);
+            item.put("placeId", rs.getString("place_id"));
+            item.put("title", rs.getString("item_title"));
+            item.put("description", rs.getString("description"));
+            item.put("locationName", rs.getString("location_name"));
+            item.put("address", rs.getString("address"));
+            item.put("latitude", rs.getBigDecimal("latitude"));
+            item.put("longitude", rs.getBigDecimal("longitude"));
+            item.put("startTime", rs.getString("start_time"));
+            item.put("endTime", rs.getString("end_time"));
+            item.put("category", rs.getString("category"));
+            item.put("stayDurationMinutes", rs.getObject("stay_duration_minutes", Integer.class));
+            item.put("travelToNextDistanceKm", rs.getBigDecimal("travel_to_next_distance_km"));
+            item.put("travelToNextDurationMinutes", rs.getObject("travel_to_next_duration_minutes", Integer.class));
+            item.put("travelToNextMode", rs.getString("travel_to_next_mode"));
+            item.put("travelToNextPolyline", rs.getString("travel_to_next_polyline"));
+            item.put("orderSequence", currentItems[0].size());
+        });
+        writeLine(json, current[0]);
+        if (current[0] != null) trips[0]++;
+        json.flush();
+        return trips[0];
+    }
+
+    /**
+     * CSV 내보내기 (UTF-8 BOM 포함 - 엑셀에서 한글이 깨지지 않도록)
+     *
+     * @return 내보낸 행 수 (헤더 제외)
+     */
+    public long exportCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        writeCsvRow(writer, CSV_HEADER);
+        long[] rows = {0};
+        long[] lastDayId = {-1};
+        int[] order = {0};
+
+        stream(userId, rs -> {
+            long dayId = rs.getLong("day_id");
+            boolean hasDay = !rs.wasNull();
+            if (!hasDay || dayId != lastDayId[0]) {
+                order[0] = 0;
+                lastDayId[0] = hasDay ? dayId : -1;
+            }
+            rs.getLong("item_id");
+            boolean hasItem = !rs.wasNull();
+            String[] row = {
+                    rs.getString("trip_id"), rs.getString("user_id"), rs.getString("trip_title"), rs.getString("destination"),
+                    rs.getString("start_date"), rs.getString("end_date"), rs.getString("num_adults"), rs.getString("num_children"),
+                    rs.getString("total_budget"), rs.getString("status"), rs.getString("day_id"), rs.getString("day_number"),
+                    rs.getString("day_date"), rs.getString("day_start_time"), rs.getString("day_end_time"),
+                    rs.getString("item_id"), hasItem ? String.valueOf(++order[0]) : null, rs.getString("place_id"),
+                    rs.getString("item_title"), rs.getString("location_name"), rs.getString("address"),
+                    rs.getString("latitude"), rs.getString("longitude"), rs.getString("start_time"), rs.getString("end_time"),
+                    rs.getString("category"), rs.getString("stay_duration_minutes"), rs.getString("travel_to_next_distance_km"),
+                    rs.getString("travel_to_next_duration_minutes"), rs.getString("travel_to_next_mode")
+            };
+            try {
+                writeCsvRow(writer, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        writer.flush();
+        return rows[0];
+    }
+
+    /** 읽기 전용 트랜잭션 안에서 커서로 한 행씩 처리 */
+    private void stream(Long userId, RowHandler handler) throws IOException {
+        try {
+            readOnlyTx.executeWithoutResult(status -> cursorTemplate.query(con -> {
+                var ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setObject(1, userId, java.sql.Types.BIGINT);
+                ps.setObject(2, userId, java.sql.Types.BIGINT);
+                return ps;
+            }, handler::handle));
+        } catch (UncheckedIOException e) {
+            // 클라이언트 연결 끊김 등 출력 오류는 원래 IOException으로 전달
+            throw e.getCause();
+        }
+    }
+
+    private ObjectNode tripNode(ResultSet rs) throws SQLException {
+        ObjectNode trip = objectMapper.createObjectNode();
+        trip.put("id", rs.getLong("trip_id"));
+        trip.put("userId", rs.getObject("user_id", Long.class));
+        trip.put("title", rs.getString("trip_title"));
+        trip.put("destination", rs.getString("destination"));
+        trip.put("destinationPlaceId", rs.getString("destination_place_id"));
+        trip.put("destinationLat", rs.getBigDecimal("destination_lat"));
+        trip.put("destinationLng", rs.getBigDecimal("destination_lng"));
+        trip.put("startDate", rs.getString("start_date"));
+        trip.put("endDate", rs.getString("end_date"));
+        trip.put("numAdults", rs.getObject("num_adults", Integer.class));
+        trip.put("numChildren", rs.getObject("num_children", Integer.class));
+        trip.put("totalBudget", rs.getObject("total_budget", Integer.class));
+        trip.put("status", rs.getString("status"));
+        trip.put("createdAt", rs.getString("created_at"));
+        trip.put("updatedAt", rs.getString("updated_at"));
+        trip.putArray("days");
+        return trip;
+    }
+
+    private void writeLine(JsonGenerator json, ObjectNode node) {
+        if (node == null) {
+            return;
+        }
+        try {
+            objectMapper.writeTree(json, node);
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            String v = values[i];
+            if (v == null) continue;
+            if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(v.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(v);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /** 커서 행 처리 (SQLException 전파 허용) */
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,629 @@
+package com.example.demo.service;
+
+import com.example.demo.api.dto.TripDayDtos;
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.api.dto.TripItineraryItemDtos;
+import com.example.demo.common.util.CsvReader;
+import com.example.demo.common.util.LexoRank;
+import com.example.demo.common.util.PolylineCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 여행 일괄 가져오기 (NDJSON / CSV / GPX 스트리밍)
+ * - 업로드 본문을 레코드 단위로 읽으며 바로 검증/변환하고, 일정 수의 여행이 모이면 한 트랜잭션에서
+ *   trips → trip_days → trip_itinerary_items 순서로 JDBC 일괄 INSERT 후 커밋 (청크 단위)
+ * - 메모리에는 현재 청크만 유지 (파일 전체를 읽지 않음)
+ * - 잘못된 레코드는 건너뛰고 오류 목록에 기록, 청크 저장이 실패하면 그 청크의 레코드만 실패 처리
+ * - ID는 SequenceIdAllocator로 엔티티와 같은 시퀀스에서 묶음 단위로 받음 (Hibernate 저장과 섞여도 충돌하지 않음)
+ *
+ * 형식:
+ * - ndjson: 한 줄 = 여행 1건 (TripDtos.CreateReq 형식 + 선택 userId, TripExportService 출력 그대로 사용 가능)
+ * - csv: 헤더 행 + 일정 1건 = 1행 (TripExportService CSV 컬럼), trip_id가 같은 연속 행이 여행 1건
+ * - gpx: 파일 1개 = 여행 1건, 웨이포인트(wpt)/경로점(rtept) = 일정, 시각(time)의 날짜별로 일차 구성
+ */
+@Service
+public class TripImportService {
+
+    /** 응답에 담는 최대 오류 수 (나머지는 개수만 집계) */
+    private static final int ERROR_LOG_LIMIT = 1000;
+
+    /** GPX 시각 → 일정 날짜/시간 변환 기준 */
+    private static final ZoneId GPX_ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final String INSERT_TRIP = """
+            INSERT INTO trips (id, user_id, title, destination, destination_place_id, destination_lat, destination_lng,
+                               start_date, end_date, num_adults, num_children, total_budget, status,
+                               days_count, items_count, content_version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'planning', ?, ?, 0, ?, ?)
+            """;
+
+    private static final String INSERT_DAY = """
+            INSERT INTO trip_days (id, trip_id, day_number, date, day_start_time, day_end_time, accommodation_json)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ITEM = """
+            INSERT INTO trip_itinerary_items (id, trip_day_id, place_id, title, description, location_name, address,
+                                              latitude, longitude, start_time, end_time, category, stay_duration_minutes,
+                                              travel_to_next_distance_km, travel_to_next_duration_minutes, travel_to_next_mode,
+                                              travel_to_next_polyline, order_sequence, order_rank)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** 한 트랜잭션에 저장하는 최대 여행 수 */
+    @Value("${trips.import.chunk-trips:200}")
+    private int chunkTrips;
+
+    /** 한 트랜잭션에 저장하는 최대 일정 수 (일정이 많은 여행이 몰린 경우 청크를 일찍 끊음) */
+    @Value("${trips.import.chunk-items:5000}")
+    private int chunkItems;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final LegEnrichmentService legEnrichmentService;
+    private final SequenceIdAllocator idAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PopularPlaceTracker popularPlaceTracker;
+
+    public TripImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, Validator validator, LegEnrichmentService legEnrichmentService,
+                             SequenceIdAllocator idAllocator, ApplicationEventPublisher eventPublisher,
+                             PopularPlaceTracker popularPlaceTracker) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idAllocator = idAllocator;
+        this.eventPublisher = eventPublisher;
+        this.popularPlaceTracker = popularPlaceTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.legEnrichmentService = legEnrichmentService;
+    }
+
+    /**
+     * NDJSON 가져오기
+     *
+     * @param userId 모든 여행의 소유자 (null이면 각 줄의 userId 사용)
+     */
+    public TripDtos.ImportResp importNdjson(InputStream in, Long userId) throws IOException {
+        Job job = new Job("ndjson");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!node.isObject()) {
+                    job.reject(lineNo, "JSON 형식 오류: 한 줄에 여행 객체 하나가 있어야 합니다.");
+                    continue;
+                }
+                Long owner = userId != null ? userId : (node.path("userId").canConvertToLong() ? node.path("userId").asLong() : null);
+                job.accept(lineNo, owner, objectMapper.treeToValue(node, TripDtos.CreateReq.class));
+            } catch (JsonProcessingException e) {
+                job.reject(lineNo, "JSON 형식 오류: " + e.getOriginalMessage());
+            }
+        }
+        return job.finish();
+    }
+
+    /**
+     * CSV 가져오기 (헤더 필수, 컬럼 순서 무관)
+     * - 필수 컬럼: trip_title, destination, start_date, end_date
+     * - 일차 컬럼(day_number, day_date)이 없으면 일차 없는 여행, item_title이 빈 행은 일정 없는 일차로 처리
+     *
+     * @param userId 모든 여행의 소유자 (null이면 user_id 컬럼 사용)
+     */
+    public TripDtos.ImportResp importCsv(InputStream in, Long userId) throws IOException {
+        Job job = new Job("csv");
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = csv.next();
+        if (header == null) {
+            return job.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        for (String required : List.of("trip_title", "destination", "start_date", "end_date")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV 헤더에 " + required + " 컬럼이 없습니다.");
+            }
+        }
+
+        CsvTrip current = null;
+        while (true) {
+            long rowLine = csv.line();
+            List<String> row;
+            try {
+                row = csv.next();
+            } catch (IllegalArgumentException e) {
+                job.reject(rowLine, e.getMessage());
+                break;
+            }
+            if (row == null) break;
+            if (row.size() == 1 && row.get(0).isBlank()) continue;
+            Function<String, String> col = name -> {
+                Integer idx = columns.get(name);
+                String v = idx != null && idx < row.size() ? row.get(idx).trim() : "";
+                return v.isEmpty() ? null : v;
+            };
+
+            String key = col.apply("trip_id") != null ? col.apply("trip_id")
+                    : col.apply("user_id") + "|" + col.apply("trip_title") + "|" + col.apply("start_date");
+            if (current == null || !current.key.equals(key)) {
+                if (current != null) current.submit(job, userId);
+                current = new CsvTrip(key, rowLine);
+            }
+            if (current.error != null) continue;
+            try {
+                current.addRow(col);
+            } catch (RuntimeException e) {
+                current.error = rowLine + "번째 줄: " + e.getMessage();
+            }
+        }
+        if (current != null) current.submit(job, userId);
+        return job.finish();
+    }
+
+    /**
+     * GPX 가져오기 (파일 1개 = 여행 1건)
+     * - 웨이포인트(wpt), 경로점(rtept)을 문서 순서대로 일정으로 변환 (트랙 점 trkpt는 일정이 아니므로 무시)
+     * - 시각이 없는 점은 앞 점과 같은 날짜, 첫 점부터 시각이 없으면 startDate 사용
+     *
+     * @param title 여행 제목 (null이면 GPX metadata/경로 이름)
+     * @param destination 여행지 (null이면 제목)
+     */
+    public TripDtos.ImportResp importGpx(InputStream in, Long userId, String title, String destination,
+                                         LocalDate startDate) throws IOException {
+        Job job = new Job("gpx");
+        try {
+            TripDtos.CreateReq trip = parseGpx(in, title, destination, startDate);
+            job.accept(1, userId, trip);
+        } catch (IllegalArgumentException e) {
+            job.reject(1, e.getMessage());
+        } catch (XMLStreamException e) {
+            job.reject(1, "GPX 형식 오류: " + e.getMessage());
+        }
+        return job.finish();
+    }
+
+    private TripDtos.CreateReq parseGpx(InputStream in, String title, String destination, LocalDate startDate)
+            throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // 외부 엔티티/DTD 비활성화 (XXE 방지)
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XMLStreamReader xml = factory.createXMLStreamReader(in);
+
+        TreeMap<LocalDate, List<TripItineraryItemDtos.CreateOrUpdateReq>> byDate = new TreeMap<>();
+        String gpxName = null;
+        TripItineraryItemDtos.CreateOrUpdateReq point = null;
+        LocalDate lastDate = startDate;
+        int points = 0;
+        List<String> path = new ArrayList<>();
+        try {
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    String parent = path.isEmpty() ? "" : path.get(path.size() - 1);
+                    path.add(name);
+                    if (name.equals("wpt") || name.equals("rtept")) {
+                        String lat = xml.getAttributeValue(null, "lat");
+                        String lon = xml.getAttributeValue(null, "lon");
+                        if (lat == null || lon == null) {
+                            throw new IllegalArgumentException((points + 1) + "번째 지점: 위도(lat)/경도(lon) 속성이 없습니다.");
+                        }
+                        point = new TripItineraryItemDtos.CreateOrUpdateReq();
+                        point.latitude = new BigDecimal(lat);
+                        point.longitude = new BigDecimal(lon);
+                        point.title = "지점 " + (++points);
+                    } else if (point != null && (name.equals("name") || name.equals("desc") || name.equals("type") || name.equals("time"))) {
+                        String text = xml.getElementText().trim();
+                        path.remove(path.size() - 1);
+                        if (text.isEmpty()) continue;
+                        switch (name) {
+                            case "name" -> point.title = text;
+                            case "desc" -> point.description = text;
+                            case "type" -> point.category = text;
+                            default -> {
+                                ZonedDateTime at = OffsetDateTime.parse(text).atZoneSameInstant(GPX_ZONE);
+                                point.startTime = at.toLocalTime().withNano(0);
+                                lastDate = at.toLocalDate();
+                            }
+                        }
+                    } else if (name.equals("name") && gpxName == null && (parent.equals("metadata") || parent.equals("rte") || parent.equals("trk"))) {
+                        gpxName = xml.getElementText().trim();
+                        path.remove(path.size() - 1);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = xml.getLocalName();
+                    path.remove(path.size() - 1);
+                    if (point != null && (name.equals("wpt") || name.equals("rtept"))) {
+                        if (lastDate == null) {
+                            throw new IllegalArgumentException("시각(time)이 없는 GPX는 startDate를 함께 지정해야 합니다.");
+                        }
+                        byDate.computeIfAbsent(lastDate, d -> new ArrayList<>()).add(point);
+                        point = null;
+                    }
+                }
+            }
+        } catch (NumberFormatException | java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException(points + "번째 지점: 좌표 또는 시각 형식이 잘못되었습니다.");
+        } finally {
+            xml.close();
+        }
+        if (byDate.isEmpty()) {
+            throw new IllegalArgumentException("GPX에 웨이포인트(wpt) 또는 경로점(rtept)이 없습니다.");
+        }
+
+        TripDtos.CreateReq trip = new TripDtos.CreateReq();
+        trip.title = title != null && !title.isBlank() ? title : (gpxName != null && !gpxName.isBlank() ? gpxName : "GPX 여행");
+        trip.destination = destination != null && !destination.isBlank() ? destination : trip.title;
+        LocalDate first = byDate.firstKey();
+        trip.startDate = first;
+        trip.endDate = byDate.lastKey();
+        trip.days = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<TripItineraryItemDtos.CreateOrUpdateReq>> e : byDate.entrySet()) {
+            TripDayDtos.CreateOrUpdateReq day = new TripDayDtos.CreateOrUpdateReq();
+            day.date = e.getKey();
+            day.dayNumber = (int) (e.getKey().toEpochDay() - first.toEpochDay()) + 1;
+            day.itineraryItems = e.getValue();
+            trip.days.add(day);
+        }
+        return trip;
+    }
+
+    /** CSV에서 조립 중인 여행 1건 (trip_id가 같은 연속 행) */
+    private static final class CsvTrip {
+        final String key;
+        final long line;
+        Long userId;
+        TripDtos.CreateReq trip;
+        final Map<Integer, TripDayDtos.CreateOrUpdateReq> days = new LinkedHashMap<>();
+        String error;
+
+        CsvTrip(String key, long line) {
+            this.key = key;
+            this.line = line;
+        }
+
+        void addRow(Function<String, String> col) {
+            if (trip == null) {
+                trip = new TripDtos.CreateReq();
+                trip.title = col.apply("trip_title");
+                trip.destination = col.apply("destination");
+                trip.destinationPlaceId = col.apply("destination_place_id");
+                trip.destinationLat = decimal(col.apply("destination_lat"));
+                trip.destinationLng = decimal(col.apply("destination_lng"));
+                trip.startDate = date(col.apply("start_date"));
+                trip.endDate = date(col.apply("end_date"));
+                trip.numAdults = integer(col.apply("num_adults"));
+                trip.numChildren = integer(col.apply("num_children"));
+                trip.totalBudget = integer(col.apply("total_budget"));
+                userId = col.apply("user_id") != null ? Long.valueOf(col.apply("user_id")) : null;
+            }
+            Integer dayNumber = integer(col.apply("day_number"));
+            if (dayNumber == null) {
+                return;
+            }
+            TripDayDtos.CreateOrUpdateReq day = days.get(dayNumber);
+            if (day == null) {
+                day = new TripDayDtos.CreateOrUpdateReq();
+                day.dayNumber = dayNumber;
+                day.date = date(col.apply("day_date"));
+                day.dayStartTime = time(col.apply("day_start_time"));
+                day.dayEndTime = time(col.apply("day_end_time"));
+                day.accommodationJson = col.apply("accommodation_json");
+                day.itineraryItems = new ArrayList<>();
+                days.put(dayNumber, day);
+            }
+            if (col.apply("item_title") == null) {
+                return;
+            }
+            TripItineraryItemDtos.CreateOrUpdateReq item = new TripItineraryItemDtos.CreateOrUpdateReq();
+            item.title = col.apply("item_title");
+            item.placeId = col.apply("place_id");
+            item.description = col.apply("description");
+            item.locationName = col.apply("location_name");
+            item.address = col.apply("address");
+            item.latitude = decimal(col.apply("latitude"));
+            item.longitude = decimal(col.apply("longitude"));
+            item.startTime = time(col.apply("start_time"));
+            item.endTime = time(col.apply("end_time"));
+            item.category = col.apply("category");
+            item.stayDurationMinutes = integer(col.apply("stay_duration_minutes"));
+            item.travelToNextDistanceKm = decimal(col.apply("travel_to_next_distance_km"));
+            item.travelToNextDurationMinutes = integer(col.apply("travel_to_next_duration_minutes"));
+            item.travelToNextMode = col.apply("travel_to_next_mode");
+            item.travelToNextPolyline = col.apply("travel_to_next_polyline");
+            item.orderSequence = integer(col.apply("item_order"));
+            day.itineraryItems.add(item);
+        }
+
+        void submit(Job job, Long forcedUserId) {
+            if (error != null) {
+                job.reject(line, error);
+                return;
+            }
+            trip.days = new ArrayList<>(days.values());
+            job.accept(line, forcedUserId != null ? forcedUserId : userId, trip);
+        }
+
+        private static BigDecimal decimal(String v) {
+            return v == null ? null : new BigDecimal(v);
+        }
+
+        private static Integer integer(String v) {
+            return v == null ? null : Integer.valueOf(v);
+        }
+
+        private static LocalDate date(String v) {
+            return v == null ? null : LocalDate.parse(v);
+        }
+
+        private static LocalTime time(String v) {
+            return v == null ? null : LocalTime.parse(v);
+        }
+    }
+
+    /** 검증을 통과한 여행 1건 (저장 대기) */
+    private static final class Pending {
+        final long record;
+        final Long userId;
+        final TripDtos.CreateReq trip;
+        final int items;
+
+        Pending(long record, Long userId, TripDtos.CreateReq trip, int items) {
+            this.record = record;
+            this.userId = userId;
+            this.trip = trip;
+            this.items = items;
+        }
+    }
+
+    /** 가져오기 1회의 진행 상태 (레코드 검증 → 청크 저장 → 결과 집계) */
+    private final class Job {
+        final long started = System.nanoTime();
+        final TripDtos.ImportResp report = new TripDtos.ImportResp();
+        final List<Pending> chunk = new ArrayList<>();
+        int chunkItemCount;
+
+        Job(String format) {
+            report.format = format;
+            report.errors = new ArrayList<>();
+        }
+
+        void accept(long record, Long userId, TripDtos.CreateReq trip) {
+            report.recordsRead++;
+            String error = prepare(userId, trip);
+            if (error != null) {
+                error(record, error);
+                return;
+            }
+            int items = trip.days.stream().mapToInt(d -> d.itineraryItems.size()).sum();
+            chunk.add(new Pending(record, userId, trip, items));
+            chunkItemCount += items;
+            if (chunk.size() >= chunkTrips || chunkItemCount >= chunkItems) {
+                flush();
+            }
+        }
+
+        void reject(long record, String message) {
+            report.recordsRead++;
+            error(record, message);
+        }
+
+        TripDtos.ImportResp finish() {
+            flush();
+            report.elapsedMs = (System.nanoTime() - started) / 1_000_000;
+            System.out.println("✅ 여행 가져오기 완료 - 형식: " + report.format + ", 여행 " + report.tripsImported
+                    + "건, 일차 " + report.daysImported + "개, 일정 " + report.itemsImported + "개, 실패 "
+                    + report.failed + "건 (" + report.elapsedMs + "ms)");
+            return report;
+        }
+
+        private void error(long record, String message) {
+            report.failed++;
+            if (report.errors.size() < ERROR_LOG_LIMIT) {
+                report.errors.add(new TripDtos.ImportError(record, message));
+            } else {
+                report.errorsTruncated = true;
+            }
+        }
+
+        /** 현재 청크를 한 트랜잭션으로 저장 */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Pending> batch = new ArrayList<>(chunk);
+            chunk.clear();
+            chunkItemCount = 0;
+
+            // 존재하지 않는 사용자의 여행은 레코드 오류로 처리 (FK 오류로 청크 전체가 실패하지 않도록)
+            Set<Long> userIds = batch.stream().map(p -> p.userId).collect(Collectors.toSet());
+            Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT id FROM users WHERE id IN (" + userIds.stream().map(id -> "?").collect(Collectors.joining(",")) + ")",
+                    Long.class, userIds.toArray()));
+            List<Pending> valid = new ArrayList<>(batch.size());
+            for (Pending p : batch) {
+                if (existing.contains(p.userId)) {
+                    valid.add(p);
+                } else {
+                    error(p.record, "사용자를 찾을 수 없습니다: " + p.userId);
+                }
+            }
+            if (valid.isEmpty()) {
+                return;
+            }
+
+            try {
+                List<Long> dayIds = transactionTemplate.execute(status -> insert(valid));
+                report.chunks++;
+                report.tripsImported += valid.size();
+                report.daysImported += dayIds.size();
+                report.itemsImported += valid.stream().mapToInt(p -> p.items).sum();
+                legEnrichmentService.enqueueDays(dayIds);
+                System.out.println("📥 여행 가져오기 진행 - 청크 " + report.chunks + ", 레코드 " + report.recordsRead
+                        + "건 읽음, 저장 " + report.tripsImported + "건, 실패 " + report.failed + "건");
+            } catch (DataAccessException e) {
+                String message = "저장 실패 (같은 청크의 레코드 " + valid.size() + "건 함께 롤백): " + e.getMostSpecificCause().getMessage();
+                System.err.println("❌ 여행 가져오기 청크 저장 실패: " + message);
+                for (Pending p : valid) {
+                    error(p.record, message);
+                }
+            }
+        }
+    }
+
+    /**
+     * 레코드 검증 + 저장 전 정리 (DTO 제약 조건 검사, 기본값, 일정 순서/경로 정리)
+     *
+     * @return 오류 메시지 (정상이면 null)
+     */
+    private String prepare(Long userId, TripDtos.CreateReq trip) {
+        if (userId == null) {
+            return "사용자 ID(userId)가 없습니다.";
+        }
+        if (trip.numAdults == null) trip.numAdults = 1;
+        if (trip.numChildren == null) trip.numChildren = 0;
+        if (trip.days == null) trip.days = new ArrayList<>();
+        String error = firstViolation(trip);
+        if (error != null) {
+            return error;
+        }
+        for (int d = 0; d < trip.days.size(); d++) {
+            TripDayDtos.CreateOrUpdateReq day = trip.days.get(d);
+            if (day == null) {
+                return (d + 1) + "번째 일차가 비어 있습니다(null).";
+            }
+            if (day.itineraryItems == null) day.itineraryItems = new ArrayList<>();
+            if ((error = firstViolation(day)) != null) {
+                return "일차 " + day.dayNumber + ": " + error;
+            }
+            List<TripItineraryItemDtos.CreateOrUpdateReq> items = day.itineraryItems;
+            for (int i = 0; i < items.size(); i++) {
+                TripItineraryItemDtos.CreateOrUpdateReq item = items.get(i);
+                if (item == null) {
+                    return "일차 " + day.dayNumber + " " + (i + 1) + "번째 일정이 비어 있습니다(null).";
+                }
+                if (item.orderSequence == null) item.orderSequence = i + 1;
+                if ((error = firstViolation(item)) != null) {
+                    return "일차 " + day.dayNumber + " " + (i + 1) + "번째 일정: " + error;
+                }
+                try {
+                    item.travelToNextPolyline = PolylineCodec.compress(item.travelToNextPolyline, PolylineCodec.DEFAULT_TOLERANCE_METERS);
+                } catch (IllegalArgumentException e) {
+                    return "일차 " + day.dayNumber + " " + (i + 1) + "번째 일정: 경로(travelToNextPolyline) 형식이 잘못되었습니다.";
+                }
+            }
+            // 저장 순서 = orderSequence 순 (같으면 입력 순서 유지)
+            items.sort(Comparator.comparing(it -> it.orderSequence));
+        }
+        return null;
+    }
+
+    private <T> String firstViolation(T target) {
+        Set<ConstraintViolation<T>> violations = validator.validate(target);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    /**
+     * 청크 저장 (트랜잭션 안에서 호출)
+     *
+     * @return 저장된 일차 ID 목록 (구간 보강 대기열 등록용)
+     */
+    private List<Long> insert(List<Pending> batch) {
+        int dayCount = batch.stream().mapToInt(p -> p.trip.days.size()).sum();
+        int itemCount = batch.stream().mapToInt(p -> p.items).sum();
+        long[] tripIds = idAllocator.allocate("trips_seq", batch.size());
+        long[] dayIds = idAllocator.allocate("trip_days_seq", dayCount);
+        long[] itemIds = idAllocator.allocate("trip_itinerary_items_seq", itemCount);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> tripRows = new ArrayList<>(batch.size());
+        List<Object[]> dayRows = new ArrayList<>(dayCount);
+        List<Object[]> itemRows = new ArrayList<>(itemCount);
+        List<Long> savedDayIds = new ArrayList<>(dayCount);
+        int d = 0;
+        int it = 0;
+        for (int t = 0; t < batch.size(); t++) {
+            Pending p = batch.get(t);
+            TripDtos.CreateReq trip = p.trip;
+            tripRows.add(new Object[]{tripIds[t], p.userId, trip.title, trip.destination, trip.destinationPlaceId,
+                    trip.destinationLat, trip.destinationLng, trip.startDate, trip.endDate, trip.numAdults,
+                    trip.numChildren, trip.totalBudget, trip.days.size(), p.items, now, now});
+            List<String> placeIds = new ArrayList<>(p.items);
+            for (TripDayDtos.CreateOrUpdateReq day : trip.days) {
+                long dayId = dayIds[d++];
+                savedDayIds.add(dayId);
+                dayRows.add(new Object[]{dayId, tripIds[t], day.dayNumber, day.date, day.dayStartTime,
+                        day.dayEndTime, day.accommodationJson});
+                List<String> ranks = LexoRank.sequence(day.itineraryItems.size());
+                for (int i = 0; i < day.itineraryItems.size(); i++) {
+                    TripItineraryItemDtos.CreateOrUpdateReq item = day.itineraryItems.get(i);
+                    itemRows.add(new Object[]{itemIds[it++], dayId, item.placeId, item.title, item.description,
+                            item.locationName, item.address, item.latitude, item.longitude, item.startTime, item.endTime,
+                            item.category, item.stayDurationMinutes, item.travelToNextDistanceKm,
+                            item.travelToNextDurationMinutes, item.travelToNextMode, item.travelToNextPolyline,
+                            i + 1, ranks.get(i)});
+                    placeIds.add(item.placeId);
+                }
+            }
+            // 커밋된 경우에만 집계에 반영됨
+            popularPlaceTracker.recordTrip(trip.destinationPlaceId, placeIds);
+        }
+        // FK 순서대로 테이블별 일괄 INSERT (reWriteBatchedInserts로 다중 VALUES 문장으로 전송)
+        jdbcTemplate.batchUpdate(INSERT_TRIP, tripRows);
+        if (!dayRows.isEmpty()) jdbcTemplate.batchUpdate(INSERT_DAY, dayRows);
+        if (!itemRows.isEmpty()) jdbcTemplate.batchUpdate(INSERT_ITEM, itemRows);
+        // 커밋된 경우에만 검색 색인 등에 전달됨 (@TransactionalEventListener)
+        eventPublisher.publishEvent(new TripChangedEvent(Arrays.stream(tripIds).boxed().collect(Collectors.toList())));
+        return savedDayIds;
+    }
+}
@@ -0,0 +1,400 @@
+package com.example.demo.service;
+
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.common.util.SearchTokenizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 여행 전문 검색용 메모리 역색인 (GET /api/trips/search)
+ * - 문서 = 여행 1건, 색인 대상: 여행 제목/여행지 + 모든 일정의 제목/장소명/설명
+ * - 토큰 → 여행 ID 정렬 배열(posting). 질의의 모든 토큰을 포함하는 여행을 가장 짧은 posting부터 교집합으로 찾음
+ * - 점수: 여행 제목/여행지에 나온 질의 토큰 수 (같으면 최신 여행 우선)
+ * - 시작 시 DB 전체를 커서로 읽어 백그라운드에서 색인 생성, 이후에는 TripChangedEvent(커밋 후)마다
+ *   해당 여행만 DB에서 다시 읽어 교체 (없으면 삭제)
+ * - 색인 재생성 중에 바뀐 여행은 기록해 두었다가 새 색인으로 교체한 직후 다시 반영
+ */
+@Service
+public class TripSearchIndex {
+
+    private static final String DOC_SQL = """
+            SELECT t.id, t.user_id, t.title, t.destination, t.start_date,
+                   i.id AS item_id, i.title AS item_title, i.location_name, i.description
+            FROM trips t
+            LEFT JOIN trip_days d ON d.trip_id = t.id
+            LEFT JOIN trip_itinerary_items i ON i.trip_day_id = d.id
+            """;
+
+    @Value("${trips.search.enabled:true}")
+    private boolean enabled;
+
+    /** 전체 색인 생성 시 커서가 한 번에 가져오는 행 수 */
+    @Value("${trips.search.fetch-size:1000}")
+    private int fetchSize;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 현재 색인 (lock으로 보호) */
+    private Index index = new Index();
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public TripSearchIndex(JdbcTemplate jdbcTemplate, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** 시작 시 전체 색인 생성 (요청 처리를 막지 않도록 백그라운드 스레드) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * 전체 색인 재생성 요청
+     *
+     * @return 이미 재생성 중이면 false
+     */
+    public synchronized boolean rebuildAsync() {
+        if (rebuilding) {
+            return false;
+        }
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        Thread worker = new Thread(this::rebuild, "trip-search-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    private void rebuild() {
+        try {
+            long started = System.nanoTime();
+            Index fresh = new Index();
+            DocBuilder[] current = {null};
+            readOnlyTx.executeWithoutResult(status -> cursorTemplate.query(con -> {
+                var ps = con.prepareStatement(DOC_SQL + " ORDER BY t.id", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rs -> {
+                long tripId = rs.getLong("id");
+                if (current[0] == null || current[0].tripId != tripId) {
+                    if (current[0] != null) fresh.put(current[0]);
+                    current[0] = new DocBuilder(rs);
+                }
+                current[0].addItem(rs);
+            }));
+            if (current[0] != null) fresh.put(current[0]);
+
+            lock.writeLock().lock();
+            try {
+                index = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding = false;
+            // 재생성 중에 바뀐 여행은 새 색인에 빠져 있을 수 있으므로 다시 반영
+            if (!changedDuringRebuild.isEmpty()) {
+                reindex(new ArrayList<>(changedDuringRebuild));
+                changedDuringRebuild.clear();
+            }
+            System.out.println("🔎 여행 검색 색인 생성 완료 - 여행 " + fresh.docs.size() + "건, 일정 " + fresh.items
+                    + "개, 토큰 " + fresh.postings.size() + "개 (" + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        } catch (Exception e) {
+            System.err.println("❌ 여행 검색 색인 생성 실패: " + e.getMessage());
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /** 쓰기 트랜잭션 커밋 후 바뀐 여행만 다시 색인 (트랜잭션 밖에서 발행된 이벤트는 즉시 처리) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTripChanged(TripChangedEvent event) {
+        if (!enabled || event.getTripIds().isEmpty()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.getTripIds());
+        }
+        try {
+            reindex(event.getTripIds());
+        } catch (Exception e) {
+            // 색인 반영 실패는 쓰기 요청에 영향 없음 (다음 변경 또는 재생성 시 반영)
+            System.err.println("⚠️ 여행 검색 색인 반영 실패 - Trip ID: " + event.getTripIds() + ", " + e.getMessage());
+        }
+    }
+
+    /** 지정한 여행들을 DB에서 다시 읽어 색인 교체 (DB에 없으면 색인에서 제거) */
+    void reindex(Collection<Long> tripIds) {
+        List<Long> ids = tripIds.stream().distinct().collect(Collectors.toList());
+        Map<Long, DocBuilder> builders = new HashMap<>();
+        jdbcTemplate.query(DOC_SQL + " WHERE t.id IN (" + ids.stream().map(id -> "?").collect(Collectors.joining(",")) + ")",
+                rs -> {
+                    long tripId = rs.getLong("id");
+                    DocBuilder b = builders.get(tripId);
+                    if (b == null) {
+                        b = new DocBuilder(rs);
+                        builders.put(tripId, b);
+                    }
+                    b.addItem(rs);
+                }, ids.toArray());
+
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                DocBuilder b = builders.get(id);
+                if (b != null) {
+                    index.put(b);
+                } else {
+                    index.remove(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색
+     *
+     * @param query 검색어 (공백으로 여러 단어, 모든 단어를 포함하는 여행만)
+     * @param userId 특정 사용자의 여행만 (null이면 전체)
+     * @param limit 최대 결과 수
+     */
+    public TripDtos.SearchResp search(String query, Long userId, int limit) {
+        long started = System.nanoTime();
+        Set<String> tokens = SearchTokenizer.tokens(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("검색어(q)에 글자나 숫자가 있어야 합니다.");
+        }
+
+        TripDtos.SearchResp resp = new TripDtos.SearchResp();
+        resp.query = query;
+        resp.ready = ready;
+        List<Doc> top = new ArrayList<>();
+        List<Integer> topScores = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[tokens.size()];
+            int n = 0;
+            for (String token : tokens) {
+                Postings p = index.postings.get(token);
+                if (p == null) {
+                    lists = null;
+                    break;
+                }
+                lists[n++] = p;
+            }
+            if (lists != null) {
+                Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+                // (점수, 여행 ID) 기준 상위 limit개만 유지하는 최소 힙
+                PriorityQueue<long[]> heap = new PriorityQueue<>(Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]));
+                Postings smallest = lists[0];
+                for (int k = smallest.size - 1; k >= 0; k--) {
+                    long id = smallest.ids[k];
+                    boolean all = true;
+                    for (int j = 1; j < lists.length && all; j++) {
+                        all = lists[j].contains(id);
+                    }
+                    if (!all) continue;
+                    Doc doc = index.docs.get(id);
+                    if (doc == null || (userId != null && (doc.userId == null || !doc.userId.equals(userId)))) continue;
+                    resp.total++;
+                    int score = 0;
+                    for (String token : tokens) {
+                        if (doc.head.contains(token)) score++;
+                    }
+                    heap.add(new long[]{score, id});
+                    if (heap.size() > limit) heap.poll();
+                }
+                while (!heap.isEmpty()) {
+                    long[] e = heap.poll();
+                    top.add(index.docs.get(e[1]));
+                    topScores.add((int) e[0]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        resp.hits = new ArrayList<>(top.size());
+        for (int i = top.size() - 1; i >= 0; i--) {
+            Doc doc = top.get(i);
+            TripDtos.SearchHit hit = new TripDtos.SearchHit();
+            hit.id = doc.tripId;
+            hit.userId = doc.userId;
+            hit.title = doc.title;
+            hit.destination = doc.destination;
+            hit.startDate = doc.startDate;
+            hit.score = topScores.get(i);
+            resp.hits.add(hit);
+        }
+        resp.tookMicros = (System.nanoTime() - started) / 1_000;
+        return resp;
+    }
+
+    /** 색인 구조 (docs: 여행 ID → 문서, postings: 토큰 → 여행 ID 목록) */
+    private static final class Index {
+        final Map<Long, Doc> docs = new HashMap<>();
+        final Map<String, Postings> postings = new HashMap<>();
+        long items;
+
+        void put(DocBuilder b) {
+            remove(b.tripId);
+            Set<String> tokens = new LinkedHashSet<>(b.head);
+            tokens.addAll(b.body);
+            Postings[] refs = new Postings[tokens.size()];
+            int i = 0;
+            for (String token : tokens) {
+                Postings p = postings.computeIfAbsent(token, Postings::new);
+                p.add(b.tripId);
+                refs[i++] = p;
+            }
+            // 점수 계산용 제목/여행지 토큰은 posting의 토큰 문자열을 공유
+            Set<String> head = new HashSet<>();
+            for (Postings p : refs) {
+                if (b.head.contains(p.token)) head.add(p.token);
+            }
+            docs.put(b.tripId, new Doc(b, refs, head));
+            items += b.itemCount;
+        }
+
+        void remove(long tripId) {
+            Doc old = docs.remove(tripId);
+            if (old == null) {
+                return;
+            }
+            for (Postings p : old.postings) {
+                p.remove(tripId);
+                if (p.size == 0) postings.remove(p.token);
+            }
+            items -= old.itemCount;
+        }
+    }
+
+    /** 색인된 여행 1건 (응답에 필요한 필드 + 제거용 posting 참조) */
+    private static final class Doc {
+        final long tripId;
+        final Long userId;
+        final String title;
+        final String destination;
+        final LocalDate startDate;
+        final Postings[] postings;
+        final Set<String> head;
+        final int itemCount;
+
+        Doc(DocBuilder b, Postings[] postings, Set<String> head) {
+            this.tripId = b.tripId;
+            this.userId = b.userId;
+            this.title = b.title;
+            this.destination = b.destination;
+            this.startDate = b.startDate;
+            this.postings = postings;
+            this.head = head;
+            this.itemCount = b.itemCount;
+        }
+    }
+
+    /** 조인 결과 행들로 문서 1건 조립 */
+    private static final class DocBuilder {
+        final long tripId;
+        final Long userId;
+        final String title;
+        final String destination;
+        final LocalDate startDate;
+        final Set<String> head = new LinkedHashSet<>();
+        final Set<String> body = new HashSet<>();
+        int itemCount;
+
+        DocBuilder(ResultSet rs) throws SQLException {
+            tripId = rs.getLong("id");
+            long user = rs.getLong("user_id");
+            userId = rs.wasNull() ? null : user;
+            title = rs.getString("title");
+            destination = rs.getString("destination");
+            Date start = rs.getDate("start_date");
+            startDate = start != null ? start.toLocalDate() : null;
+            SearchTokenizer.addTokens(title, head);
+            SearchTokenizer.addTokens(destination, head);
+        }
+
+        void addItem(ResultSet rs) throws SQLException {
+            rs.getLong("item_id");
+            if (rs.wasNull()) {
+                return;
+            }
+            itemCount++;
+            SearchTokenizer.addTokens(rs.getString("item_title"), body);
+            SearchTokenizer.addTokens(rs.getString("location_name"), body);
+            SearchTokenizer.addTokens(rs.getString("description"), body);
+        }
+    }
+
+    /** 토큰 1개의 여행 ID 목록 (오름차순 정렬 배열, 이진 탐색으로 포함 여부 확인) */
+    private static final class Postings {
+        final String token;
+        long[] ids = new long[4];
+        int size;
+
+        Postings(String token) {
+            this.token = token;
+        }
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * User 엔티티 리스너 (@EntityListeners로 등록, Spring 빈으로 생성됨)
+ * - 엔티티로 저장/수정/삭제한 사용자를 커밋 후 다른 서버 캐시에서 비우도록 UserCacheSync에 전달
+ * - 가입(저장)도 전달: 다른 서버의 쿼리 캐시에 남은 "해당 이메일 사용자 없음" 결과를 지우기 위함
+ * - 네이티브 일괄 삭제(UserRepository.bulkDeleteById)는 리스너가 호출되지 않으므로 호출 측에서 직접 알림
+ * - UserCacheSync가 없는 환경(JPA 슬라이스 테스트 등)에서는 아무것도 하지 않음
+ */
+@Component
+public class UserCacheListener {
+
+    private final ObjectProvider<UserCacheSync> userCacheSync;
+
+    public UserCacheListener(ObjectProvider<UserCacheSync> userCacheSync) {
+        this.userCacheSync = userCacheSync;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(User user) {
+        userCacheSync.ifAvailable(sync -> sync.evictAfterCommit(user.getId()));
+    }
+}
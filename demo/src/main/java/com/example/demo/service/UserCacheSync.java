@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 사용자 2차 캐시의 서버 간 무효화 (Redis Pub/Sub)
+ * - 2차 캐시(users, user-lookup 영역)는 서버마다 로컬 Caffeine 힙 캐시이므로,
+ *   한 서버에서 사용자가 바뀌면 커밋 후 "서버ID:사용자ID"를 발행하고 나머지 서버가 해당 항목을 비움
+ * - 자기 서버는 Hibernate가 이미 캐시를 갱신했으므로 자기 메시지는 무시
+ * - 쿼리 캐시는 결과(사용자 ID 목록)만 저장하므로 영역 전체를 비움 (사용자 변경은 드물어 비용이 작음)
+ * - EntityManagerFactory는 메시지를 받을 때 가져옴 (EntityManagerFactory 생성 중에 엔티티 리스너가 이 빈을 찾을 수 있으므로)
+ */
+@Component
+public class UserCacheSync {
+
+    private static final String EVICT_CHANNEL = "cache:user:evict";
+
+    /** 이 서버 인스턴스 식별자 (자기 메시지 무시용) */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public UserCacheSync(StringRedisTemplate redis, RedisMessageListenerContainer listenerContainer,
+                         ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.redis = redis;
+        this.listenerContainer = listenerContainer;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    void init() {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            int sep = body.indexOf(':');
+            if (sep < 0 || body.substring(0, sep).equals(nodeId)) {
+                return;
+            }
+            try {
+                evictLocal(Long.valueOf(body.substring(sep + 1)));
+            } catch (NumberFormatException ignored) {
+                // 형식이 맞지 않는 메시지는 무시
+            }
+        }, new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 사용자 변경 알림 (쓰기 트랜잭션 안에서 호출되면 커밋 후 발행)
+     */
+    public void evictAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId);
+                }
+            });
+        } else {
+            publish(userId);
+        }
+    }
+
+    private void publish(Long userId) {
+        try {
+            redis.convertAndSend(EVICT_CHANNEL, nodeId + ":" + userId);
+        } catch (Exception e) {
+            // Redis 장애 시 다른 서버는 캐시 만료(TTL)까지 이전 값을 볼 수 있음
+            System.err.println("⚠️ 사용자 캐시 무효화 발행 실패 - User ID: " + userId + ", " + e.getMessage());
+        }
+    }
+
+    private void evictLocal(Long userId) {
+        SessionFactory sessionFactory = entityManagerFactory.getObject().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(User.class, userId);
+        sessionFactory.getCache().evictQueryRegion(User.LOOKUP_CACHE_REGION);
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.demo.service.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Contraction Hierarchies (CH) 기반 최단 경로 엔진
+ * - 빌드: 중요도가 낮은 노드부터 차례로 수축(contract)하며, 최단 경로 보존에 필요한 지름길(shortcut) 간선을 추가합니다.
+ * - 조회: 출발지에서 "위로 올라가는" 간선만 따라가는 정방향 탐색과, 도착지에서의 역방향 탐색을 만나게 합니다.
+ *   탐색 공간이 수백 노드 수준이라 도시 규모 그래프에서도 마이크로초~밀리초 단위로 응답합니다.
+ * - 가중치는 이동 시간(초)이며, 경로 길이(m)는 같은 경로를 따라 함께 누적합니다.
+ */
+public class ContractionHierarchy {
+
+    /** 위트니스(우회 경로) 탐색 시 최대 확정 노드 수 (빌드 속도와 지름길 수의 절충) */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    /** 우선순위 계산(시뮬레이션)용 위트니스 탐색 한도 - 근사치면 충분하므로 작게 유지 */
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+
+    /** 부동소수점 오차로 같은 길이의 우회 경로를 놓치지 않기 위한 허용치 (초) */
+    private static final double EPSILON = 1e-6;
+
+    private final int nodeCount;
+
+    /** 정방향 상향 간선 (CSR): rank[u] < rank[v] 인 u → v */
+    private final int[] fwdStart;
+    private final int[] fwdTarget;
+    private final double[] fwdSeconds;
+    private final double[] fwdMeters;
+
+    /** 역방향 상향 간선 (CSR): rank[u] > rank[v] 인 u → v 를 v 기준으로 u 방향 저장 */
+    private final int[] bwdStart;
+    private final int[] bwdTarget;
+    private final double[] bwdSeconds;
+    private final double[] bwdMeters;
+
+    private final int shortcutCount;
+
+    private final ThreadLocal<QueryState> queryState;
+
+    private ContractionHierarchy(int nodeCount, int[] fwdStart, int[] fwdTarget, double[] fwdSeconds,
+                                 double[] fwdMeters, int[] bwdStart, int[] bwdTarget, double[] bwdSeconds,
+                                 double[] bwdMeters, int shortcutCount) {
+        this.nodeCount = nodeCount;
+        this.fwdStart = fwdStart;
+        this.fwdTarget = fwdTarget;
+        this.fwdSeconds = fwdSeconds;
+        this.fwdMeters = fwdMeters;
+        this.bwdStart = bwdStart;
+        this.bwdTarget = bwdTarget;
+        this.bwdSeconds = bwdSeconds;
+        this.bwdMeters = bwdMeters;
+        this.shortcutCount = shortcutCount;
+        this.queryState = ThreadLocal.withInitial(() -> new QueryState(nodeCount));
+    }
+
+    public int shortcutCount() { return shortcutCount; }
+
+    /**
+     * 방향 그래프로부터 CH 빌드
+     *
+     * @param nodeCount 노드 수
+     * @param from 간선 시작 노드
+     * @param to 간선 도착 노드
+     * @param seconds 간선 이동 시간 (초)
+     * @param meters 간선 길이 (m)
+     */
+    public static ContractionHierarchy build(int nodeCount, int[] from, int[] to, double[] seconds, double[] meters) {
+        // 수축 중 변하는 동적 그래프 (중복 간선은 더 빠른 것만 유지)
+        List<Map<Integer, double[]>> out = new ArrayList<>(nodeCount);
+        List<Map<Integer, double[]>> in = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            out.add(new HashMap<>());
+            in.add(new HashMap<>());
+        }
+        for (int i = 0; i < from.length; i++) {
+            if (from[i] == to[i]) continue;
+            addEdge(out, in, from[i], to[i], seconds[i], meters[i]);
+        }
+
+        boolean[] contracted = new boolean[nodeCount];
+        int[] rank = new int[nodeCount];
+        int[] contractedNeighbors = new int[nodeCount];
+        int[] level = new int[nodeCount];
+        WitnessSearch witness = new WitnessSearch(nodeCount);
+
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        for (int v = 0; v < nodeCount; v++) {
+            queue.add(new double[]{priority(v, out, in, contracted, contractedNeighbors, level, witness), v});
+        }
+
+        // 최종 간선 집합 (원본 + 지름길)
+        List<double[]> allEdges = new ArrayList<>();
+        for (int u = 0; u < nodeCount; u++) {
+            for (Map.Entry<Integer, double[]> e : out.get(u).entrySet()) {
+                allEdges.add(new double[]{u, e.getKey(), e.getValue()[0], e.getValue()[1]});
+            }
+        }
+        int originalEdges = allEdges.size();
+
+        int order = 0;
+        while (!queue.isEmpty()) {
+            double[] top = queue.poll();
+            int v = (int) top[1];
+            if (contracted[v]) continue;
+
+            // Lazy update: 우선순위가 바뀌었다면 다시 넣음
+            double current = priority(v, out, in, contracted, contractedNeighbors, level, witness);
+            if (!queue.isEmpty() && current > queue.peek()[0]) {
+                queue.add(new double[]{current, v});
+                continue;
+            }
+
+            List<double[]> shortcuts = contract(v, out, in, contracted, witness, WITNESS_SETTLE_LIMIT);
+            for (double[] s : shortcuts) {
+                int u = (int) s[0];
+                int w = (int) s[1];
+                double[] existing = out.get(u).get(w);
+                if (existing == null || existing[0] > s[2]) {
+                    addEdge(out, in, u, w, s[2], s[3]);
+                    allEdges.add(s);
+                }
+            }
+            contracted[v] = true;
+            rank[v] = order++;
+            for (int n : out.get(v).keySet()) {
+                contractedNeighbors[n]++;
+                level[n] = Math.max(level[n], level[v] + 1);
+            }
+            for (int n : in.get(v).keySet()) {
+                contractedNeighbors[n]++;
+                level[n] = Math.max(level[n], level[v] + 1);
+            }
+        }
+
+        // 상향 간선만 남겨 CSR로 압축 (같은 쌍은 최소 시간만)
+        Map<Long, double[]> upFwd = new HashMap<>();
+        Map<Long, double[]> upBwd = new HashMap<>();
+        for (double[] e : allEdges) {
+            int u = (int) e[0];
+            int w = (int) e[1];
+            if (rank[u] < rank[w]) {
+                keepMin(upFwd, u, w, e[2], e[3]);
+            } else {
+                keepMin(upBwd, w, u, e[2], e[3]);
+            }
+        }
+
+        int[] fwdStart = new int[nodeCount + 1];
+        int[] fwdTarget = new int[upFwd.size()];
+        double[] fwdSeconds = new double[upFwd.size()];
+        double[] fwdMeters = new double[upFwd.size()];
+        toCsr(upFwd, nodeCount, fwdStart, fwdTarget, fwdSeconds, fwdMeters);
+
+        int[] bwdStart = new int[nodeCount + 1];
+        int[] bwdTarget = new int[upBwd.size()];
+        double[] bwdSeconds = new double[upBwd.size()];
+        double[] bwdMeters = new double[upBwd.size()];
+        toCsr(upBwd, nodeCount, bwdStart, bwdTarget, bwdSeconds, bwdMeters);
+
+        return new ContractionHierarchy(nodeCount, fwdStart, fwdTarget, fwdSeconds, fwdMeters,
+                bwdStart, bwdTarget, bwdSeconds, bwdMeters, allEdges.size() - originalEdges);
+    }
+
+    /**
+     * 최단 경로 조회
+     *
+     * @return [이동 시간(초), 길이(m)], 경로가 없으면 null
+     */
+    public double[] query(int source, int target) {
+        if (source < 0 || target < 0 || source >= nodeCount || target >= nodeCount) {
+            return null;
+        }
+        if (source == target) {
+            return new double[]{0, 0};
+        }
+        QueryState st = queryState.get();
+        st.reset();
+
+        st.relax(true, source, 0, 0);
+        st.relax(false, target, 0, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        double bestMeters = 0;
+
+        while (!st.fwdHeap.isEmpty() || !st.bwdHeap.isEmpty()) {
+            boolean fwdDone = st.fwdHeap.isEmpty() || st.fwdHeap.peekKey() >= best;
+            boolean bwdDone = st.bwdHeap.isEmpty() || st.bwdHeap.peekKey() >= best;
+            if (fwdDone && bwdDone) break;
+
+            boolean forward = !fwdDone && (bwdDone || st.fwdHeap.peekKey() <= st.bwdHeap.peekKey());
+            Heap heap = forward ? st.fwdHeap : st.bwdHeap;
+            double key = heap.peekKey();
+            int u = heap.poll();
+            double[] dist = forward ? st.fwdDist : st.bwdDist;
+            if (key > dist[u]) continue; // 이미 더 짧은 값으로 처리됨
+
+            double[] otherDist = forward ? st.bwdDist : st.fwdDist;
+            if (otherDist[u] < Double.POSITIVE_INFINITY && dist[u] + otherDist[u] < best) {
+                best = dist[u] + otherDist[u];
+                bestMeters = st.meters(forward, u) + st.meters(!forward, u);
+            }
+
+            int[] start = forward ? fwdStart : bwdStart;
+            int[] targets = forward ? fwdTarget : bwdTarget;
+            double[] secs = forward ? fwdSeconds : bwdSeconds;
+            double[] mets = forward ? fwdMeters : bwdMeters;
+            for (int i = start[u]; i < start[u + 1]; i++) {
+                st.relax(forward, targets[i], dist[u] + secs[i], st.meters(forward, u) + mets[i]);
+            }
+        }
+        return best < Double.POSITIVE_INFINITY ? new double[]{best, bestMeters} : null;
+    }
+
+    // ---- 빌드 헬퍼 ----------------------------------------------------------
+
+    private static void addEdge(List<Map<Integer, double[]>> out, List<Map<Integer, double[]>> in,
+                                int u, int w, double seconds, double meters) {
+        double[] existing = out.get(u).get(w);
+        if (existing != null && existing[0] <= seconds) return;
+        double[] value = {seconds, meters};
+        out.get(u).put(w, value);
+        in.get(w).put(u, value);
+    }
+
+    /** 노드 수축 시 필요한 지름길 목록 [u, w, seconds, meters] */
+    private static List<double[]> contract(int v, List<Map<Integer, double[]>> out, List<Map<Integer, double[]>> in,
+                                           boolean[] contracted, WitnessSearch witness, int settleLimit) {
+        List<double[]> shortcuts = new ArrayList<>();
+        double maxOut = 0;
+        for (Map.Entry<Integer, double[]> o : out.get(v).entrySet()) {
+            if (!contracted[o.getKey()]) maxOut = Math.max(maxOut, o.getValue()[0]);
+        }
+        for (Map.Entry<Integer, double[]> i : in.get(v).entrySet()) {
+            int u = i.getKey();
+            if (contracted[u]) continue;
+            double inSec = i.getValue()[0];
+            witness.run(u, v, inSec + maxOut, out, contracted, settleLimit);
+            for (Map.Entry<Integer, double[]> o : out.get(v).entrySet()) {
+                int w = o.getKey();
+                if (w == u || contracted[w]) continue;
+                double viaSec = inSec + o.getValue()[0];
+                if (witness.distance(w) > viaSec + EPSILON) {
+                    shortcuts.add(new double[]{u, w, viaSec, i.getValue()[1] + o.getValue()[1]});
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * 우선순위 = 간선 차이(추가될 지름길 수 - 제거되는 간선 수) + 이미 수축된 이웃 수 + 계층 깊이
+     * - 수축이 그래프 전체에 고르게 퍼지도록 하여 지름길 폭증을 막습니다.
+     */
+    private static double priority(int v, List<Map<Integer, double[]>> out, List<Map<Integer, double[]>> in,
+                                   boolean[] contracted, int[] contractedNeighbors, int[] level, WitnessSearch witness) {
+        int removed = 0;
+        for (int n : out.get(v).keySet()) if (!contracted[n]) removed++;
+        for (int n : in.get(v).keySet()) if (!contracted[n]) removed++;
+        int added = contract(v, out, in, contracted, witness, SIMULATION_SETTLE_LIMIT).size();
+        return 2.0 * (added - removed) + contractedNeighbors[v] + level[v];
+    }
+
+    private static void keepMin(Map<Long, double[]> edges, int u, int w, double seconds, double meters) {
+        long key = ((long) u << 32) | (w & 0xffffffffL);
+        double[] existing = edges.get(key);
+        if (existing == null || existing[0] > seconds) {
+            edges.put(key, new double[]{seconds, meters});
+        }
+    }
+
+    private static void toCsr(Map<Long, double[]> edges, int nodeCount, int[] start, int[] target,
+                              double[] seconds, double[] meters) {
+        long[] keys = edges.keySet().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(keys); // 시작 노드 기준 정렬 (상위 32비트)
+        int[] count = new int[nodeCount + 1];
+        for (int i = 0; i < keys.length; i++) {
+            int u = (int) (keys[i] >>> 32);
+            count[u + 1]++;
+            target[i] = (int) keys[i];
+            double[] value = edges.get(keys[i]);
+            seconds[i] = value[0];
+            meters[i] = value[1];
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            start[i + 1] = start[i] + count[i + 1];
+        }
+    }
+
+    // ---- 탐색 자료구조 -------------------------------------------------------
+
+    /** 수축 시 우회 경로가 있는지 확인하는 제한된 Dijkstra */
+    private static class WitnessSearch {
+        private final double[] dist;
+        private final int[] touched;
+        private int touchedCount;
+        private final Heap heap;
+
+        WitnessSearch(int n) {
+            dist = new double[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            touched = new int[n];
+            heap = new Heap(64);
+        }
+
+        void run(int source, int excluded, double limit, List<Map<Integer, double[]>> out, boolean[] contracted,
+                 int settleLimit) {
+            for (int i = 0; i < touchedCount; i++) dist[touched[i]] = Double.POSITIVE_INFINITY;
+            touchedCount = 0;
+            heap.clear();
+            set(source, 0);
+            heap.push(0, source);
+            int settled = 0;
+            while (!heap.isEmpty() && settled < settleLimit) {
+                double key = heap.peekKey();
+                int u = heap.poll();
+                if (key > dist[u]) continue;
+                if (key > limit) break;
+                settled++;
+                for (Map.Entry<Integer, double[]> e : out.get(u).entrySet()) {
+                    int w = e.getKey();
+                    if (w == excluded || contracted[w]) continue;
+                    double d = key + e.getValue()[0];
+                    if (d < dist[w]) {
+                        set(w, d);
+                        heap.push(d, w);
+                    }
+                }
+            }
+        }
+
+        double distance(int node) {
+            return dist[node];
+        }
+
+        private void set(int node, double d) {
+            if (dist[node] == Double.POSITIVE_INFINITY) touched[touchedCount++] = node;
+            dist[node] = d;
+        }
+    }
+
+    /** 쿼리별 상태 (스레드마다 재사용, 방문한 노드만 초기화) */
+    private static class QueryState {
+        final double[] fwdDist;
+        final double[] bwdDist;
+        final double[] fwdMeters;
+        final double[] bwdMeters;
+        final int[] touched;
+        int touchedCount;
+        final boolean[] isTouched;
+        final Heap fwdHeap = new Heap(64);
+        final Heap bwdHeap = new Heap(64);
+
+        QueryState(int n) {
+            fwdDist = new double[n];
+            bwdDist = new double[n];
+            fwdMeters = new double[n];
+            bwdMeters = new double[n];
+            Arrays.fill(fwdDist, Double.POSITIVE_INFINITY);
+            Arrays.fill(bwdDist, Double.POSITIVE_INFINITY);
+            touched = new int[n];
+            isTouched = new boolean[n];
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int node = touched[i];
+                fwdDist[node] = Double.POSITIVE_INFINITY;
+                bwdDist[node] = Double.POSITIVE_INFINITY;
+                isTouched[node] = false;
+            }
+            touchedCount = 0;
+            fwdHeap.clear();
+            bwdHeap.clear();
+        }
+
+        void relax(boolean forward, int node, double seconds, double meters) {
+            double[] dist = forward ? fwdDist : bwdDist;
+            if (seconds >= dist[node]) return;
+            if (!isTouched[node]) {
+                isTouched[node] = true;
+                touched[touchedCount++] = node;
+            }
+            dist[node] = seconds;
+            (forward ? fwdMeters : bwdMeters)[node] = meters;
+            (forward ? fwdHeap : bwdHeap).push(seconds, node);
+        }
+
+        double meters(boolean forward, int node) {
+            return (forward ? fwdMeters : bwdMeters)[node];
+        }
+    }
+
+    /** (키, 노드) 이진 힙 - 중복 삽입 허용, 꺼낼 때 오래된 항목은 호출자가 무시 */
+    static class Heap {
+        private double[] keys;
+        private int[] nodes;
+        private int size;
+
+        Heap(int capacity) {
+            keys = new double[capacity];
+            nodes = new int[capacity];
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        void clear() { size = 0; }
+
+        double peekKey() { return keys[0]; }
+
+        void push(double key, int node) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) break;
+                keys[i] = keys[parent];
+                nodes[i] = nodes[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        int poll() {
+            int result = nodes[0];
+            size--;
+            if (size > 0) {
+                double key = keys[size];
+                int node = nodes[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) break;
+                    if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+                    if (keys[child] >= key) break;
+                    keys[i] = keys[child];
+                    nodes[i] = nodes[child];
+                    i = child;
+                }
+                keys[i] = key;
+                nodes[i] = node;
+            }
+            return result;
+        }
+    }
+}
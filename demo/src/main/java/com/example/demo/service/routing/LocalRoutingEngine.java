@@ -0,0 +1,146 @@
+package com.example.demo.service.routing;
+
+import com.example.demo.common.util.GeoUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 로컬 도로 그래프 기반 경로 엔진 (Routes API 대체용)
+ * - routing.graph.path 에 지정된 지역 그래프를 시작 시 로드하고, 이동 수단별 CH를 빌드합니다.
+ * - 도시 내 도보(WALK)/자동차(DRIVE) 구간은 Google 호출 없이 프로세스 안에서 응답합니다.
+ * - 그래프가 없거나, 좌표가 그래프 범위 밖이면 empty를 반환하여 기존 Routes API 경로를 타게 합니다.
+ */
+@Service
+public class LocalRoutingEngine {
+
+    /** 그래프 파일 경로 (비어 있으면 비활성화) */
+    @Value("${routing.graph.path:}")
+    private String graphPath;
+
+    /** 좌표를 그래프 노드에 붙일 때 허용하는 최대 거리 (m) */
+    @Value("${routing.graph.max-snap-meters:300}")
+    private double maxSnapMeters;
+
+    private volatile RoadGraph graph;
+    private volatile ContractionHierarchy walkHierarchy;
+    private volatile ContractionHierarchy driveHierarchy;
+
+    @PostConstruct
+    public void init() {
+        if (graphPath == null || graphPath.isBlank()) {
+            return;
+        }
+        Path path = Path.of(graphPath);
+        if (!Files.isReadable(path)) {
+            System.err.println("⚠️ 로컬 경로 그래프 파일을 읽을 수 없음: " + graphPath);
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            RoadGraph loaded = RoadGraph.load(path);
+            ContractionHierarchy walk = buildHierarchy(loaded, "WALK");
+            ContractionHierarchy drive = buildHierarchy(loaded, "DRIVE");
+            this.graph = loaded;
+            this.walkHierarchy = walk;
+            this.driveHierarchy = drive;
+            System.out.println("✅ 로컬 경로 그래프 로드 완료 - 노드 " + loaded.nodeCount() + "개, 간선 " + loaded.edgeCount()
+                    + "개, 지름길 " + (walk.shortcutCount() + drive.shortcutCount()) + "개 ("
+                    + (System.nanoTime() - started) / 1_000_000 + "ms)");
+        } catch (Exception e) {
+            System.err.println("❌ 로컬 경로 그래프 로드 실패: " + e.getMessage());
+        }
+    }
+
+    /** 그래프가 로드되어 해당 이동 수단을 처리할 수 있는지 여부 */
+    public boolean supports(String travelMode) {
+        return hierarchyFor(travelMode) != null;
+    }
+
+    /**
+     * 로컬 그래프로 경로 계산
+     *
+     * @return 거리/시간, 처리할 수 없으면 empty
+     */
+    public Optional<LocalRoute> route(double originLat, double originLng, double destLat, double destLng, String travelMode) {
+        ContractionHierarchy ch = hierarchyFor(travelMode);
+        RoadGraph g = graph;
+        if (ch == null || g == null) {
+            return Optional.empty();
+        }
+        int source = g.nearestNode(originLat, originLng, maxSnapMeters);
+        int target = g.nearestNode(destLat, destLng, maxSnapMeters);
+        if (source < 0 || target < 0) {
+            return Optional.empty();
+        }
+        double[] result = ch.query(source, target);
+        if (result == null) {
+            return Optional.empty();
+        }
+
+        // 출발/도착 좌표와 노드 사이 구간은 도보로 이동한다고 가정
+        double snapMeters = GeoUtils.haversineKm(originLat, originLng, g.lat[source], g.lng[source]) * 1000.0
+                + GeoUtils.haversineKm(destLat, destLng, g.lat[target], g.lng[target]) * 1000.0;
+        double seconds = result[0] + snapMeters / (RoadGraph.WALK_KMH / 3.6);
+        return Optional.of(new LocalRoute(result[1] + snapMeters, seconds));
+    }
+
+    private ContractionHierarchy hierarchyFor(String travelMode) {
+        if (travelMode == null) return null;
+        return switch (travelMode.toUpperCase(Locale.ROOT)) {
+            case "WALK" -> walkHierarchy;
+            case "DRIVE" -> driveHierarchy;
+            default -> null;
+        };
+    }
+
+    /**
+     * 그래프의 원본 간선을 이동 수단별 방향 간선(가중치: 초)으로 변환하여 CH 빌드
+     */
+    static ContractionHierarchy buildHierarchy(RoadGraph g, String travelMode) {
+        boolean walk = "WALK".equals(travelMode);
+        int m = g.edgeCount();
+        int[] from = new int[m * 2];
+        int[] to = new int[m * 2];
+        double[] seconds = new double[m * 2];
+        double[] meters = new double[m * 2];
+        int count = 0;
+        for (int i = 0; i < m; i++) {
+            double kmh = walk ? (g.edgeWalkable[i] ? RoadGraph.WALK_KMH : 0) : g.edgeDriveKmh[i];
+            if (kmh <= 0) continue;
+            double sec = g.edgeMeters[i] / (kmh / 3.6);
+            from[count] = g.edgeFrom[i];
+            to[count] = g.edgeTo[i];
+            seconds[count] = sec;
+            meters[count] = g.edgeMeters[i];
+            count++;
+            if (walk || !g.edgeOneway[i]) {
+                from[count] = g.edgeTo[i];
+                to[count] = g.edgeFrom[i];
+                seconds[count] = sec;
+                meters[count] = g.edgeMeters[i];
+                count++;
+            }
+        }
+        return ContractionHierarchy.build(g.nodeCount(),
+                Arrays.copyOf(from, count), Arrays.copyOf(to, count),
+                Arrays.copyOf(seconds, count), Arrays.copyOf(meters, count));
+    }
+
+    /** 로컬 경로 계산 결과 */
+    public static class LocalRoute {
+        public final double distanceMeters;
+        public final double durationSeconds;
+
+        LocalRoute(double distanceMeters, double durationSeconds) {
+            this.distanceMeters = distanceMeters;
+            this.durationSeconds = durationSeconds;
+        }
+    }
+}
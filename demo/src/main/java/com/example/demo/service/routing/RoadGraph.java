@@ -0,0 +1,173 @@
+package com.example.demo.service.routing;
+
+import com.example.demo.common.util.GeoUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전처리된 도로/보행 그래프 (지역 단위 추출본)
+ *
+ * 파일 형식 (텍스트, '#'으로 시작하는 줄은 주석):
+ * <pre>
+ * N &lt;nodeId&gt; &lt;lat&gt; &lt;lng&gt;
+ * E &lt;fromId&gt; &lt;toId&gt; &lt;meters&gt; &lt;driveKmh&gt; &lt;walkable:0|1&gt; &lt;oneway:0|1&gt;
+ * </pre>
+ * - driveKmh가 0이면 차량 통행 불가 도로입니다.
+ * - oneway는 차량에만 적용되며, 보행은 항상 양방향입니다.
+ */
+public class RoadGraph {
+
+    /** 보행 속도 (km/h) */
+    static final double WALK_KMH = 4.8;
+
+    /** 좌표 → 노드 검색용 격자 크기 (도 단위, 약 500m) */
+    private static final double CELL_DEGREES = 0.005;
+    /** 위도 1도의 길이 (m) */
+    private static final double METERS_PER_DEGREE = 111_195.0;
+
+    final double[] lat;
+    final double[] lng;
+
+    /** 원본 간선 (노드 인덱스 기준) */
+    final int[] edgeFrom;
+    final int[] edgeTo;
+    final double[] edgeMeters;
+    final double[] edgeDriveKmh;
+    final boolean[] edgeWalkable;
+    final boolean[] edgeOneway;
+
+    private final Map<Long, int[]> cellIndex = new HashMap<>();
+
+    RoadGraph(double[] lat, double[] lng, int[] edgeFrom, int[] edgeTo, double[] edgeMeters,
+              double[] edgeDriveKmh, boolean[] edgeWalkable, boolean[] edgeOneway) {
+        this.lat = lat;
+        this.lng = lng;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeMeters = edgeMeters;
+        this.edgeDriveKmh = edgeDriveKmh;
+        this.edgeWalkable = edgeWalkable;
+        this.edgeOneway = edgeOneway;
+        buildCellIndex();
+    }
+
+    public int nodeCount() { return lat.length; }
+
+    public int edgeCount() { return edgeFrom.length; }
+
+    /**
+     * 그래프 파일 로드
+     *
+     * @param path 전처리된 그래프 파일 경로
+     */
+    public static RoadGraph load(Path path) throws IOException {
+        Map<Long, Integer> index = new HashMap<>();
+        List<double[]> nodes = new ArrayList<>();
+        List<String[]> edges = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] parts = line.split("\\s+");
+                if ("N".equals(parts[0]) && parts.length >= 4) {
+                    index.put(Long.parseLong(parts[1]), nodes.size());
+                    nodes.add(new double[]{Double.parseDouble(parts[2]), Double.parseDouble(parts[3])});
+                } else if ("E".equals(parts[0]) && parts.length >= 7) {
+                    edges.add(parts);
+                } else {
+                    throw new IOException("그래프 파일 형식 오류 (" + lineNo + "행): " + line);
+                }
+            }
+        }
+
+        double[] lat = new double[nodes.size()];
+        double[] lng = new double[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            lat[i] = nodes.get(i)[0];
+            lng[i] = nodes.get(i)[1];
+        }
+
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] meters = new double[m];
+        double[] driveKmh = new double[m];
+        boolean[] walkable = new boolean[m];
+        boolean[] oneway = new boolean[m];
+        for (int i = 0; i < m; i++) {
+            String[] e = edges.get(i);
+            Integer f = index.get(Long.parseLong(e[1]));
+            Integer t = index.get(Long.parseLong(e[2]));
+            if (f == null || t == null) {
+                throw new IOException("존재하지 않는 노드를 참조하는 간선: " + String.join(" ", e));
+            }
+            from[i] = f;
+            to[i] = t;
+            meters[i] = Double.parseDouble(e[3]);
+            driveKmh[i] = Double.parseDouble(e[4]);
+            walkable[i] = "1".equals(e[5]);
+            oneway[i] = "1".equals(e[6]);
+        }
+        return new RoadGraph(lat, lng, from, to, meters, driveKmh, walkable, oneway);
+    }
+
+    /**
+     * 가장 가까운 노드 검색
+     * - 검색할 주변 격자 수는 maxMeters로 정함 (격자 크기보다 큰 허용 거리도 놓치지 않음)
+     *
+     * @param maxMeters 허용 최대 거리 (m)
+     * @return 노드 인덱스 (없으면 -1)
+     */
+    public int nearestNode(double qLat, double qLng, double maxMeters) {
+        long cx = cell(qLat);
+        long cy = cell(qLng);
+        double cellMeters = CELL_DEGREES * METERS_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(qLat) + CELL_DEGREES, 90.0))), 0.01);
+        long rx = Math.max(1, (long) Math.ceil(maxMeters / cellMeters));
+        long ry = Math.max(1, (long) Math.ceil(maxMeters / (cellMeters * cosLat)));
+        int best = -1;
+        double bestMeters = maxMeters;
+        for (long dx = -rx; dx <= rx; dx++) {
+            for (long dy = -ry; dy <= ry; dy++) {
+                int[] bucket = cellIndex.get(cellKey(cx + dx, cy + dy));
+                if (bucket == null) continue;
+                for (int node : bucket) {
+                    double d = GeoUtils.haversineKm(qLat, qLng, lat[node], lng[node]) * 1000.0;
+                    if (d <= bestMeters) {
+                        bestMeters = d;
+                        best = node;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private void buildCellIndex() {
+        Map<Long, List<Integer>> buckets = new HashMap<>();
+        for (int i = 0; i < lat.length; i++) {
+            buckets.computeIfAbsent(cellKey(cell(lat[i]), cell(lng[i])), k -> new ArrayList<>()).add(i);
+        }
+        buckets.forEach((key, list) -> cellIndex.put(key, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xffffffffL);
+    }
+}
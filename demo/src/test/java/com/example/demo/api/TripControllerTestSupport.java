@@ -0,0 +1,28 @@
+package com.example.demo.api;
+
+import com.example.demo.repository.TripDayRepository;
+import com.example.demo.repository.TripItineraryItemRepository;
+import com.example.demo.repository.TripRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.LegEnrichmentService;
+import com.example.demo.service.PopularPlaceTracker;
+import com.example.demo.service.TripCloneService;
+import com.example.demo.service.TripDetailCache;
+import org.mockito.Mockito;
+
+/**
+ * @DataJpaTest에서 TripController 생성 (JPA 저장소만 실제, 나머지 협력 객체는 mock)
+ */
+final class TripControllerTestSupport {
+
+    private TripControllerTestSupport() {
+    }
+
+    static TripController newController(TripRepository tripRepository, UserRepository userRepository,
+                                        TripItineraryItemRepository itemRepository) {
+        return new TripController(tripRepository, userRepository, itemRepository,
+                Mockito.mock(TripDayRepository.class), Mockito.mock(LegEnrichmentService.class),
+                Mockito.mock(TripDetailCache.class), Mockito.mock(TripCloneService.class),
+                Mockito.mock(PopularPlaceTracker.class));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.api;
+
+import com.example.demo.api.dto.TripDayDtos;
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.api.dto.TripItineraryItemDtos;
+import com.example.demo.domain.User;
+import com.example.demo.repository.TripItineraryItemRepository;
+import com.example.demo.repository.TripRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여행 생성(POST /api/trips/user/{userId}) 저장 벤치마크
+ * - 14일 × 200개 일정 항목 여행을 저장하고 DB 왕복 횟수와 소요 시간을 출력
+ * - before: JDBC 배치 크기 1 (IDENTITY 방식처럼 행마다 INSERT 1회)
+ * - after: 시퀀스 ID 사전 할당 + 테이블별 배치 INSERT (batch_size = 50)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(TripCreateBatchInsertBenchmarkTest.RoundTripCounterConfig.class)
+class TripCreateBatchInsertBenchmarkTest {
+
+    private static final int DAYS = 14;
+    private static final int ITEMS = 200;
+
+    /** execute / executeQuery / executeUpdate / executeBatch 호출 수 = DB 왕복 수 */
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TripItineraryItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void batchedSequenceInsertsCutRoundTrips() {
+        TripController controller = TripControllerTestSupport.newController(tripRepository, userRepository, itemRepository);
+
+        User user = new User();
+        user.setEmail("bench@example.com");
+        user.setName("벤치마크");
+        entityManager.persist(user);
+        entityManager.flush();
+        Long userId = user.getId();
+
+        // 워밍업 (클래스 로딩/쿼리 계획 캐시 영향 제거)
+        save(controller, userId, 50);
+
+        long[] before = save(controller, userId, 1);
+        long[] after = save(controller, userId, null);
+
+        System.out.println("[trip create " + DAYS + " days / " + ITEMS + " items] round trips: before = " + before[0]
+                + ", after = " + after[0] + " | latency: before = " + before[1] / 1_000 + "µs, after = " + after[1] / 1_000 + "µs");
+        assertEquals(3L * ITEMS, itemRepository.count());
+        assertTrue(after[0] * 4 < before[0], "expected far fewer round trips: before = " + before[0] + ", after = " + after[0]);
+    }
+
+    /** 여행 1건 저장 후 flush까지의 {왕복 수, 소요 시간(ns)} */
+    private long[] save(TripController controller, Long userId, Integer jdbcBatchSize) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setJdbcBatchSize(jdbcBatchSize);
+        TripDtos.CreateReq req = createReq();
+        entityManager.clear();
+
+        ROUND_TRIPS.set(0);
+        long started = System.nanoTime();
+        TripDtos.Resp resp = controller.createForUser(userId, req).getBody();
+        entityManager.flush();
+        long elapsed = System.nanoTime() - started;
+        long roundTrips = ROUND_TRIPS.get();
+
+        session.setJdbcBatchSize(null);
+        assertEquals(DAYS, resp.daysCount);
+        assertEquals(ITEMS, resp.totalItineraryItemsCount);
+        return new long[]{roundTrips, elapsed};
+    }
+
+    private TripDtos.CreateReq createReq() {
+        TripDtos.CreateReq req = new TripDtos.CreateReq();
+        req.title = "벤치마크 여행";
+        req.destination = "제주도";
+        req.startDate = LocalDate.of(2025, 5, 1);
+        req.endDate = req.startDate.plusDays(DAYS - 1);
+        req.days = new ArrayList<>();
+        for (int d = 0; d < DAYS; d++) {
+            TripDayDtos.CreateOrUpdateReq day = new TripDayDtos.CreateOrUpdateReq();
+            day.dayNumber = d + 1;
+            day.date = req.startDate.plusDays(d);
+            day.itineraryItems = new ArrayList<>();
+            req.days.add(day);
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            List<TripItineraryItemDtos.CreateOrUpdateReq> items = req.days.get(i % DAYS).itineraryItems;
+            TripItineraryItemDtos.CreateOrUpdateReq item = new TripItineraryItemDtos.CreateOrUpdateReq();
+            item.title = "장소 " + (i + 1);
+            item.placeId = "place-" + i;
+            item.latitude = new BigDecimal("33.4").add(BigDecimal.valueOf(i, 4));
+            item.longitude = new BigDecimal("126.5").add(BigDecimal.valueOf(i, 4));
+            item.category = "tourist_attraction";
+            item.orderSequence = items.size() + 1;
+            items.add(item);
+        }
+        return req;
+    }
+
+    /** DataSource를 감싸 Statement 실행 호출 수를 세는 테스트 설정 */
+    @TestConfiguration
+    static class RoundTripCounterConfig {
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute")) {
+                    ROUND_TRIPS.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof PreparedStatement ps) {
+                    return proxy(PreparedStatement.class, ps);
+                }
+                if (result instanceof Statement st) {
+                    return proxy(Statement.class, st);
+                }
+                if (result instanceof Connection con) {
+                    return proxy(Connection.class, con);
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.api;
+
+import com.example.demo.api.dto.TripDayDtos;
+import com.example.demo.api.dto.TripDtos;
+import com.example.demo.common.util.LexoRank;
+import com.example.demo.domain.Trip;
+import com.example.demo.domain.TripDay;
+import com.example.demo.domain.TripItineraryItem;
+import com.example.demo.domain.User;
+import com.example.demo.repository.TripItineraryItemRepository;
+import com.example.demo.repository.TripRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GET /api/trips/{id} 조회 쿼리 수 검증
+ * - 일차/일정 항목 수가 늘어나도 실행되는 SQL 수가 일정해야 함 (N+1 없음)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class TripDetailQueryCountTest {
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TripItineraryItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int userSeq;
+
+    @Test
+    void statementCountStaysConstantAsDaysAndItemsGrow() {
+        TripController controller = TripControllerTestSupport.newController(tripRepository, userRepository, itemRepository);
+
+        Long smallTripId = seedTrip(1, 1);
+        Long largeTripId = seedTrip(10, 15);
+
+        long smallCount = countStatements(() -> controller.getById(smallTripId, newRequest()));
+        long largeCount = countStatements(() -> {
+            TripDtos.Resp resp = controller.getById(largeTripId, newRequest());
+            assertEquals(10, resp.days.size());
+            assertEquals(150, resp.totalItineraryItemsCount);
+            for (int d = 0; d < 10; d++) {
+                assertEquals(Integer.valueOf(d + 1), resp.days.get(d).dayNumber);
+                assertRankOrder(resp.days.get(d), 15);
+            }
+        });
+
+        System.out.println("[trip detail] statements: 1x1 = " + smallCount + ", 10x15 = " + largeCount);
+        assertEquals(smallCount, largeCount);
+        // 버전 조회(ETag) 1회 + Trip/일차 1회 + 일정 항목 1회
+        assertTrue(largeCount <= 3, "expected at most 3 statements but was " + largeCount);
+    }
+
+    @Test
+    void batchFetchStatementCountIsIndependentOfTripCount() {
+        TripController controller = TripControllerTestSupport.newController(tripRepository, userRepository, itemRepository);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ids.add(seedTrip(3, 4));
+        }
+
+        long oneTrip = countStatements(() -> controller.getBatch(ids.subList(0, 1)));
+        long sixTrips = countStatements(() -> {
+            List<TripDtos.Resp> resps = controller.getBatch(ids);
+            assertEquals(6, resps.size());
+            assertEquals(ids.get(5), resps.get(5).id);
+            assertEquals(3, resps.get(5).days.size());
+            assertEquals(4, resps.get(5).days.get(2).itineraryItems.size());
+            assertRankOrder(resps.get(5).days.get(2), 4);
+        });
+
+        System.out.println("[trip batch] statements: 1 trip = " + oneTrip + ", 6 trips = " + sixTrips);
+        assertEquals(oneTrip, sixTrips);
+        assertTrue(sixTrips <= 2, "expected at most 2 statements but was " + sixTrips);
+    }
+
+    @Test
+    void matchingIfNoneMatchReturns304AfterSingleVersionLookup() {
+        TripController controller = TripControllerTestSupport.newController(tripRepository, userRepository, itemRepository);
+        Long tripId = seedTrip(10, 15);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        controller.getById(tripId, new ServletWebRequest(new MockHttpServletRequest("GET", "/api/trips/" + tripId), first));
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/api/trips/" + tripId);
+        conditional.addHeader("If-None-Match", etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        long count = countStatements(() ->
+                assertNull(controller.getById(tripId, new ServletWebRequest(conditional, second))));
+
+        assertEquals(304, second.getStatus());
+        assertEquals(1, count);
+    }
+
+    /**
+     * 시드 데이터는 삽입 순서(orderSequence)의 역순으로 순위를 주므로,
+     * 응답은 마지막에 넣은 항목부터 나오고 orderSequence는 1부터 다시 매겨져야 함
+     */
+    private static void assertRankOrder(TripDayDtos.Resp day, int itemsPerDay) {
+        List<Integer> sequences = new ArrayList<>();
+        List<String> titles = new ArrayList<>();
+        List<Integer> expectedSequences = new ArrayList<>();
+        List<String> expectedTitles = new ArrayList<>();
+        for (int p = 1; p <= itemsPerDay; p++) {
+            sequences.add(day.itineraryItems.get(p - 1).orderSequence);
+            titles.add(day.itineraryItems.get(p - 1).title);
+            expectedSequences.add(p);
+            expectedTitles.add("장소 " + day.dayNumber + "-" + (itemsPerDay + 1 - p));
+        }
+        assertEquals(expectedSequences, sequences);
+        assertEquals(expectedTitles, titles);
+    }
+
+    private ServletWebRequest newRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/trips"), new MockHttpServletResponse());
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long seedTrip(int days, int itemsPerDay) {
+        User user = new User();
+        user.setEmail("user" + (++userSeq) + "@example.com");
+        user.setName("테스트");
+        entityManager.persist(user);
+
+        Trip trip = new Trip();
+        trip.setUser(user);
+        trip.setTitle("테스트 여행");
+        trip.setDestination("서울");
+        trip.setStartDate(LocalDate.of(2025, 1, 1));
+        trip.setEndDate(LocalDate.of(2025, 1, days));
+
+        List<TripDay> tripDays = new ArrayList<>();
+        // 일차를 역순으로 넣어도 응답은 일차 번호 순이어야 함
+        for (int d = days; d >= 1; d--) {
+            TripDay day = new TripDay();
+            day.setTrip(trip);
+            day.setDayNumber(d);
+            day.setDate(LocalDate.of(2025, 1, d));
+            // 순위는 삽입 순서의 역순 (orderSequence와 반대) → 응답 순서가 순위를 따르는지 확인
+            List<String> ranks = LexoRank.sequence(itemsPerDay);
+            List<TripItineraryItem> items = new ArrayList<>();
+            for (int i = 1; i <= itemsPerDay; i++) {
+                TripItineraryItem item = new TripItineraryItem();
+                item.setTripDay(day);
+                item.setTitle("장소 " + d + "-" + i);
+                item.setOrderSequence(i);
+                item.setOrderRank(ranks.get(itemsPerDay - i));
+                items.add(item);
+            }
+            day.setItineraryItems(items);
+            tripDays.add(day);
+        }
+        trip.setTripDays(tripDays);
+        entityManager.persist(trip);
+        entityManager.flush();
+        return trip.getId();
+    }
+}
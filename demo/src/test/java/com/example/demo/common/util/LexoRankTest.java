@@ -0,0 +1,131 @@
+package com.example.demo.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LexoRank 단위 테스트
+ * - between: 두 순위 사이 값, reassign: LIS 유지 최소 변경, 재배치: 순위가 너무 길어질 때
+ */
+class LexoRankTest {
+
+    @Test
+    void betweenIsStrictlyInsideBounds() {
+        String[][] bounds = {
+                {null, null}, {null, "1"}, {"z", null}, {"a", "b"}, {"a", "a1"}, {"a0z", "a1"}, {"1", "11"}
+        };
+        for (String[] b : bounds) {
+            String mid = LexoRank.between(b[0], b[1]);
+            if (b[0] != null) {
+                assertTrue(b[0].compareTo(mid) < 0, b[0] + " < " + mid);
+            }
+            if (b[1] != null) {
+                assertTrue(mid.compareTo(b[1]) < 0, mid + " < " + b[1]);
+            }
+            assertNotEquals('0', mid.charAt(mid.length() - 1), "끝자리 0이면 다음 삽입 여유가 없음: " + mid);
+        }
+    }
+
+    @Test
+    void betweenRejectsInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("a", "a"));
+        assertThrows(IllegalArgumentException.class, () -> LexoRank.between("A", null));
+    }
+
+    @Test
+    void betweenCountAndSequenceAreSortedAndEven() {
+        List<String> inside = LexoRank.between("a", "b", 50);
+        assertEquals(50, inside.size());
+        assertSorted(inside);
+        assertTrue("a".compareTo(inside.get(0)) < 0 && inside.get(49).compareTo("b") < 0);
+
+        List<String> sequence = LexoRank.sequence(1000);
+        assertEquals(1000, sequence.size());
+        assertSorted(sequence);
+        for (String rank : sequence) {
+            assertTrue(rank.length() <= 2, rank);
+        }
+    }
+
+    @Test
+    void reassignKeepsLongestIncreasingRunAndOnlyRewritesMovedItems() {
+        List<String> ranks = LexoRank.sequence(6); // r0 < r1 < ... < r5
+        // r5를 맨 앞으로 이동: r5 r0 r1 r2 r3 r4 → r0~r4가 LIS, r5만 변경
+        List<String> moved = Arrays.asList(ranks.get(5), ranks.get(0), ranks.get(1), ranks.get(2), ranks.get(3), ranks.get(4));
+
+        List<String> next = LexoRank.reassign(moved);
+
+        assertSorted(next);
+        assertNotEquals(moved.get(0), next.get(0));
+        for (int i = 1; i < next.size(); i++) {
+            assertEquals(moved.get(i), next.get(i));
+        }
+    }
+
+    @Test
+    void reassignFillsMissingRanksBetweenNeighbours() {
+        List<String> ranks = LexoRank.sequence(3);
+        List<String> withGaps = Arrays.asList(null, ranks.get(0), null, null, ranks.get(1), ranks.get(2), null);
+
+        List<String> next = LexoRank.reassign(withGaps);
+
+        assertSorted(next);
+        assertEquals(ranks.get(0), next.get(1));
+        assertEquals(ranks.get(1), next.get(4));
+        assertEquals(ranks.get(2), next.get(5));
+    }
+
+    @Test
+    void reassignLeavesAlreadySortedRanksUntouched() {
+        List<String> ranks = LexoRank.sequence(10);
+        assertEquals(ranks, LexoRank.reassign(ranks));
+    }
+
+    @Test
+    void repeatedInsertsIntoSameGapAreRebalancedBeforeColumnLimit() {
+        // 항상 첫 번째와 두 번째 항목 사이에 새 항목 삽입 (같은 틈에 계속 끼워 넣는 최악의 경우)
+        List<String> ranks = new ArrayList<>(LexoRank.sequence(2));
+        boolean rebalanced = false;
+        for (int i = 0; i < 500; i++) {
+            List<String> withNew = new ArrayList<>(ranks);
+            withNew.add(1, null);
+            List<String> next = LexoRank.reassign(withNew);
+
+            assertSorted(next);
+            for (String rank : next) {
+                assertTrue(rank.length() <= LexoRank.REBALANCE_LENGTH, "순위가 너무 김: " + rank);
+            }
+            if (!next.get(0).equals(ranks.get(0))) {
+                // 재배치: 전체가 sequence(n)으로 다시 배치됨
+                assertEquals(LexoRank.sequence(next.size()), next);
+                rebalanced = true;
+            }
+            ranks = next;
+        }
+        assertTrue(rebalanced, "500번 삽입하는 동안 한 번은 재배치되어야 함");
+    }
+
+    @Test
+    void reassignRebalancesExistingOverlongRanks() {
+        // 재배치 도입 전에 이미 길어진 순위도 다음 변경 때 정리됨
+        String longRank = "a" + "0".repeat(40) + "1";
+        List<String> ranks = Arrays.asList("1", longRank, "b");
+
+        assertEquals(LexoRank.sequence(3), LexoRank.reassign(ranks));
+    }
+
+    private static void assertSorted(List<String> ranks) {
+        for (int i = 1; i < ranks.size(); i++) {
+            assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0, ranks.get(i - 1) + " < " + ranks.get(i));
+        }
+    }
+}
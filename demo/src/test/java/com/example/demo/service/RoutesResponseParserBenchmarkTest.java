@@ -0,0 +1,138 @@
+package com.example.demo.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * computeRoutes 응답 처리 전/후 비교 벤치마크 (로컬 스텁 서버 사용)
+ * - 이전: FieldMask '*' 전체 응답 → String 버퍼링 → readTree
+ * - 이후: 최소 FieldMask 응답 → 스트림에서 첫 구간만 파싱
+ */
+class RoutesResponseParserBenchmarkTest {
+
+    private static final int ITERATIONS = 300;
+
+    private HttpServer server;
+    private HttpClient client;
+    private byte[] fullBody;
+    private byte[] leanBody;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        fullBody = fullResponse().getBytes(StandardCharsets.UTF_8);
+        leanBody = "{\"routes\":[{\"legs\":[{\"distanceMeters\":12345,\"duration\":\"1520s\"}]}]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/full", exchange -> respond(exchange, fullBody));
+        server.createContext("/lean", exchange -> respond(exchange, leanBody));
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void leanStreamingParseMatchesFullTreeParse() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        URI fullUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/full");
+        URI leanUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/lean");
+
+        // 이전 방식
+        double beforeDistance = 0;
+        long beforeStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            String body = client.send(HttpRequest.newBuilder(fullUri).build(), HttpResponse.BodyHandlers.ofString()).body();
+            JsonNode leg = objectMapper.readTree(body).path("routes").get(0).path("legs").get(0);
+            beforeDistance = leg.path("distanceMeters").asDouble();
+        }
+        double beforeMicros = (System.nanoTime() - beforeStart) / 1_000.0 / ITERATIONS;
+
+        // 이후 방식
+        RoutesResponseParser.Leg leg = null;
+        long afterStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            try (InputStream in = client.send(HttpRequest.newBuilder(leanUri).build(), HttpResponse.BodyHandlers.ofInputStream()).body()) {
+                leg = RoutesResponseParser.parseFirstLeg(in);
+            }
+        }
+        double afterMicros = (System.nanoTime() - afterStart) / 1_000.0 / ITERATIONS;
+
+        assertNotNull(leg);
+        assertEquals(beforeDistance, leg.distanceMeters, 1e-9);
+        assertEquals(1520.0, leg.durationSeconds, 1e-9);
+
+        // 전체 응답에서도 스트리밍 파서가 같은 값을 찾는지 확인
+        RoutesResponseParser.Leg fromFull = RoutesResponseParser.parseFirstLeg(new ByteArrayInputStream(fullBody));
+        assertNotNull(fromFull);
+        assertEquals(leg.distanceMeters, fromFull.distanceMeters, 1e-9);
+        assertEquals(leg.durationSeconds, fromFull.durationSeconds, 1e-9);
+
+        System.out.printf("[routes] before: %d bytes, %.1fus/call | after: %d bytes, %.1fus/call%n",
+                fullBody.length, beforeMicros, leanBody.length, afterMicros);
+    }
+
+    @Test
+    void emptyOrErrorResponseHasNoLeg() throws Exception {
+        assertNull(RoutesResponseParser.parseFirstLeg(stream("{}")));
+        assertNull(RoutesResponseParser.parseFirstLeg(stream("{\"routes\":[]}")));
+        assertNull(RoutesResponseParser.parseFirstLeg(stream("{\"error\":{\"code\":400,\"message\":\"bad\"}}")));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /** FieldMask '*' 응답과 비슷한 크기/구조의 대중교통 경로 응답 (단계별 안내, 폴리라인, 지역화 값 포함) */
+    private static String fullResponse() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"routes\":[{\"legs\":[{\"distanceMeters\":12345,\"duration\":\"1520s\",\"staticDuration\":\"1490s\",")
+          .append("\"polyline\":{\"encodedPolyline\":\"").append("a~l~Fjk~uOwHJy@P".repeat(200)).append("\"},")
+          .append("\"startLocation\":{\"latLng\":{\"latitude\":37.5665,\"longitude\":126.978}},")
+          .append("\"endLocation\":{\"latLng\":{\"latitude\":37.4979,\"longitude\":127.0276}},\"steps\":[");
+        for (int i = 0; i < 150; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"distanceMeters\":").append(80 + i).append(",\"staticDuration\":\"").append(60 + i).append("s\",")
+              .append("\"polyline\":{\"encodedPolyline\":\"").append("_p~iF~ps|U_ulLnnqC".repeat(10)).append("\"},")
+              .append("\"navigationInstruction\":{\"maneuver\":\"TURN_LEFT\",\"instructions\":\"좌회전 후 ").append(i).append("번 출구 방향으로 이동\"},")
+              .append("\"localizedValues\":{\"distance\":{\"text\":\"0.1km\"},\"staticDuration\":{\"text\":\"1분\"}},")
+              .append("\"travelMode\":\"WALK\"}");
+        }
+        sb.append("],\"localizedValues\":{\"distance\":{\"text\":\"12.3km\"},\"duration\":{\"text\":\"25분\"}}}],")
+          .append("\"distanceMeters\":12345,\"duration\":\"1520s\",\"travelAdvisory\":{\"transitFare\":{\"currencyCode\":\"KRW\",\"units\":\"1500\"}},")
+          .append("\"viewport\":{\"low\":{\"latitude\":37.49,\"longitude\":126.97},\"high\":{\"latitude\":37.57,\"longitude\":127.03}}}],")
+          .append("\"geocodingResults\":{}}");
+        return sb.toString();
+    }
+}
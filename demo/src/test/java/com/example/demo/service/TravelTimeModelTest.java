@@ -0,0 +1,123 @@
+package com.example.demo.service;
+
+import com.example.demo.common.util.GeoUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TravelTimeModel 단위 테스트
+ * - 지역(격자)별 선형 모델 학습, 학습 전 예측 오차(prequential RMSE), 전체 모델 대체 추정
+ */
+class TravelTimeModelTest {
+
+    /** 서울 시청 부근 (0.5도 격자 하나 안) */
+    private static final double SEOUL_LAT = 37.56;
+    private static final double SEOUL_LNG = 126.97;
+    /** 부산 부근 (다른 격자) */
+    private static final double BUSAN_LAT = 35.17;
+    private static final double BUSAN_LNG = 129.07;
+
+    private TravelTimeModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new TravelTimeModel();
+        model.setMinSamples(5);
+    }
+
+    @Test
+    void fitsLinearModelPerRegionAndMode() {
+        // 서울 WALK: 2 + 12 × km, 부산 WALK: 5 + 20 × km
+        for (int i = 1; i <= 10; i++) {
+            double dLat = i * 0.002;
+            recordExact(SEOUL_LAT, SEOUL_LNG, dLat, "WALK", 2, 12);
+            recordExact(BUSAN_LAT, BUSAN_LNG, dLat, "WALK", 5, 20);
+        }
+
+        double km = GeoUtils.haversineKm(SEOUL_LAT, SEOUL_LNG, SEOUL_LAT + 0.01, SEOUL_LNG);
+        TravelTimeModel.Estimate seoul = model.estimate(SEOUL_LAT, SEOUL_LNG, SEOUL_LAT + 0.01, SEOUL_LNG, "walk").orElseThrow();
+        TravelTimeModel.Estimate busan = model.estimate(BUSAN_LAT, BUSAN_LNG, BUSAN_LAT + 0.01, BUSAN_LNG, "WALK").orElseThrow();
+
+        assertTrue(seoul.regional);
+        assertTrue(busan.regional);
+        assertEquals(2 + 12 * km, seoul.durationMinutes, 1e-6);
+        assertEquals(5 + 20 * km, busan.durationMinutes, 1e-6);
+        assertEquals(10, seoul.samples);
+
+        // 같은 지역이라도 이동 수단이 다르면 별도 모델
+        assertTrue(model.estimate(SEOUL_LAT, SEOUL_LNG, SEOUL_LAT + 0.01, SEOUL_LNG, "DRIVE").isEmpty());
+    }
+
+    @Test
+    void reportsErrorMeasuredBeforeEachSampleIsLearned() {
+        // 1~4번째: 정확히 10분/km → 3, 4번째는 앞 샘플로 맞춘 모델이 오차 없이 예측
+        for (int i = 1; i <= 4; i++) {
+            recordExact(SEOUL_LAT, SEOUL_LNG, i * 0.01, "DRIVE", 0, 10);
+        }
+        // 5번째: 6분 늦음 → 학습 전 예측 오차 6분
+        recordExact(SEOUL_LAT, SEOUL_LNG, 0.05, "DRIVE", 6, 10);
+
+        // 오차는 예측해 본 3개 샘플(3~5번째) 기준: sqrt((0 + 0 + 36) / 3)
+        double expectedRmse = Math.sqrt(36.0 / 3);
+        TravelTimeModel.Estimate estimate = model.estimate(SEOUL_LAT, SEOUL_LNG, SEOUL_LAT + 0.01, SEOUL_LNG, "DRIVE").orElseThrow();
+        assertEquals(expectedRmse, estimate.errorMinutes, 1e-6);
+        assertEquals(5, estimate.samples);
+
+        TravelTimeModel.ModelSummary regional = model.summaries().stream()
+                .filter(s -> !s.region.equals("*:*")).findFirst().orElseThrow();
+        assertEquals(expectedRmse, regional.rmseMinutes, 1e-6);
+        assertEquals(6.0 / 3, regional.maeMinutes, 1e-6);
+    }
+
+    @Test
+    void noEstimateUntilMinSamplesReached() {
+        for (int i = 1; i <= 4; i++) {
+            recordExact(SEOUL_LAT, SEOUL_LNG, i * 0.002, "WALK", 2, 12);
+        }
+        assertTrue(model.estimate(SEOUL_LAT, SEOUL_LNG, SEOUL_LAT + 0.01, SEOUL_LNG, "WALK").isEmpty());
+
+        recordExact(SEOUL_LAT, SEOUL_LNG, 0.012, "WALK", 2, 12);
+        assertTrue(model.estimate(SEOUL_LAT, SEOUL_LNG, SEOUL_LAT + 0.01, SEOUL_LNG, "WALK").isPresent());
+    }
+
+    @Test
+    void fallsBackToModeWideModelInUnseenRegion() {
+        for (int i = 1; i <= 10; i++) {
+            recordExact(SEOUL_LAT, SEOUL_LNG, i * 0.002, "WALK", 2, 12);
+        }
+
+        // 부산은 샘플이 없으므로 WALK 전체 모델로 추정
+        Optional<TravelTimeModel.Estimate> busan = model.estimate(BUSAN_LAT, BUSAN_LNG, BUSAN_LAT + 0.01, BUSAN_LNG, "WALK");
+        assertTrue(busan.isPresent());
+        assertFalse(busan.get().regional);
+        double km = GeoUtils.haversineKm(BUSAN_LAT, BUSAN_LNG, BUSAN_LAT + 0.01, BUSAN_LNG);
+        assertEquals(2 + 12 * km, busan.get().durationMinutes, 1e-6);
+
+        // 부산 샘플이 부족한 동안에도 전체 모델 사용, 충분해지면 지역 모델로 전환
+        for (int i = 1; i <= 4; i++) {
+            recordExact(BUSAN_LAT, BUSAN_LNG, i * 0.002, "WALK", 5, 20);
+        }
+        assertFalse(model.estimate(BUSAN_LAT, BUSAN_LNG, BUSAN_LAT + 0.01, BUSAN_LNG, "WALK").orElseThrow().regional);
+
+        recordExact(BUSAN_LAT, BUSAN_LNG, 0.010, "WALK", 5, 20);
+        recordExact(BUSAN_LAT, BUSAN_LNG, 0.012, "WALK", 5, 20);
+        TravelTimeModel.Estimate regional = model.estimate(BUSAN_LAT, BUSAN_LNG, BUSAN_LAT + 0.01, BUSAN_LNG, "WALK").orElseThrow();
+        assertTrue(regional.regional);
+        assertEquals(5 + 20 * km, regional.durationMinutes, 1e-6);
+
+        // 어느 지역에도 샘플이 없는 이동 수단은 추정하지 않음
+        assertTrue(model.estimate(BUSAN_LAT, BUSAN_LNG, BUSAN_LAT + 0.01, BUSAN_LNG, "BICYCLE").isEmpty());
+    }
+
+    /** origin에서 북쪽으로 dLat만큼 떨어진 구간을 intercept + slope × km 로 기록 */
+    private void recordExact(double lat, double lng, double dLat, String mode, double intercept, double slope) {
+        double km = GeoUtils.haversineKm(lat, lng, lat + dLat, lng);
+        model.record(lat, lng, lat + dLat, lng, mode, intercept + slope * km);
+    }
+}
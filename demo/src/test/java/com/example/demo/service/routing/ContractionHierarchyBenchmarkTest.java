@@ -0,0 +1,159 @@
+package com.example.demo.service.routing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 로컬 경로 엔진 벤치마크
+ * - 도시 격자 형태의 샘플 추출본(가로세로 60블록)을 파일로 만들어 로드 → CH 빌드 → 조회 시간을 측정합니다.
+ * - 모든 조회 결과를 일반 Dijkstra 결과와 비교하여 정확성도 함께 검증합니다.
+ */
+class ContractionHierarchyBenchmarkTest {
+
+    private static final int GRID = 60;
+    private static final int QUERIES = 2_000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void buildAndQuerySampleExtract() throws IOException {
+        Path file = writeSampleExtract(tempDir.resolve("sample-city.graph"), new Random(42));
+
+        long loadStart = System.nanoTime();
+        RoadGraph graph = RoadGraph.load(file);
+        long loadMs = (System.nanoTime() - loadStart) / 1_000_000;
+
+        for (String mode : new String[]{"WALK", "DRIVE"}) {
+            long buildStart = System.nanoTime();
+            ContractionHierarchy ch = LocalRoutingEngine.buildHierarchy(graph, mode);
+            long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+            Random random = new Random(7);
+            int[][] pairs = new int[QUERIES][2];
+            for (int[] pair : pairs) {
+                pair[0] = random.nextInt(graph.nodeCount());
+                pair[1] = random.nextInt(graph.nodeCount());
+            }
+
+            Object[] adj = adjacency(graph, mode);
+            int[][] adjacency = (int[][]) adj[0];
+            double[][] weights = (double[][]) adj[1];
+
+            // 정확성: 일반 Dijkstra와 동일한 최단 시간 (도달 불가능하면 둘 다 경로 없음)
+            for (int i = 0; i < 200; i++) {
+                double expected = dijkstra(adjacency, weights, pairs[i][0], pairs[i][1]);
+                double[] actual = ch.query(pairs[i][0], pairs[i][1]);
+                if (Double.isInfinite(expected)) {
+                    assertNull(actual);
+                } else {
+                    assertNotNull(actual);
+                    assertEquals(expected, actual[0], 1e-3);
+                }
+            }
+
+            for (int[] pair : pairs) ch.query(pair[0], pair[1]); // 워밍업
+            long queryStart = System.nanoTime();
+            for (int[] pair : pairs) ch.query(pair[0], pair[1]);
+            double avgMicros = (System.nanoTime() - queryStart) / 1_000.0 / QUERIES;
+
+            long dijkstraStart = System.nanoTime();
+            for (int i = 0; i < 200; i++) dijkstra(adjacency, weights, pairs[i][0], pairs[i][1]);
+            double dijkstraMicros = (System.nanoTime() - dijkstraStart) / 1_000.0 / 200;
+
+            System.out.printf("[%s] nodes=%d edges=%d load=%dms build=%dms shortcuts=%d query(avg)=%.1fus dijkstra(avg)=%.1fus%n",
+                    mode, graph.nodeCount(), graph.edgeCount(), loadMs, buildMs, ch.shortcutCount(), avgMicros, dijkstraMicros);
+        }
+    }
+
+    /** 격자 도로망: 간선마다 길이/제한속도를 다르게, 일부는 일방통행/차량 통행 불가 */
+    private static Path writeSampleExtract(Path file, Random random) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(file)) {
+            w.write("# sample city extract\n");
+            for (int r = 0; r < GRID; r++) {
+                for (int c = 0; c < GRID; c++) {
+                    w.write("N " + (r * GRID + c) + " " + (37.5 + r * 0.001) + " " + (127.0 + c * 0.0012) + "\n");
+                }
+            }
+            for (int r = 0; r < GRID; r++) {
+                for (int c = 0; c < GRID; c++) {
+                    int id = r * GRID + c;
+                    if (c + 1 < GRID) writeEdge(w, id, id + 1, random);
+                    if (r + 1 < GRID) writeEdge(w, id, id + GRID, random);
+                }
+            }
+        }
+        return file;
+    }
+
+    private static void writeEdge(BufferedWriter w, int from, int to, Random random) throws IOException {
+        double meters = 80 + random.nextInt(60);
+        int kmh = random.nextInt(10) == 0 ? 0 : 20 + random.nextInt(4) * 10; // 10%는 보행 전용
+        int oneway = random.nextInt(10) == 0 ? 1 : 0;
+        w.write("E " + from + " " + to + " " + meters + " " + kmh + " 1 " + oneway + "\n");
+    }
+
+    /** 비교 기준: 원본 그래프 위의 일반 Dijkstra (초) */
+    private static double dijkstra(int[][] adjacency, double[][] weights, int source, int target) {
+        double[] dist = new double[adjacency.length];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0;
+        PriorityQueue<double[]> pq = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        pq.add(new double[]{0, source});
+        while (!pq.isEmpty()) {
+            double[] top = pq.poll();
+            int u = (int) top[1];
+            if (top[0] > dist[u]) continue;
+            if (u == target) return dist[u];
+            for (int i = 0; i < adjacency[u].length; i++) {
+                int next = adjacency[u][i];
+                double d = dist[u] + weights[u][i];
+                if (d < dist[next]) {
+                    dist[next] = d;
+                    pq.add(new double[]{d, next});
+                }
+            }
+        }
+        return dist[target];
+    }
+
+    /** 이동 수단별 인접 리스트 (LocalRoutingEngine과 같은 규칙으로 방향/속도 적용) */
+    private static Object[] adjacency(RoadGraph g, String mode) {
+        boolean walk = "WALK".equals(mode);
+        List<List<double[]>> lists = new ArrayList<>();
+        for (int i = 0; i < g.nodeCount(); i++) lists.add(new ArrayList<>());
+        for (int i = 0; i < g.edgeCount(); i++) {
+            double kmh = walk ? (g.edgeWalkable[i] ? RoadGraph.WALK_KMH : 0) : g.edgeDriveKmh[i];
+            if (kmh <= 0) continue;
+            double sec = g.edgeMeters[i] / (kmh / 3.6);
+            lists.get(g.edgeFrom[i]).add(new double[]{g.edgeTo[i], sec});
+            if (walk || !g.edgeOneway[i]) lists.get(g.edgeTo[i]).add(new double[]{g.edgeFrom[i], sec});
+        }
+        int[][] adjacency = new int[g.nodeCount()][];
+        double[][] weights = new double[g.nodeCount()][];
+        for (int u = 0; u < g.nodeCount(); u++) {
+            List<double[]> list = lists.get(u);
+            adjacency[u] = new int[list.size()];
+            weights[u] = new double[list.size()];
+            for (int i = 0; i < list.size(); i++) {
+                adjacency[u][i] = (int) list.get(i)[0];
+                weights[u][i] = list.get(i)[1];
+            }
+        }
+        return new Object[]{adjacency, weights};
+    }
+}
@@ -4,7 +4,7 @@
  * - 저장된 여행 계획들을 상태별로 표시
  */
 
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
 import { useAuth } from '../hooks/useAuth';
 
@@ -14,107 +14,72 @@ const DashboardPage = () => {
 
   const [trips, setTrips] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [nextCursor, setNextCursor] = useState(null); // 다음 페이지 커서 (없으면 마지막 페이지)
+  const [loadingMore, setLoadingMore] = useState(false);
   const [selectedFilter, setSelectedFilter] = useState('all');
+  const requestSeq = useRef(0); // 탭 전환 직후 도착한 이전 탭의 응답을 무시하기 위한 요청 번호
 
-  // 필터 옵션
+  // 필터 옵션 (전체 개수를 알려면 전체 목록을 읽어야 하므로 탭별 개수는 표시하지 않음)
   const filterOptions = [
-    { value: 'all', label: '전체 여행', count: 0 },
-    { value: 'planning', label: '계획 중', count: 0 },
-    { value: 'ongoing', label: '진행 중', count: 0 },
-    { value: 'completed', label: '완료됨', count: 0 }
+    { value: 'all', label: '전체 여행' },
+    { value: 'planning', label: '계획 중' },
+    { value: 'ongoing', label: '진행 중' },
+    { value: 'completed', label: '완료됨' }
   ];
 
-  // 페이지 진입 시 한 번만 전체 여행 목록 로드
+  // 페이지 진입 시 + 상태 탭을 바꿀 때마다 첫 페이지부터 다시 로드
   useEffect(() => {
     loadTrips();
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, []);
+  }, [selectedFilter]);
 
   /**
    * 여행 데이터를 로드하는 함수
-   * - 전체 여행 목록을 가져온 후 사용자별로 필터링
+   * - 서버는 커서 기반으로 페이지 단위(최대 50개) 응답, 다음 페이지 커서는 X-Next-Cursor 헤더
+   * - 상태 탭은 서버의 status 파라미터로 필터링 (불러온 페이지만 거르면 다음 페이지의 여행이 빠짐)
+   * - cursor가 있으면 다음 페이지를 불러와 기존 목록 뒤에 붙임
    */
-  const loadTrips = async () => {
+  const loadTrips = async (cursor = null) => {
+    const seq = ++requestSeq.current;
     try {
-      setLoading(true);
+      if (cursor) {
+        setLoadingMore(true);
+      } else {
+        setLoading(true);
+        setTrips([]);
+        setNextCursor(null);
+      }
       
-      // 전체 여행 목록 가져오기 (유저 필터링 없이 모두, 간단 정보만)
-      const response = await fetch(`http://localhost:8081/api/trips/simple`);
+      const params = new URLSearchParams({ size: '50' });
+      if (cursor) params.set('after', cursor);
+      if (selectedFilter !== 'all') params.set('status', selectedFilter);
+      // credentials: 저장 직후 주 DB에서 읽도록 하는 rw_primary_until 쿠키를 다른 포트의 API 서버로도 전송
+      const response = await fetch(`http://localhost:8081/api/trips/simple?${params}`, { credentials: 'include' });
       
       if (!response.ok) {
         throw new Error('여행 데이터를 불러오는데 실패했습니다.');
       }
       
-      const allTrips = await response.json();
+      const pageTrips = await response.json();
+      if (seq !== requestSeq.current) return;
+      setNextCursor(response.headers.get('X-Next-Cursor'));
       
-      console.log('📥 전체 여행 목록 (summary, 필터링 없이 모두 표시):', allTrips);
+      console.log('📥 여행 목록 페이지 (summary):', pageTrips.length, '개');
       
-      // 일단 모든 여행을 대시보드에 그대로 표시
-      setTrips(allTrips);
-      updateFilterCounts(allTrips);
+      setTrips(prev => (cursor ? [...prev, ...pageTrips] : pageTrips));
       
     } catch (error) {
       console.error('여행 데이터 로드 실패:', error);
-      // 에러 발생 시 빈 배열로 설정
-      setTrips([]);
-      updateFilterCounts([]);
+      if (!cursor && seq === requestSeq.current) {
+        // 에러 발생 시 빈 배열로 설정
+        setTrips([]);
+      }
     } finally {
-      setLoading(false);
-    }
-  };
-
-  /**
-   * 필터별 여행 수를 업데이트하는 함수
-   */
-  const updateFilterCounts = (tripList) => {
-    const counts = {
-      all: tripList.length,
-      planning: tripList.filter(trip => {
-        const status = trip.status?.toUpperCase();
-        return status === 'PLANNING' || status === 'planning' || trip.status === 'confirmed';
-      }).length,
-      ongoing: tripList.filter(trip => {
-        const status = trip.status?.toUpperCase();
-        return status === 'ONGOING' || status === 'ongoing';
-      }).length,
-      completed: tripList.filter(trip => {
-        const status = trip.status?.toUpperCase();
-        return status === 'COMPLETED' || status === 'completed';
-      }).length
-    };
-    
-    // 필터 옵션 업데이트는 상태로 관리하지 않고 계산으로 처리
-    filterOptions.forEach(option => {
-      option.count = counts[option.value];
-    });
-  };
-
-  /**
-   * 선택된 필터에 따라 여행 목록을 필터링하는 함수
-   */
-  const getFilteredTrips = () => {
-    if (selectedFilter === 'all') {
-      return trips;
-    }
-    if (selectedFilter === 'planning') {
-      return trips.filter(trip => {
-        const status = trip.status?.toUpperCase();
-        return status === 'PLANNING' || status === 'planning' || trip.status === 'confirmed';
-      });
-    }
-    if (selectedFilter === 'ongoing') {
-      return trips.filter(trip => {
-        const status = trip.status?.toUpperCase();
-        return status === 'ONGOING' || status === 'ongoing';
-      });
-    }
-    if (selectedFilter === 'completed') {
-      return trips.filter(trip => {
-        const status = trip.status?.toUpperCase();
-        return status === 'COMPLETED' || status === 'completed';
-      });
+      if (seq === requestSeq.current) {
+        setLoading(false);
+        setLoadingMore(false);
+      }
     }
-    return trips;
   };
 
   /**
@@ -164,23 +129,6 @@ const DashboardPage = () => {
     });
   };
 
-  // 필터별 카운트 계산
-  const filterCounts = {
-    all: trips.length,
-    planning: trips.filter(trip => {
-      const status = trip.status?.toUpperCase();
-      return status === 'PLANNING' || status === 'planning' || trip.status === 'confirmed';
-    }).length,
-    ongoing: trips.filter(trip => {
-      const status = trip.status?.toUpperCase();
-      return status === 'ONGOING' || status === 'ongoing';
-    }).length,
-    completed: trips.filter(trip => {
-      const status = trip.status?.toUpperCase();
-      return status === 'COMPLETED' || status === 'completed';
-    }).length
-  };
-
   // 인증되지 않은 사용자는 로그인 페이지로 리다이렉트
   if (!isAuthenticated()) {
     return (
@@ -198,8 +146,6 @@ const DashboardPage = () => {
     );
   }
 
-  const filteredTrips = getFilteredTrips();
-
   return (
     <div className="min-h-screen bg-gray-50">
       {/* 페이지 헤더 */}
@@ -240,9 +186,6 @@ const DashboardPage = () => {
                 }`}
               >
                 {option.label}
-                <span className="ml-2 bg-gray-200 text-gray-600 px-2 py-1 rounded-full text-xs">
-                  {filterCounts[option.value]}
-                </span>
               </button>
             ))}
           </div>
@@ -254,9 +197,9 @@ const DashboardPage = () => {
             <div className="animate-spin rounded-full h-8 w-8 border-b-2 border-blue-600"></div>
             <span className="ml-3 text-gray-600">여행 데이터를 불러오는 중...</span>
           </div>
-        ) : filteredTrips.length > 0 ? (
+        ) : trips.length > 0 ? (
           <div className="grid gap-6 md:grid-cols-2 lg:grid-cols-3">
-            {filteredTrips.map((trip) => (
+            {trips.map((trip) => (
               <div
                 key={trip.id}
                 className="bg-white rounded-lg shadow-sm border border-gray-200 hover:shadow-md transition-shadow duration-200"
@@ -326,6 +269,19 @@ const DashboardPage = () => {
             </Link>
           </div>
         )}
+
+        {/* 다음 페이지 불러오기 */}
+        {!loading && nextCursor && (
+          <div className="mt-8 text-center">
+            <button
+              onClick={() => loadTrips(nextCursor)}
+              disabled={loadingMore}
+              className="bg-white border border-gray-300 hover:bg-gray-100 text-gray-700 font-medium py-2 px-6 rounded-lg transition-colors duration-200 disabled:opacity-50"
+            >
+              {loadingMore ? '불러오는 중...' : '더 보기'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -9,6 +9,35 @@ import { useParams, Link } from 'react-router-dom';
 
 import { useAuth } from '../hooks/useAuth';
 
+// Google Encoded Polyline 디코딩 (저장된 구간 경로 → 좌표 배열, geometry 라이브러리 없이 사용)
+const decodePolyline = (encoded) => {
+  const points = [];
+  let index = 0;
+  let lat = 0;
+  let lng = 0;
+  try {
+    while (index < encoded.length) {
+      for (const axis of [0, 1]) {
+        let result = 0;
+        let shift = 0;
+        let b;
+        do {
+          b = encoded.charCodeAt(index++) - 63;
+          result |= (b & 0x1f) << shift;
+          shift += 5;
+        } while (b >= 0x20 && index < encoded.length);
+        const delta = (result & 1) ? ~(result >> 1) : (result >> 1);
+        if (axis === 0) lat += delta; else lng += delta;
+      }
+      points.push({ lat: lat / 1e5, lng: lng / 1e5 });
+    }
+  } catch (error) {
+    console.error('경로 디코딩 실패:', error);
+    return [];
+  }
+  return points;
+};
+
 const TripDetailPage = () => {
   const { tripId } = useParams();
   const { isAuthenticated } = useAuth();
@@ -35,7 +64,8 @@ const TripDetailPage = () => {
         setLoading(true);
         setError(null);
 
-        const response = await fetch(`http://localhost:8081/api/trips/${tripId}`);
+        // credentials: 저장 직후 주 DB에서 읽도록 하는 rw_primary_until 쿠키를 다른 포트의 API 서버로도 전송
+        const response = await fetch(`http://localhost:8081/api/trips/${tripId}`, { credentials: 'include' });
 
         if (!response.ok) {
           throw new Error('여행 상세 정보를 불러오는데 실패했습니다.');
@@ -166,6 +196,7 @@ const TripDetailPage = () => {
         
         const dayColor = dayColors[dayIndex % dayColors.length];
         const pathCoordinates = [];
+        const routePath = []; // 저장된 구간 경로를 이어 붙인 실제 이동 경로
         
         // 일정 항목 마커 추가
         items.forEach((item) => {
@@ -177,6 +208,11 @@ const TripDetailPage = () => {
             bounds.extend(pos);
             hasValidCoords = true;
             pathCoordinates.push(pos);
+            routePath.push(pos);
+            // 다음 장소까지 저장된 경로가 있으면 그대로 사용 (없으면 직선 연결)
+            if (item.travelToNextPolyline) {
+              routePath.push(...decodePolyline(item.travelToNextPolyline));
+            }
             
             try {
               const marker = new maps.Marker({
@@ -209,7 +245,7 @@ const TripDetailPage = () => {
         if (pathCoordinates.length > 1) {
           try {
             const polyline = new maps.Polyline({
-              path: pathCoordinates,
+              path: routePath,
               geodesic: true,
               strokeColor: dayColor,
               strokeOpacity: 0.8,
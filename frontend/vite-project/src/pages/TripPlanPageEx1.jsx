@@ -2172,7 +2172,7 @@ const TripPlanPageEx1 = () => {
         `http://localhost:8081/api/routes/compute?` +
         `originLat=${origin.lat}&originLng=${origin.lng}&` +
         `destLat=${destination.lat}&destLng=${destination.lng}&` +
-        `travelMode=${travelMode}`
+        `travelMode=${travelMode}&includePolyline=true`
       );
       
       // HTTP 상태 코드 확인 (200-299가 아니면 Fallback)
@@ -2196,9 +2196,17 @@ const TripPlanPageEx1 = () => {
         console.log(`⚠️ Fallback 사용: ${origin.lat.toFixed(3)} → ${destination.lat.toFixed(3)} (${data.duration}분)`);
       }
       
+      // 저장 시 함께 보낼 수 있도록 구간 거리/경로 기록 (상세 화면에서 경로 재계산 불필요)
+      const legKey = `${origin.lat},${origin.lng}-${destination.lat},${destination.lng}-${mode}`;
+      legGeometryRef.current[legKey] = {
+        distance: data.fallback ? null : (data.distance ?? null),
+        polyline: data.polyline || null
+      };
+      
       return {
         distance: data.distance || 0,
         duration: data.duration || 0,
+        polyline: data.polyline || '',
         fallback: data.fallback || false,
         trafficAware: data.trafficAware || false
       };
@@ -2466,6 +2474,9 @@ const TripPlanPageEx1 = () => {
   // 이동 시간 정보 저장 (장소 간 이동 시간 캐싱)
   const [travelTimes, setTravelTimes] = useState({});
   
+  // 장소 간 구간 거리/경로(Encoded Polyline) 기록 - 저장 시에만 사용하므로 렌더링과 무관한 ref로 보관
+  const legGeometryRef = useRef({});
+  
   // 저장 중 상태
   const [isSaving, setIsSaving] = useState(false);
   
@@ -2522,6 +2533,7 @@ const TripPlanPageEx1 = () => {
             ? `${place.lat},${place.lng}-${nextPlace.lat},${nextPlace.lng}-${transportMode === 'public' ? 'transit' : 'driving'}`
             : null;
           const travelTime = travelKey ? travelTimes[travelKey] : null;
+          const legGeometry = travelKey ? legGeometryRef.current[travelKey] : null;
           
           return {
             title: place.name,
@@ -2535,9 +2547,10 @@ const TripPlanPageEx1 = () => {
             endTime: null, // 필요시 계산
             category: place.category || null,
             stayDurationMinutes: (place.stayHours || 0) * 60 + (place.stayMinutes || 0),
-            travelToNextDistanceKm: null, // 필요시 계산
+            travelToNextDistanceKm: legGeometry?.distance ?? null,
             travelToNextDurationMinutes: travelTime || null,
             travelToNextMode: transportMode === 'public' ? 'TRANSIT' : 'DRIVE',
+            travelToNextPolyline: legGeometry?.polyline || null,
             orderSequence: placeIndex + 1
           };
         });
@@ -2574,8 +2587,10 @@ const TripPlanPageEx1 = () => {
       };
       
       // API 호출
+      // credentials: 응답의 rw_primary_until 쿠키를 저장해야 이어지는 조회가 방금 저장한 여행을 주 DB에서 읽음
       const response = await fetch(`http://localhost:8081/api/trips/user/${user.id}`, {
         method: 'POST',
+        credentials: 'include',
         headers: {
           'Content-Type': 'application/json',
         },